@@ -1,5 +1,6 @@
 package dev.jqb.onefeed.core.aggregation;
 
+import dev.jqb.onefeed.core.content.FieldProjection;
 import dev.jqb.onefeed.core.feed.FeedIdentifier;
 import java.util.HashMap;
 import java.util.Map;
@@ -23,6 +24,11 @@ public class AggregationOptions {
      */
     private Map<FeedIdentifier, Integer> feedWeights;
 
+    /**
+     * The fields of each piece of content the aggregation should contain. Defaults to every field.
+     */
+    private FieldProjection projection = FieldProjection.ALL;
+
     /**
      * Creates a bundle of aggregation options.
      *
@@ -34,6 +40,20 @@ public class AggregationOptions {
         this.feedWeights = feedWeights;
     }
 
+    /**
+     * Creates a bundle of aggregation options.
+     *
+     * @param feedWeights the weight of each feed in the aggregation, relative to each other. There
+     *                    is no max sum, but all weights must be greater than 1.
+     * @param projection the fields of each piece of content the aggregation should contain
+     */
+    public AggregationOptions(Map<FeedIdentifier, Integer> feedWeights,
+        FieldProjection projection
+    ) {
+        this(feedWeights);
+        this.projection = projection;
+    }
+
     /**
      * Calculates the target amount of content for each feed based on the target sum and the feed
      * weights.
@@ -1,5 +1,8 @@
 package dev.jqb.onefeed.core.author;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * A means of normalizing {@link PlatformAuthor}s post-retrieval
  * @param <In> the type of {@link PlatformAuthor} to normalize
@@ -12,4 +15,22 @@ public interface AuthorNormalizer<In extends PlatformAuthor, Out extends Normali
      * @return the {@code author}, normalized as {@link Out}
      */
     Out normalize(In author);
+
+    /**
+     * Normalizes the given batch of {@link In}, in order.
+     * </br></br>
+     * The default implementation normalizes each author on its own.
+     *
+     * @param authors the {@link In}s to normalize
+     * @return the {@code authors}, normalized as {@link Out} in the same order
+     *
+     * @see dev.jqb.onefeed.core.content.ContentNormalizer#normalizeAll(List)
+     */
+    default List<Out> normalizeAll(List<In> authors) {
+        List<Out> normalized = new ArrayList<>(authors.size());
+        for (In author : authors) {
+            normalized.add(normalize(author));
+        }
+        return normalized;
+    }
 }
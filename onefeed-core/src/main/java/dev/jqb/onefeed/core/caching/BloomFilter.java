@@ -0,0 +1,98 @@
+package dev.jqb.onefeed.core.caching;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe Bloom filter over string keys, able to answer "definitely absent" without
+ * consulting whatever store the keys actually live in
+ * </br></br>
+ * False positives are possible, false negatives are not. Keys cannot be removed, so a filter only
+ * grows less precise as its backing store churns.
+ */
+public class BloomFilter {
+
+    /**
+     * The filter's bits, set atomically so concurrent writers never lose each other's updates
+     */
+    private final AtomicLongArray bits;
+
+    /**
+     * The total number of bits in the filter
+     */
+    private final long bitCount;
+
+    /**
+     * The number of bits set per key
+     */
+    private final int hashCount;
+
+    /**
+     * Constructs a new {@code BloomFilter} sized for the given number of keys and false positive
+     * rate.
+     *
+     * @param expectedInsertions the number of keys the filter is expected to hold
+     * @param falsePositiveRate the acceptable probability of {@link #mightContain} returning
+     *                          {@code true} for an absent key, while within
+     *                          {@code expectedInsertions}
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("Expected insertions must be at least 1");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(
+            -expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) / 64);
+
+        this.bits = new AtomicLongArray(Math.max(1, words));
+        this.bitCount = (long) bits.length() * 64;
+        this.hashCount = Math.max(1,
+            (int) Math.round((double) bitCount / expectedInsertions * ln2));
+    }
+
+    /**
+     * Adds the given {@code key} to the filter.
+     * @param key the key to add
+     */
+    public void put(String key) {
+        long hash = Hashing.hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the given {@code key} may have been added to the filter.
+     *
+     * @param key the key to check for
+     * @return {@code false} if the key has definitely never been added, otherwise {@code true}
+     */
+    public boolean mightContain(String key) {
+        long hash = Hashing.hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
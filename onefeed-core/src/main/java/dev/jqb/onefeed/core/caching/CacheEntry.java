@@ -1,8 +1,10 @@
 package dev.jqb.onefeed.core.caching;
 
 import dev.jqb.onefeed.core.feed.FeedIdentifiable;
+import dev.jqb.onefeed.core.feed.FeedValidator;
 import java.time.Instant;
 import lombok.Getter;
+import org.jspecify.annotations.Nullable;
 
 /**
  * An entry to some cache for an object of type {@code T}
@@ -23,9 +25,19 @@ public class CacheEntry {
 
     /**
      * The Hard TTL cutoff to prevent hoarding objects in the cache
+     *
+     * @see ExpiryWheel
      */
     public Instant expireOn;
 
+    /**
+     * The validator of the upstream response the data came from, for conditionally refetching it
+     *
+     * @see Cacher#cacheValidator
+     */
+    @Nullable
+    public FeedValidator validator;
+
     /**
      * Constructs a new {@code CacheEntry} container for the given {@code data}.
      *
@@ -39,4 +51,21 @@ public class CacheEntry {
         this.lastRetrieved = lastRetrieved;
         this.expireOn = expireOn;
     }
+
+    /**
+     * Constructs a new {@code CacheEntry} container for the given {@code data}, along with the
+     * validator of the upstream response it came from.
+     *
+     * @param data the data for the created {@code CacheEntry} to contain
+     * @param lastRetrieved the last time the contained data has been retrieved from its source
+     * @param expireOn the moment the data can be considered "expired" and ready for removal from
+     *                 the cache
+     * @param validator the validator of the upstream response the data came from
+     */
+    public CacheEntry(FeedIdentifiable data, Instant lastRetrieved, Instant expireOn,
+        @Nullable FeedValidator validator
+    ) {
+        this(data, lastRetrieved, expireOn);
+        this.validator = validator;
+    }
 }
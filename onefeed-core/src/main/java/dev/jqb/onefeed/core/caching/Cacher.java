@@ -4,7 +4,9 @@ import dev.jqb.onefeed.core.author.NormalizedAuthor;
 import dev.jqb.onefeed.core.content.ContentIdentifier;
 import dev.jqb.onefeed.core.content.NormalizedContent;
 import dev.jqb.onefeed.core.feed.FeedIdentifier;
+import dev.jqb.onefeed.core.feed.FeedValidator;
 import java.util.List;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Provides a means of caching and retrieving {@link NormalizedContent} and
@@ -84,4 +86,39 @@ public interface Cacher<C extends NormalizedContent, A extends NormalizedAuthor>
      * @param feed the feed whose author to remove
      */
     void removeAuthor(FeedIdentifier feed);
+
+    /**
+     * Gets the identifiers of all content currently in the cache, if the cache is able to list
+     * them cheaply. Used to prime filters that answer "definitely not cached" without a lookup.
+     *
+     * @return the identifiers of all cached content, or {@code null} if the cache can't list them
+     *
+     * @see GuardedCacher
+     */
+    default @Nullable Iterable<? extends ContentIdentifier> getContentIds() {
+        return null;
+    }
+
+    /**
+     * Gets the validator of the feed's head as of when its content was last cached.
+     *
+     * @param feed the feed whose validator to retrieve
+     * @return the feed's validator, or {@code null} if there's none or the cache doesn't store
+     * validators
+     *
+     * @see dev.jqb.onefeed.core.provider.Provider#fetchRecentContentIfModified
+     */
+    default @Nullable FeedValidator fetchValidator(FeedIdentifier feed) {
+        return null;
+    }
+
+    /**
+     * Caches the validator of the feed's head, alongside its cached content. Caches that don't
+     * store validators may ignore this, at the cost of every fetch of the feed being
+     * unconditional.
+     *
+     * @param feed the feed whose validator to cache
+     * @param validator the validator to cache
+     */
+    default void cacheValidator(FeedIdentifier feed, FeedValidator validator) {}
 }
@@ -0,0 +1,130 @@
+package dev.jqb.onefeed.core.caching;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A consistent-hash ring routing string keys to nodes, such as cache shards
+ * </br></br>
+ * Each node is placed on the ring at many points (virtual nodes) so keys spread evenly. Adding or
+ * removing a node only moves the keys in the ranges that node's points cover; every other key keeps
+ * routing to the same node. Lookups read an immutable snapshot of the ring and never block, while
+ * changes build and publish a new snapshot.
+ *
+ * @param <N> the type of node keys are routed to
+ */
+public class ConsistentHashRing<N> {
+
+    /**
+     * The number of points each node is placed at on the ring
+     */
+    private final int virtualNodes;
+
+    /**
+     * The current snapshot of the ring
+     */
+    private volatile Snapshot<N> snapshot = new Snapshot<>(new TreeMap<>(), Map.of());
+
+    /**
+     * Constructs an empty {@code ConsistentHashRing}.
+     * @param virtualNodes the number of points each node is placed at on the ring
+     */
+    public ConsistentHashRing(int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("There must be at least 1 virtual node per node");
+        }
+        this.virtualNodes = virtualNodes;
+    }
+
+    /**
+     * Adds the given {@code node} to the ring, replacing any node already added with the same ID.
+     *
+     * @param nodeId the unique, stable identifier of the node, which decides its place on the ring
+     * @param node the node to add
+     */
+    public synchronized void add(String nodeId, N node) {
+        Snapshot<N> current = snapshot;
+        TreeMap<Long, N> points = new TreeMap<>(current.points);
+        Map<String, N> nodes = new LinkedHashMap<>(current.nodes);
+
+        for (int i = 0; i < virtualNodes; i++) {
+            points.put(Hashing.hash64(nodeId + "#" + i), node);
+        }
+        nodes.put(nodeId, node);
+
+        snapshot = new Snapshot<>(points, nodes);
+    }
+
+    /**
+     * Removes the node with the given ID from the ring.
+     *
+     * @param nodeId the identifier the node was added with
+     * @return the removed node, or {@code null} if there was no such node
+     */
+    public synchronized @Nullable N remove(String nodeId) {
+        Snapshot<N> current = snapshot;
+        if (!current.nodes.containsKey(nodeId)) {
+            return null;
+        }
+
+        TreeMap<Long, N> points = new TreeMap<>(current.points);
+        Map<String, N> nodes = new LinkedHashMap<>(current.nodes);
+
+        for (int i = 0; i < virtualNodes; i++) {
+            points.remove(Hashing.hash64(nodeId + "#" + i));
+        }
+        N removed = nodes.remove(nodeId);
+
+        snapshot = new Snapshot<>(points, nodes);
+        return removed;
+    }
+
+    /**
+     * Gets the node responsible for the given {@code key}.
+     *
+     * @param key the key to route
+     * @return the node responsible for the key, or {@code null} if the ring is empty
+     */
+    public @Nullable N route(String key) {
+        NavigableMap<Long, N> points = snapshot.points;
+        if (points.isEmpty()) {
+            return null;
+        }
+
+        Map.Entry<Long, N> owner = points.ceilingEntry(Hashing.hash64(key));
+        return owner != null ? owner.getValue() : points.firstEntry().getValue();
+    }
+
+    /**
+     * Gets every node on the ring, indexed by their IDs.
+     * @return an unmodifiable view of every node on the ring, in the order they were added
+     */
+    public Map<String, N> getNodes() {
+        return snapshot.nodes;
+    }
+
+    /**
+     * Checks whether the ring has no nodes.
+     * @return {@code true} if the ring has no nodes
+     */
+    public boolean isEmpty() {
+        return snapshot.nodes.isEmpty();
+    }
+
+    /**
+     * An immutable state of the ring
+     *
+     * @param points the ring's points, mapped to the node at each
+     * @param nodes every node on the ring, indexed by their IDs
+     */
+    private record Snapshot<N>(NavigableMap<Long, N> points, Map<String, N> nodes) {
+        private Snapshot {
+            points = Collections.unmodifiableNavigableMap(points);
+            nodes = Collections.unmodifiableMap(nodes);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package dev.jqb.onefeed.core.caching;
+
+import dev.jqb.onefeed.core.feed.FeedIdentifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A record of which pieces of a feed's content directly follow each other on their platform,
+ * letting later pages of a feed be served from a {@link Cacher} only where its content has no gaps
+ * </br></br>
+ * A cache holds whatever content happened to pass through it, so content cached after a given
+ * piece isn't necessarily what the platform would return after it. Every run of content a provider
+ * returns is known to be contiguous, though, as is the gap between a cursor and the first content
+ * fetched after it. Recording these runs as links from each piece of content to the next chains
+ * pages together as they're fetched, so a later page can be served from the cache when the chain
+ * after its cursor is long enough and every piece of it is still cached.
+ * </br></br>
+ * A newer observation of what follows a piece of content replaces an older one, since the platform
+ * has since changed. Each feed holds a bounded number of links, forgetting the least recently
+ * recorded first.
+ */
+public class ContiguityIndex {
+
+    /**
+     * The most links to hold for a single feed
+     */
+    private final int maxLinksPerFeed;
+
+    /**
+     * The links of each feed
+     */
+    private final ConcurrentHashMap<FeedIdentifier, Links> feeds = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new {@code ContiguityIndex}.
+     * @param maxLinksPerFeed the most links to hold for a single feed
+     */
+    public ContiguityIndex(int maxLinksPerFeed) {
+        if (maxLinksPerFeed < 1) {
+            throw new IllegalArgumentException("Max links per feed must be at least 1");
+        }
+        this.maxLinksPerFeed = maxLinksPerFeed;
+    }
+
+    /**
+     * Records a run of content fetched from a feed as contiguous.
+     *
+     * @param feed the feed the content was fetched from
+     * @param afterIdOnPlatform the platform ID of the content the run was fetched after, or
+     *                          {@code null} if it was fetched from the head of the feed
+     * @param idsOnPlatform the platform IDs of the fetched content, in the order fetched
+     */
+    public void recordRun(FeedIdentifier feed, @Nullable String afterIdOnPlatform,
+        List<String> idsOnPlatform
+    ) {
+        if (idsOnPlatform.isEmpty()) {
+            return;
+        }
+
+        Links links = feeds.computeIfAbsent(feed, f -> new Links());
+        synchronized (links) {
+            String previous = afterIdOnPlatform;
+            for (String id : idsOnPlatform) {
+                if (previous != null) {
+                    links.link(previous, id);
+                }
+                previous = id;
+            }
+            links.trimTo(maxLinksPerFeed);
+        }
+    }
+
+    /**
+     * Gets the platform IDs of the content known to directly follow the given content, in order.
+     *
+     * @param feed the feed the content belongs to
+     * @param afterIdOnPlatform the platform ID of the content to follow
+     * @param limit the most IDs to get
+     * @return the platform IDs of up to {@code limit} pieces of contiguous content, empty if
+     * nothing is known to follow the given content
+     */
+    public List<String> runAfter(FeedIdentifier feed, String afterIdOnPlatform, int limit) {
+        Links links = feeds.get(feed);
+        if (links == null) {
+            return List.of();
+        }
+
+        List<String> run = new ArrayList<>(Math.min(limit, maxLinksPerFeed));
+        synchronized (links) {
+            String next = links.next.get(afterIdOnPlatform);
+            while (next != null && run.size() < limit) {
+                run.add(next);
+                next = links.next.get(next);
+            }
+        }
+        return run;
+    }
+
+    /**
+     * A single feed's links, in the order they were recorded
+     */
+    private static final class Links {
+        private final LinkedHashMap<String, String> next = new LinkedHashMap<>();
+        private final Map<String, String> previous = new HashMap<>();
+
+        /**
+         * Links one piece of content to the one directly following it, replacing whatever either
+         * was linked to before.
+         *
+         * @param from the platform ID of the earlier content
+         * @param to the platform ID of the content directly following it
+         */
+        private void link(String from, String to) {
+            String oldTo = next.remove(from);
+            if (oldTo != null) {
+                previous.remove(oldTo);
+            }
+            String oldFrom = previous.remove(to);
+            if (oldFrom != null) {
+                next.remove(oldFrom);
+            }
+
+            next.put(from, to);
+            previous.put(to, from);
+        }
+
+        /**
+         * Forgets the least recently recorded links until at most the given amount remain.
+         * @param maxLinks the most links to keep
+         */
+        private void trimTo(int maxLinks) {
+            Iterator<Map.Entry<String, String>> eldest = next.entrySet().iterator();
+            while (next.size() > maxLinks) {
+                previous.remove(eldest.next().getValue());
+                eldest.remove();
+            }
+        }
+    }
+}
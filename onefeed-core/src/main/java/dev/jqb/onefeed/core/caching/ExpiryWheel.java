@@ -0,0 +1,354 @@
+package dev.jqb.onefeed.core.caching;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A hierarchical timing wheel that tracks when cached keys expire, allowing a {@link Cacher} to
+ * enforce {@link CacheEntry#expireOn} without ever scanning its full contents.
+ * </br></br>
+ * Scheduling, rescheduling, and cancelling a key are all {@code O(1)}. Advancing the wheel only
+ * touches the buckets whose time has come, so each expiry costs amortized constant time no matter
+ * how many keys are being tracked. Expiry is never early, but may be up to one tick late.
+ * </br></br>
+ * Cacher implementations are expected to {@link #schedule} keys as they cache them, and to
+ * periodically {@link #advanceTo} the current time (such as from a
+ * {@link dev.jqb.onefeed.core.plugin.FixedDelayTask}), evicting whatever keys it returns.
+ *
+ * @param <K> the type of key being tracked, such as a
+ *            {@link dev.jqb.onefeed.core.content.ContentIdentifier}
+ */
+public class ExpiryWheel<K> {
+
+    /**
+     * The default number of bits used to index the buckets of a single level, making for 64
+     * buckets per level
+     */
+    public static final int DEFAULT_LEVEL_BITS = 6;
+
+    /**
+     * The duration of a single tick, in milliseconds
+     */
+    private final long tickMillis;
+
+    /**
+     * The number of bits used to index the buckets of a single level
+     */
+    private final int levelBits;
+
+    /**
+     * The mask to apply to a tick to get its bucket index within a level
+     */
+    private final long levelMask;
+
+    /**
+     * The buckets of each level, where {@code buckets[level][index]} is the head of a doubly-linked
+     * list of entries. Level {@code n} spans {@code 2^(levelBits * (n + 1))} ticks.
+     */
+    private final Node<K>[][] buckets;
+
+    /**
+     * The number of entries currently held in each level, used to skip idle stretches of time
+     */
+    private final int[] levelSizes;
+
+    /**
+     * Every tracked key's entry, for constant-time cancellation and rescheduling
+     */
+    private final Map<K, Node<K>> nodes = new HashMap<>();
+
+    /**
+     * Entries that were already expired when scheduled, to be handed back on the next advance
+     */
+    private Node<K> overdue;
+
+    /**
+     * The last tick the wheel has been advanced to
+     */
+    private long currentTick;
+
+    /**
+     * Constructs a new {@code ExpiryWheel} with {@link #DEFAULT_LEVEL_BITS} and the given
+     * {@code tickDuration}.
+     *
+     * @param tickDuration the resolution of the wheel. Keys expire at most one tick late.
+     * @param start the moment the wheel starts turning from
+     */
+    public ExpiryWheel(Duration tickDuration, Instant start) {
+        this(tickDuration, DEFAULT_LEVEL_BITS, start);
+    }
+
+    /**
+     * Constructs a new {@code ExpiryWheel}.
+     *
+     * @param tickDuration the resolution of the wheel. Keys expire at most one tick late.
+     * @param levelBits the number of bits used to index a single level's buckets, such that each
+     *                  level has {@code 2^levelBits} buckets
+     * @param start the moment the wheel starts turning from
+     */
+    @SuppressWarnings("unchecked")
+    public ExpiryWheel(Duration tickDuration, int levelBits, Instant start) {
+        if (tickDuration.toMillis() < 1) {
+            throw new IllegalArgumentException("Tick duration must be at least 1ms");
+        }
+        if (levelBits < 1 || levelBits > 16) {
+            throw new IllegalArgumentException("Level bits must be between 1 and 16");
+        }
+
+        this.tickMillis = tickDuration.toMillis();
+        this.levelBits = levelBits;
+        this.levelMask = (1L << levelBits) - 1;
+
+        // Enough levels to cover every positive tick value
+        int levelCount = (Long.SIZE - 1 + levelBits - 1) / levelBits;
+        this.buckets = new Node[levelCount][1 << levelBits];
+        this.levelSizes = new int[levelCount];
+        this.currentTick = floorTick(start);
+    }
+
+    /**
+     * Schedules the given {@code key} to expire at the given moment, replacing any prior schedule
+     * for the same key.
+     *
+     * @param key the key to schedule the expiry of
+     * @param expireOn the moment the key expires
+     */
+    public synchronized void schedule(K key, Instant expireOn) {
+        Node<K> node = nodes.get(key);
+        if (node == null) {
+            node = new Node<>(key);
+            nodes.put(key, node);
+        } else {
+            unlink(node);
+        }
+
+        node.deadline = ceilTick(expireOn);
+        place(node);
+    }
+
+    /**
+     * Schedules the given {@code key} to expire when the given {@code entry} does.
+     *
+     * @param key the key to schedule the expiry of
+     * @param entry the cache entry whose {@link CacheEntry#expireOn} to honor
+     *
+     * @see #schedule(Object, Instant)
+     */
+    public void schedule(K key, CacheEntry entry) {
+        schedule(key, entry.getExpireOn());
+    }
+
+    /**
+     * Stops tracking the given {@code key}, such as when it's removed from the cache early.
+     *
+     * @param key the key to stop tracking
+     * @return {@code true} if the key was being tracked
+     */
+    public synchronized boolean cancel(K key) {
+        Node<K> node = nodes.remove(key);
+        if (node == null) {
+            return false;
+        }
+
+        unlink(node);
+        return true;
+    }
+
+    /**
+     * Gets the number of keys currently being tracked.
+     * @return the number of keys currently being tracked
+     */
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Advances the wheel to the given moment, no longer tracking any keys that have expired along
+     * the way.
+     *
+     * @param now the moment to advance the wheel to. Moments before the wheel's current time are
+     *            ignored.
+     * @return the keys that have expired as of {@code now}, for the caller to evict
+     */
+    public synchronized List<K> advanceTo(Instant now) {
+        List<K> expired = new ArrayList<>();
+        drain(overdue, expired);
+        overdue = null;
+
+        long targetTick = floorTick(now);
+        while (currentTick < targetTick) {
+            int lowestLevel = lowestOccupiedLevel();
+            if (lowestLevel < 0) {
+                currentTick = targetTick;
+                break;
+            }
+
+            // Nothing can happen before the lowest occupied level's next bucket comes around
+            long step = 1L << (levelBits * lowestLevel);
+            long nextTick = (currentTick & -step) + step;
+            if (nextTick > targetTick) {
+                currentTick = targetTick;
+                break;
+            }
+
+            currentTick = nextTick;
+            turn(expired);
+        }
+
+        return expired;
+    }
+
+    /**
+     * Processes the arrival of {@link #currentTick}, cascading higher-level buckets down as their
+     * time range begins and collecting the keys due this tick.
+     *
+     * @param expired the list to add expired keys to
+     */
+    private void turn(List<K> expired) {
+        // Cascade from the top so entries can fall through multiple levels in one turn
+        for (int level = buckets.length - 1; level > 0; level--) {
+            long levelSpan = 1L << (levelBits * level);
+            if ((currentTick & (levelSpan - 1)) != 0) {
+                continue;
+            }
+
+            int index = (int) ((currentTick >>> (levelBits * level)) & levelMask);
+            Node<K> node = buckets[level][index];
+            buckets[level][index] = null;
+            while (node != null) {
+                Node<K> next = node.next;
+                levelSizes[level]--;
+                node.prev = null;
+                node.next = null;
+                place(node);
+                node = next;
+            }
+        }
+
+        int index = (int) (currentTick & levelMask);
+        Node<K> due = buckets[0][index];
+        buckets[0][index] = null;
+        for (Node<K> node = due; node != null; node = node.next) {
+            levelSizes[0]--;
+        }
+        drain(due, expired);
+
+        // Cascading may have landed entries due exactly this tick among the overdue ones
+        drain(overdue, expired);
+        overdue = null;
+    }
+
+    /**
+     * Places the given {@code node} in the bucket matching its deadline, relative to the wheel's
+     * current tick.
+     *
+     * @param node the node to place
+     */
+    private void place(Node<K> node) {
+        if (node.deadline <= currentTick) {
+            node.level = -1;
+            node.next = overdue;
+            if (overdue != null) {
+                overdue.prev = node;
+            }
+            overdue = node;
+            return;
+        }
+
+        // The highest group of bits that differs between now and the deadline picks the level
+        long differingBits = node.deadline ^ currentTick;
+        int level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(differingBits)) / levelBits;
+        int index = (int) ((node.deadline >>> (levelBits * level)) & levelMask);
+
+        node.level = level;
+        node.index = index;
+        node.next = buckets[level][index];
+        if (node.next != null) {
+            node.next.prev = node;
+        }
+        buckets[level][index] = node;
+        levelSizes[level]++;
+    }
+
+    /**
+     * Removes the given {@code node} from whichever bucket it's in.
+     *
+     * @param node the node to unlink
+     */
+    private void unlink(Node<K> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else if (node.level < 0) {
+            overdue = node.next;
+        } else {
+            buckets[node.level][node.index] = node.next;
+        }
+
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+
+        if (node.level >= 0) {
+            levelSizes[node.level]--;
+        }
+
+        node.prev = null;
+        node.next = null;
+    }
+
+    /**
+     * Stops tracking every node in the given list, adding their keys to {@code expired}.
+     *
+     * @param head the head of the list of nodes to drain
+     * @param expired the list to add the expired keys to
+     */
+    private void drain(Node<K> head, List<K> expired) {
+        for (Node<K> node = head; node != null; node = node.next) {
+            nodes.remove(node.key);
+            expired.add(node.key);
+        }
+    }
+
+    /**
+     * Gets the lowest level holding any entries.
+     * @return the lowest level holding any entries, or {@code -1} if the wheel is empty
+     */
+    private int lowestOccupiedLevel() {
+        for (int level = 0; level < levelSizes.length; level++) {
+            if (levelSizes[level] > 0) {
+                return level;
+            }
+        }
+        return -1;
+    }
+
+    private long floorTick(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), tickMillis);
+    }
+
+    private long ceilTick(Instant instant) {
+        return -Math.floorDiv(-instant.toEpochMilli(), tickMillis);
+    }
+
+    /**
+     * A tracked key's position in the wheel
+     *
+     * @param <K> the type of key being tracked
+     */
+    private static final class Node<K> {
+        private final K key;
+        private long deadline;
+        private int level;
+        private int index;
+        private Node<K> prev;
+        private Node<K> next;
+
+        private Node(K key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package dev.jqb.onefeed.core.caching;
+
+import dev.jqb.onefeed.core.author.NormalizedAuthor;
+import dev.jqb.onefeed.core.content.ContentIdentifier;
+import dev.jqb.onefeed.core.content.NormalizedContent;
+import dev.jqb.onefeed.core.feed.FeedIdentifier;
+import dev.jqb.onefeed.core.feed.FeedValidator;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A {@link Cacher} wrapper that keeps lookups for content that isn't cached from reaching the
+ * wrapped cacher's backing store
+ * </br></br>
+ * A {@link BloomFilter} of every cached content ID rejects IDs that are definitely absent. It's
+ * only used if the wrapped cacher can list its content IDs up front via
+ * {@link Cacher#getContentIds()}, since otherwise content cached before this wrapper existed would
+ * be wrongly rejected. Misses that make it past the filter are remembered in a short-lived
+ * {@link NegativeCache} so repeated lookups for the same unknown ID are answered immediately.
+ *
+ * @param <C> the type of {@link NormalizedContent} in the cache
+ * @param <A> the type of {@link NormalizedAuthor} in the cache
+ */
+public class GuardedCacher<C extends NormalizedContent, A extends NormalizedAuthor>
+    implements Cacher<C, A>
+{
+
+    /**
+     * The cacher being guarded
+     */
+    private final Cacher<C, A> delegate;
+
+    /**
+     * Every content ID known to be cached, or {@code null} if the delegate couldn't list them
+     */
+    @Nullable
+    private final BloomFilter knownIds;
+
+    /**
+     * Content IDs recently looked up and not found, keyed the same as the Bloom filter
+     */
+    private final NegativeCache<String> misses;
+
+    /**
+     * Constructs a new {@code GuardedCacher}, priming its Bloom filter from the {@code delegate}'s
+     * content IDs if it can list them.
+     *
+     * @param delegate the cacher to guard
+     * @param misses the record of content IDs recently looked up and not found
+     *
+     * @see #contentKey(ContentIdentifier)
+     * @param expectedContent the amount of content the cache is expected to hold, for sizing the
+     *                        Bloom filter
+     * @param falsePositiveRate the acceptable rate at which the Bloom filter lets absent IDs through
+     */
+    public GuardedCacher(Cacher<C, A> delegate, NegativeCache<String> misses,
+        long expectedContent, double falsePositiveRate
+    ) {
+        this.delegate = delegate;
+        this.misses = misses;
+
+        Iterable<? extends ContentIdentifier> cachedIds = delegate.getContentIds();
+        if (cachedIds == null) {
+            this.knownIds = null;
+        } else {
+            this.knownIds = new BloomFilter(expectedContent, falsePositiveRate);
+            for (ContentIdentifier id : cachedIds) {
+                knownIds.put(contentKey(id));
+            }
+        }
+    }
+
+    /**
+     * Gets the cacher being guarded.
+     * @return the cacher being guarded
+     */
+    public Cacher<C, A> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public List<C> fetchRecentContent(FeedIdentifier feed, int amount) {
+        return delegate.fetchRecentContent(feed, amount);
+    }
+
+    @Override
+    public List<C> fetchRecentContent(FeedIdentifier feed, int amount, ContentIdentifier after) {
+        return delegate.fetchRecentContent(feed, amount, after);
+    }
+
+    @Override
+    public C fetchContent(ContentIdentifier id) {
+        String key = contentKey(id);
+        if (knownIds != null && !knownIds.mightContain(key)) {
+            return null;
+        }
+
+        if (misses.isNegative(key)) {
+            return null;
+        }
+
+        C content = delegate.fetchContent(id);
+        if (content == null) {
+            misses.recordFailure(key);
+        }
+
+        return content;
+    }
+
+    @Override
+    public void cacheContent(List<C> content) {
+        delegate.cacheContent(content);
+
+        for (C c : content) {
+            String key = contentKey(c.getSource());
+            if (knownIds != null) {
+                knownIds.put(key);
+            }
+            misses.recordSuccess(key);
+        }
+    }
+
+    @Override
+    public void removeContent(FeedIdentifier feed, String idOnPlatform) {
+        delegate.removeContent(feed, idOnPlatform);
+    }
+
+    @Override
+    public A fetchAuthor(FeedIdentifier feed) {
+        return delegate.fetchAuthor(feed);
+    }
+
+    @Override
+    public void cacheAuthors(List<A> authors) {
+        delegate.cacheAuthors(authors);
+    }
+
+    @Override
+    public void removeAuthor(FeedIdentifier feed) {
+        delegate.removeAuthor(feed);
+    }
+
+    @Override
+    public @Nullable Iterable<? extends ContentIdentifier> getContentIds() {
+        return delegate.getContentIds();
+    }
+
+    @Override
+    public @Nullable FeedValidator fetchValidator(FeedIdentifier feed) {
+        return delegate.fetchValidator(feed);
+    }
+
+    @Override
+    public void cacheValidator(FeedIdentifier feed, FeedValidator validator) {
+        delegate.cacheValidator(feed, validator);
+    }
+
+    /**
+     * Gets the key to track the given content ID by. {@link ContentIdentifier}s compare equal by
+     * feed alone, so they can't be used as keys themselves.
+     *
+     * @param id the content ID to get the key for
+     * @return a string uniquely identifying the content across all feeds
+     */
+    public static String contentKey(ContentIdentifier id) {
+        return id.toIdString() + ":" + id.getIdOnPlatform();
+    }
+}
@@ -0,0 +1,33 @@
+package dev.jqb.onefeed.core.caching;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Hashing shared by the caching utilities that need well-distributed 64-bit hashes of string keys
+ */
+final class Hashing {
+
+    private Hashing() {}
+
+    /**
+     * Hashes the given {@code key} to 64 well-mixed bits (FNV-1a over its UTF-8 bytes, finished
+     * with MurmurHash3's 64-bit finalizer).
+     *
+     * @param key the key to hash
+     * @return the hash of the key
+     */
+    static long hash64(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
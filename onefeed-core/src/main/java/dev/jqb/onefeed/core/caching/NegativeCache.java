@@ -0,0 +1,202 @@
+package dev.jqb.onefeed.core.caching;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A short-lived record of keys known to be failing or absent, so repeated lookups for them can be
+ * skipped instead of paying the full cost of failing again
+ * </br></br>
+ * Each consecutive failure of a key doubles how long it's suppressed for, starting at the base TTL
+ * and capped at the max TTL. A single success clears the key's record entirely.
+ * </br></br>
+ * The number of keys tracked is capped. Once over the cap, expired records are purged first, and if
+ * that isn't enough, the live records closest to expiring are evicted too, being the oldest when
+ * keys share a TTL. Evicting down to a little below the cap spreads the cost of each eviction over
+ * the failures recorded until the next.
+ *
+ * @param <K> the type of key being tracked, such as a
+ *            {@link dev.jqb.onefeed.core.feed.FeedIdentifier}
+ */
+public class NegativeCache<K> {
+
+    /**
+     * How long a key is suppressed for after its first failure
+     */
+    private final Duration baseTtl;
+
+    /**
+     * The longest a key may be suppressed for, no matter how many times it has failed
+     */
+    private final Duration maxTtl;
+
+    /**
+     * The most keys tracked at once, past which records are purged or evicted
+     */
+    private final int maxEntries;
+
+    /**
+     * The number of keys left tracked after evicting live records to get back under the cap
+     */
+    private final int evictionTarget;
+
+    /**
+     * The clock to measure suppression against
+     */
+    private final Clock clock;
+
+    /**
+     * The failure record of each key currently being tracked
+     */
+    private final ConcurrentHashMap<K, Strikes> strikes = new ConcurrentHashMap<>();
+
+    /**
+     * Held while getting back under the cap, so only one thread evicts at a time
+     */
+    private final Object evictionLock = new Object();
+
+    /**
+     * Constructs a new {@code NegativeCache} measured against the system clock.
+     *
+     * @param baseTtl how long a key is suppressed for after its first failure
+     * @param maxTtl the longest a key may be suppressed for
+     * @param maxEntries the most keys to track at once
+     */
+    public NegativeCache(Duration baseTtl, Duration maxTtl, int maxEntries) {
+        this(baseTtl, maxTtl, maxEntries, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs a new {@code NegativeCache}.
+     *
+     * @param baseTtl how long a key is suppressed for after its first failure
+     * @param maxTtl the longest a key may be suppressed for
+     * @param maxEntries the most keys to track at once
+     * @param clock the clock to measure suppression against
+     */
+    public NegativeCache(Duration baseTtl, Duration maxTtl, int maxEntries, Clock clock) {
+        if (baseTtl.isNegative() || baseTtl.isZero() || maxTtl.compareTo(baseTtl) < 0) {
+            throw new IllegalArgumentException("TTLs must be positive, with max TTL >= base TTL");
+        }
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Max entries must be at least 1");
+        }
+
+        this.baseTtl = baseTtl;
+        this.maxTtl = maxTtl;
+        this.maxEntries = maxEntries;
+        this.evictionTarget = Math.max(1, maxEntries - maxEntries / 10);
+        this.clock = clock;
+    }
+
+    /**
+     * Checks whether the given {@code key} is currently suppressed.
+     *
+     * @param key the key to check
+     * @return {@code true} if the key has failed recently enough that it shouldn't be tried again
+     * yet
+     */
+    public boolean isNegative(K key) {
+        Strikes record = strikes.get(key);
+        return record != null && clock.instant().isBefore(record.until);
+    }
+
+    /**
+     * Records a failure of the given {@code key}, suppressing it for exponentially longer the more
+     * consecutive times it has failed.
+     *
+     * @param key the key that failed
+     * @return how long the key is now suppressed for
+     */
+    public Duration recordFailure(K key) {
+        Instant now = clock.instant();
+        Strikes record = strikes.compute(key, (k, prior) -> {
+            int count = prior == null ? 1 : prior.count + 1;
+            return new Strikes(count, now.plus(backoffFor(count)));
+        });
+
+        if (strikes.size() > maxEntries) {
+            shrink(now);
+        }
+
+        return Duration.between(now, record.until);
+    }
+
+    /**
+     * Records a success of the given {@code key}, clearing any record of its prior failures.
+     * @param key the key that succeeded
+     */
+    public void recordSuccess(K key) {
+        strikes.remove(key);
+    }
+
+    /**
+     * Gets the number of keys currently being tracked, suppressed or not.
+     * @return the number of keys currently being tracked
+     */
+    public int size() {
+        return strikes.size();
+    }
+
+    /**
+     * Calculates how long a key should be suppressed for after the given number of consecutive
+     * failures.
+     *
+     * @param count the number of consecutive failures
+     * @return the suppression duration
+     */
+    private Duration backoffFor(int count) {
+        int doublings = Math.min(count - 1, 30);
+        Duration backoff = baseTtl.multipliedBy(1L << doublings);
+        return backoff.compareTo(maxTtl) > 0 ? maxTtl : backoff;
+    }
+
+    /**
+     * Gets back under the cap, first by purging expired records, then by evicting the live records
+     * closest to expiring until only {@link #evictionTarget} keys are left.
+     * @param now the moment to measure suppression against
+     */
+    private void shrink(Instant now) {
+        synchronized (evictionLock) {
+            // Another thread may have just done the work
+            if (strikes.size() <= maxEntries) {
+                return;
+            }
+
+            purgeExpired(now);
+            int excess = strikes.size() - evictionTarget;
+            if (strikes.size() <= maxEntries || excess <= 0) {
+                return;
+            }
+
+            List<Map.Entry<K, Strikes>> live = new ArrayList<>(strikes.entrySet());
+            live.sort(Comparator.comparing(entry -> entry.getValue().until));
+            for (int i = 0; i < excess && i < live.size(); i++) {
+                // Records failed again since the snapshot are kept
+                strikes.remove(live.get(i).getKey(), live.get(i).getValue());
+            }
+        }
+    }
+
+    /**
+     * Drops the records of keys that are no longer suppressed, forgetting their failure history.
+     * @param now the moment to measure suppression against
+     */
+    private void purgeExpired(Instant now) {
+        strikes.entrySet().removeIf(entry -> !now.isBefore(entry.getValue().until));
+    }
+
+    /**
+     * A key's consecutive failure count and the moment it's no longer suppressed
+     *
+     * @param count the number of consecutive failures
+     * @param until the moment the key is no longer suppressed
+     */
+    private record Strikes(int count, Instant until) {}
+}
@@ -3,6 +3,7 @@ package dev.jqb.onefeed.core.caching;
 import dev.jqb.onefeed.core.author.NormalizedAuthor;
 import dev.jqb.onefeed.core.content.NormalizedContent;
 import dev.jqb.onefeed.core.plugin.OneFeedPlugin;
+import java.util.List;
 
 public abstract class OneFeedCacherPlugin extends OneFeedPlugin {
     /**
@@ -28,4 +29,18 @@ public abstract class OneFeedCacherPlugin extends OneFeedPlugin {
      * @return the {@link Cacher} service that this plugin provides
      */
     public abstract Cacher<? extends NormalizedContent, ? extends NormalizedAuthor> getCacher();
+
+    /**
+     * Gets every {@link Cacher} service that this plugin provides, each of which OneFeed treats as
+     * a separate shard of its cache. Plugins backed by several independent stores (such as
+     * multiple database nodes) can override this to offer one cacher per store.
+     *
+     * @return the {@link Cacher} services that this plugin provides, defaulting to just
+     * {@link #getCacher()}
+     */
+    public List<? extends Cacher<? extends NormalizedContent, ? extends NormalizedAuthor>>
+        getCachers()
+    {
+        return List.of(getCacher());
+    }
 }
@@ -0,0 +1,183 @@
+package dev.jqb.onefeed.core.caching;
+
+import dev.jqb.onefeed.core.author.NormalizedAuthor;
+import dev.jqb.onefeed.core.content.ContentIdentifier;
+import dev.jqb.onefeed.core.content.NormalizedContent;
+import dev.jqb.onefeed.core.feed.FeedIdentifier;
+import dev.jqb.onefeed.core.feed.FeedValidator;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A {@link Cacher} spreading its data across any number of shard cachers, each holding every piece
+ * of content and author for the feeds routed to it
+ * </br></br>
+ * Feeds are routed to shards by a {@link ConsistentHashRing} over
+ * {@link FeedIdentifier#toIdString()}, so all of a feed's data lives on one shard and per-feed
+ * ordering stays the shard's concern. Adding or removing a shard only reroutes the feeds in the
+ * ranges it covers; those feeds start out uncached on their new shard and refill as they're
+ * fetched. While there are no shards, reads come back empty and writes are dropped.
+ *
+ * @param <C> the type of {@link NormalizedContent} in the cache
+ * @param <A> the type of {@link NormalizedAuthor} in the cache
+ */
+public class ShardedCacher<C extends NormalizedContent, A extends NormalizedAuthor>
+    implements Cacher<C, A>
+{
+
+    /**
+     * The ring routing feeds to their shards
+     */
+    private final ConsistentHashRing<Cacher<C, A>> ring;
+
+    /**
+     * Constructs a new {@code ShardedCacher} with no shards.
+     * @param virtualNodesPerShard the number of points each shard is placed at on the hash ring
+     */
+    public ShardedCacher(int virtualNodesPerShard) {
+        this.ring = new ConsistentHashRing<>(virtualNodesPerShard);
+    }
+
+    /**
+     * Adds a shard, taking over the feeds in its ranges of the hash ring.
+     *
+     * @param shardId the unique, stable identifier of the shard, which decides the feeds it holds
+     * @param shard the shard cacher
+     */
+    public void addShard(String shardId, Cacher<C, A> shard) {
+        ring.add(shardId, shard);
+    }
+
+    /**
+     * Removes a shard, handing its feeds to the shards adjacent to it on the hash ring.
+     *
+     * @param shardId the identifier the shard was added with
+     * @return the removed shard, or {@code null} if there was no such shard
+     */
+    public @Nullable Cacher<C, A> removeShard(String shardId) {
+        return ring.remove(shardId);
+    }
+
+    /**
+     * Gets every shard, indexed by their IDs.
+     * @return an unmodifiable view of every shard
+     */
+    public Map<String, Cacher<C, A>> getShards() {
+        return ring.getNodes();
+    }
+
+    /**
+     * Checks whether there are no shards to cache with.
+     * @return {@code true} if there are no shards
+     */
+    public boolean isEmpty() {
+        return ring.isEmpty();
+    }
+
+    /**
+     * Gets the shard responsible for the given feed.
+     *
+     * @param feed the feed to get the shard of
+     * @return the shard responsible for the feed, or {@code null} if there are no shards
+     */
+    public @Nullable Cacher<C, A> shardFor(FeedIdentifier feed) {
+        return ring.route(feed.toIdString());
+    }
+
+    @Override
+    public List<C> fetchRecentContent(FeedIdentifier feed, int amount) {
+        Cacher<C, A> shard = shardFor(feed);
+        return shard != null ? shard.fetchRecentContent(feed, amount) : List.of();
+    }
+
+    @Override
+    public List<C> fetchRecentContent(FeedIdentifier feed, int amount, ContentIdentifier after) {
+        Cacher<C, A> shard = shardFor(feed);
+        return shard != null ? shard.fetchRecentContent(feed, amount, after) : List.of();
+    }
+
+    @Override
+    public C fetchContent(ContentIdentifier id) {
+        Cacher<C, A> shard = shardFor(id);
+        return shard != null ? shard.fetchContent(id) : null;
+    }
+
+    @Override
+    public void cacheContent(List<C> content) {
+        Map<Cacher<C, A>, List<C>> contentByShard = new IdentityHashMap<>();
+        for (C c : content) {
+            Cacher<C, A> shard = shardFor(c.getFeedIdentifier());
+            if (shard != null) {
+                contentByShard.computeIfAbsent(shard, k -> new ArrayList<>()).add(c);
+            }
+        }
+
+        contentByShard.forEach(Cacher::cacheContent);
+    }
+
+    @Override
+    public void removeContent(FeedIdentifier feed, String idOnPlatform) {
+        Cacher<C, A> shard = shardFor(feed);
+        if (shard != null) {
+            shard.removeContent(feed, idOnPlatform);
+        }
+    }
+
+    @Override
+    public A fetchAuthor(FeedIdentifier feed) {
+        Cacher<C, A> shard = shardFor(feed);
+        return shard != null ? shard.fetchAuthor(feed) : null;
+    }
+
+    @Override
+    public void cacheAuthors(List<A> authors) {
+        Map<Cacher<C, A>, List<A>> authorsByShard = new IdentityHashMap<>();
+        for (A author : authors) {
+            Cacher<C, A> shard = shardFor(author.getFeedIdentifier());
+            if (shard != null) {
+                authorsByShard.computeIfAbsent(shard, k -> new ArrayList<>()).add(author);
+            }
+        }
+
+        authorsByShard.forEach(Cacher::cacheAuthors);
+    }
+
+    @Override
+    public void removeAuthor(FeedIdentifier feed) {
+        Cacher<C, A> shard = shardFor(feed);
+        if (shard != null) {
+            shard.removeAuthor(feed);
+        }
+    }
+
+    @Override
+    public @Nullable FeedValidator fetchValidator(FeedIdentifier feed) {
+        Cacher<C, A> shard = shardFor(feed);
+        return shard != null ? shard.fetchValidator(feed) : null;
+    }
+
+    @Override
+    public void cacheValidator(FeedIdentifier feed, FeedValidator validator) {
+        Cacher<C, A> shard = shardFor(feed);
+        if (shard != null) {
+            shard.cacheValidator(feed, validator);
+        }
+    }
+
+    @Override
+    public @Nullable Iterable<? extends ContentIdentifier> getContentIds() {
+        List<ContentIdentifier> ids = new ArrayList<>();
+        for (Cacher<C, A> shard : ring.getNodes().values()) {
+            Iterable<? extends ContentIdentifier> shardIds = shard.getContentIds();
+            if (shardIds == null) {
+                return null;
+            }
+            shardIds.forEach(ids::add);
+        }
+
+        return ids;
+    }
+}
@@ -0,0 +1,90 @@
+package dev.jqb.onefeed.core.caching.compression;
+
+import dev.jqb.onefeed.core.impl.Media;
+import dev.jqb.onefeed.core.impl.OneFeedContent;
+import java.util.ArrayList;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * {@link OneFeedContent} whose title, body, and media URLs are held compressed against its feed's
+ * {@link FeedDictionary}, for caches bound by the memory each item takes
+ * </br></br>
+ * Text is only decompressed when read, and isn't kept decompressed afterward, so content sitting in
+ * the cache stays compact no matter how often it's served.
+ */
+public class CompressedContent extends OneFeedContent {
+
+    /**
+     * The dictionary the text is compressed against
+     */
+    private final FeedDictionary dictionary;
+
+    private byte @Nullable [] title;
+    private byte @Nullable [] body;
+    private @Nullable List<Media> media;
+
+    /**
+     * Constructs a compressed copy of the given {@code content}.
+     *
+     * @param content the content to copy
+     * @param dictionary the dictionary of the feed the content belongs to
+     */
+    public CompressedContent(OneFeedContent content, FeedDictionary dictionary) {
+        this.dictionary = dictionary;
+        setSource(content.getSource());
+        setNextPageCursor(content.getNextPageCursor());
+        copyPublished(content);
+        setPrimaryReactionCount(content.getPrimaryReactionCount());
+        setTitle(content.getTitle());
+        setBody(content.getBody());
+        setMedia(content.getMedia());
+    }
+
+    @Override
+    public String getTitle() {
+        return decompress(title);
+    }
+
+    @Override
+    public void setTitle(String title) {
+        this.title = compress(title);
+    }
+
+    @Override
+    public String getBody() {
+        return decompress(body);
+    }
+
+    @Override
+    public void setBody(String body) {
+        this.body = compress(body);
+    }
+
+    @Override
+    public List<Media> getMedia() {
+        return media;
+    }
+
+    @Override
+    public void setMedia(@Nullable List<Media> media) {
+        if (media == null || media.isEmpty()) {
+            this.media = null;
+            return;
+        }
+
+        List<Media> compressed = new ArrayList<>(media.size());
+        for (Media m : media) {
+            compressed.add(m instanceof CompressedMedia ? m : new CompressedMedia(m, dictionary));
+        }
+        this.media = List.copyOf(compressed);
+    }
+
+    private byte @Nullable [] compress(@Nullable String text) {
+        return text == null ? null : dictionary.compress(text);
+    }
+
+    private @Nullable String decompress(byte @Nullable [] compressed) {
+        return compressed == null ? null : dictionary.decompress(compressed);
+    }
+}
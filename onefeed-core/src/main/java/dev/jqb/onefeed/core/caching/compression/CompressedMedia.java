@@ -0,0 +1,75 @@
+package dev.jqb.onefeed.core.caching.compression;
+
+import dev.jqb.onefeed.core.impl.Media;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A piece of {@link Media} whose URLs are held compressed against its feed's
+ * {@link FeedDictionary}, being decompressed each time they're read
+ */
+public class CompressedMedia extends Media {
+
+    /**
+     * The dictionary the URLs are compressed against
+     */
+    private final FeedDictionary dictionary;
+
+    private byte[] href;
+    private byte @Nullable [] src;
+    private byte @Nullable [] thumbnailSrc;
+
+    /**
+     * Constructs a compressed copy of the given {@code media}.
+     *
+     * @param media the media to copy
+     * @param dictionary the dictionary of the feed the media belongs to
+     */
+    public CompressedMedia(Media media, FeedDictionary dictionary) {
+        this.dictionary = dictionary;
+        setType(media.getType());
+        setTitle(media.getTitle());
+        setCaption(media.getCaption());
+        setAltText(media.getAltText());
+        setHref(media.getHref());
+        setSrc(media.getSrc());
+        setThumbnailSrc(media.getThumbnailSrc());
+    }
+
+    @Override
+    public String getHref() {
+        return decompress(href);
+    }
+
+    @Override
+    public void setHref(String href) {
+        this.href = compress(href);
+    }
+
+    @Override
+    public String getSrc() {
+        return decompress(src);
+    }
+
+    @Override
+    public void setSrc(String src) {
+        this.src = compress(src);
+    }
+
+    @Override
+    public @Nullable String getThumbnailSrc() {
+        return decompress(thumbnailSrc);
+    }
+
+    @Override
+    public void setThumbnailSrc(@Nullable String thumbnailSrc) {
+        this.thumbnailSrc = compress(thumbnailSrc);
+    }
+
+    private byte @Nullable [] compress(@Nullable String text) {
+        return text == null ? null : dictionary.compress(text);
+    }
+
+    private @Nullable String decompress(byte @Nullable [] compressed) {
+        return compressed == null ? null : dictionary.decompress(compressed);
+    }
+}
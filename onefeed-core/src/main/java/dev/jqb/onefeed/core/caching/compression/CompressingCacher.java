@@ -0,0 +1,126 @@
+package dev.jqb.onefeed.core.caching.compression;
+
+import dev.jqb.onefeed.core.author.NormalizedAuthor;
+import dev.jqb.onefeed.core.caching.Cacher;
+import dev.jqb.onefeed.core.content.ContentIdentifier;
+import dev.jqb.onefeed.core.content.NormalizedContent;
+import dev.jqb.onefeed.core.feed.FeedIdentifier;
+import dev.jqb.onefeed.core.feed.FeedValidator;
+import dev.jqb.onefeed.core.impl.OneFeedContent;
+import java.util.ArrayList;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A {@link Cacher} wrapper that compresses {@link OneFeedContent} against its feed's trained
+ * {@link FeedDictionary} before handing it to the wrapped cacher
+ * </br></br>
+ * Only worthwhile in front of cachers that hold content objects in memory, since cachers that
+ * serialize content would read (and so decompress) every field anyway. Content of any other type,
+ * or from feeds whose dictionaries are still being trained, is cached as-is.
+ *
+ * @param <A> the type of {@link NormalizedAuthor} in the cache
+ */
+public class CompressingCacher<A extends NormalizedAuthor> implements Cacher<NormalizedContent, A> {
+
+    /**
+     * The cacher holding the compressed content
+     */
+    private final Cacher<NormalizedContent, A> delegate;
+
+    /**
+     * The dictionary of each feed
+     */
+    private final FeedDictionaries dictionaries;
+
+    /**
+     * Constructs a new {@code CompressingCacher}.
+     *
+     * @param delegate the cacher to hold the compressed content
+     * @param dictionaries the dictionary of each feed
+     */
+    public CompressingCacher(Cacher<NormalizedContent, A> delegate, FeedDictionaries dictionaries) {
+        this.delegate = delegate;
+        this.dictionaries = dictionaries;
+    }
+
+    /**
+     * Gets the cacher holding the compressed content.
+     * @return the cacher holding the compressed content
+     */
+    public Cacher<NormalizedContent, A> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public List<NormalizedContent> fetchRecentContent(FeedIdentifier feed, int amount) {
+        return delegate.fetchRecentContent(feed, amount);
+    }
+
+    @Override
+    public List<NormalizedContent> fetchRecentContent(FeedIdentifier feed, int amount,
+        ContentIdentifier after
+    ) {
+        return delegate.fetchRecentContent(feed, amount, after);
+    }
+
+    @Override
+    public NormalizedContent fetchContent(ContentIdentifier id) {
+        return delegate.fetchContent(id);
+    }
+
+    @Override
+    public void cacheContent(List<NormalizedContent> content) {
+        List<NormalizedContent> compressed = new ArrayList<>(content.size());
+        for (NormalizedContent c : content) {
+            compressed.add(compress(c));
+        }
+        delegate.cacheContent(compressed);
+    }
+
+    @Override
+    public void removeContent(FeedIdentifier feed, String idOnPlatform) {
+        delegate.removeContent(feed, idOnPlatform);
+    }
+
+    @Override
+    public A fetchAuthor(FeedIdentifier feed) {
+        return delegate.fetchAuthor(feed);
+    }
+
+    @Override
+    public void cacheAuthors(List<A> authors) {
+        delegate.cacheAuthors(authors);
+    }
+
+    @Override
+    public void removeAuthor(FeedIdentifier feed) {
+        delegate.removeAuthor(feed);
+    }
+
+    @Override
+    public @Nullable Iterable<? extends ContentIdentifier> getContentIds() {
+        return delegate.getContentIds();
+    }
+
+    @Override
+    public @Nullable FeedValidator fetchValidator(FeedIdentifier feed) {
+        return delegate.fetchValidator(feed);
+    }
+
+    @Override
+    public void cacheValidator(FeedIdentifier feed, FeedValidator validator) {
+        delegate.cacheValidator(feed, validator);
+    }
+
+    private NormalizedContent compress(NormalizedContent content) {
+        if (!(content instanceof OneFeedContent oneFeedContent)
+            || content instanceof CompressedContent
+        ) {
+            return content;
+        }
+
+        FeedDictionary dictionary = dictionaries.sample(oneFeedContent);
+        return dictionary == null ? content : new CompressedContent(oneFeedContent, dictionary);
+    }
+}
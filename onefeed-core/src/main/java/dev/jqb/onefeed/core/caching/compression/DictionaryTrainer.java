@@ -0,0 +1,187 @@
+package dev.jqb.onefeed.core.caching.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trains a {@link FeedDictionary} from sample text, picking out the byte sequences shared by the
+ * most samples
+ * </br></br>
+ * Follows the approach of zstd's "cover" trainer: every 8-byte sequence is scored by the number of
+ * samples it appears in, and the dictionary is built from the fixed-size segments of the samples
+ * covering the highest total score. Once a segment is picked, its sequences stop counting towards
+ * any other segment, so the dictionary isn't filled with near-duplicates. The samples are split
+ * into epochs, one segment being picked from each per round, so a handful of unusually repetitive
+ * samples can't crowd out the rest.
+ */
+public final class DictionaryTrainer {
+
+    /**
+     * The length of the byte sequences scored for how common they are
+     */
+    private static final int SEQUENCE_LENGTH = 8;
+
+    /**
+     * The length of each segment copied into the dictionary
+     */
+    private static final int SEGMENT_LENGTH = 64;
+
+    private DictionaryTrainer() {}
+
+    /**
+     * Trains a dictionary from the given {@code samples}.
+     *
+     * @param samples representative text from a single feed, such as its content bodies and media
+     *                URLs
+     * @param maxSize the largest the dictionary may be, in bytes. Values larger than
+     *                {@link FeedDictionary#MAX_SIZE} are capped.
+     * @return the trained dictionary, which may be empty if the samples have nothing in common
+     */
+    public static FeedDictionary train(List<String> samples, int maxSize) {
+        maxSize = Math.min(maxSize, FeedDictionary.MAX_SIZE);
+
+        List<byte[]> corpus = new ArrayList<>(samples.size());
+        for (String sample : samples) {
+            byte[] bytes = sample.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length >= SEQUENCE_LENGTH) {
+                corpus.add(bytes);
+            }
+        }
+
+        Map<Long, Integer> frequencies = countSampleFrequencies(corpus);
+        List<Segment> picked = new ArrayList<>();
+        int size = 0;
+
+        int epochs = Math.max(1, Math.min(corpus.size(), maxSize / SEGMENT_LENGTH));
+        boolean progressed = true;
+        while (progressed && size < maxSize) {
+            progressed = false;
+            for (int epoch = 0; epoch < epochs && size < maxSize; epoch++) {
+                int from = epoch * corpus.size() / epochs;
+                int to = (epoch + 1) * corpus.size() / epochs;
+
+                Segment best = findBestSegment(corpus, from, to, frequencies);
+                if (best == null) {
+                    continue;
+                }
+
+                // Sequences already in the dictionary gain nothing from being added again
+                for (int i = best.start; i + SEQUENCE_LENGTH <= best.end; i++) {
+                    frequencies.remove(sequenceAt(best.sample, i));
+                }
+
+                picked.add(best);
+                size += best.end - best.start;
+                progressed = true;
+            }
+        }
+
+        // DEFLATE references closer bytes more cheaply, so the best segments go last
+        picked.sort(Comparator.comparingLong(Segment::score));
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream(size);
+        for (Segment segment : picked) {
+            dictionary.write(segment.sample, segment.start, segment.end - segment.start);
+        }
+
+        return new FeedDictionary(dictionary.toByteArray());
+    }
+
+    /**
+     * Counts the number of samples each sequence appears in, keeping only those appearing in more
+     * than one, since only those are worth a place in the dictionary.
+     *
+     * @param corpus the samples to count the sequences of
+     * @return the number of samples each sequence appears in
+     */
+    private static Map<Long, Integer> countSampleFrequencies(List<byte[]> corpus) {
+        Map<Long, Integer> frequencies = new HashMap<>();
+        Set<Long> seenInSample = new HashSet<>();
+
+        for (byte[] sample : corpus) {
+            seenInSample.clear();
+            for (int i = 0; i + SEQUENCE_LENGTH <= sample.length; i++) {
+                long sequence = sequenceAt(sample, i);
+                if (seenInSample.add(sequence)) {
+                    frequencies.merge(sequence, 1, Integer::sum);
+                }
+            }
+        }
+
+        frequencies.values().removeIf(count -> count < 2);
+        return frequencies;
+    }
+
+    /**
+     * Finds the segment of the samples in {@code [from, to)} whose sequences are the most common.
+     *
+     * @param corpus every sample
+     * @param from the index of the first sample to search
+     * @param to the index after the last sample to search
+     * @param frequencies the number of samples each sequence appears in
+     * @return the best segment, or {@code null} if no segment has any common sequences
+     */
+    private static Segment findBestSegment(List<byte[]> corpus, int from, int to,
+        Map<Long, Integer> frequencies
+    ) {
+        Segment best = null;
+
+        for (int s = from; s < to; s++) {
+            byte[] sample = corpus.get(s);
+            int sequences = sample.length - SEQUENCE_LENGTH + 1;
+            int window = Math.min(SEGMENT_LENGTH - SEQUENCE_LENGTH + 1, sequences);
+
+            // Slide a window of sequences across the sample, keeping a running score
+            long score = 0;
+            for (int i = 0; i < window; i++) {
+                score += frequencies.getOrDefault(sequenceAt(sample, i), 0);
+            }
+
+            for (int start = 0; ; start++) {
+                if (score > 0 && (best == null || score > best.score)) {
+                    int end = Math.min(sample.length, start + SEGMENT_LENGTH);
+                    best = new Segment(sample, start, end, score);
+                }
+
+                if (start + window >= sequences) {
+                    break;
+                }
+                score -= frequencies.getOrDefault(sequenceAt(sample, start), 0);
+                score += frequencies.getOrDefault(sequenceAt(sample, start + window), 0);
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Packs the sequence starting at the given {@code offset} into a {@code long}.
+     *
+     * @param bytes the bytes containing the sequence
+     * @param offset the offset of the sequence's first byte
+     * @return the sequence packed into a {@code long}
+     */
+    private static long sequenceAt(byte[] bytes, int offset) {
+        long sequence = 0;
+        for (int i = 0; i < SEQUENCE_LENGTH; i++) {
+            sequence = (sequence << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return sequence;
+    }
+
+    /**
+     * A candidate range of a sample to copy into the dictionary
+     *
+     * @param sample the sample the segment is from
+     * @param start the offset of the segment's first byte
+     * @param end the offset after the segment's last byte
+     * @param score the total sample frequency of the segment's sequences
+     */
+    private record Segment(byte[] sample, int start, int end, long score) {}
+}
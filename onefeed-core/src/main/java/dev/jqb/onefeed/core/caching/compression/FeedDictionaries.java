@@ -0,0 +1,171 @@
+package dev.jqb.onefeed.core.caching.compression;
+
+import dev.jqb.onefeed.core.feed.FeedIdentifier;
+import dev.jqb.onefeed.core.impl.Media;
+import dev.jqb.onefeed.core.impl.OneFeedContent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link FeedDictionary} of each feed, trained from the first content seen from that feed
+ * </br></br>
+ * Until a feed has produced enough sample text, it has no dictionary and its content is left
+ * uncompressed. Its dictionary is then trained in the background, off the thread caching the
+ * content, and its content is left uncompressed until training finishes. Once trained, a feed's
+ * dictionary never changes, so content compressed against it can always be decompressed.
+ */
+public class FeedDictionaries {
+    private static final Logger logger = LoggerFactory.getLogger(FeedDictionaries.class);
+
+    /**
+     * The number of samples (bodies, titles, and media URLs) to train each feed's dictionary from
+     */
+    private final int samplesPerDictionary;
+
+    /**
+     * The largest each feed's dictionary may be, in bytes
+     */
+    private final int maxDictionarySize;
+
+    /**
+     * Where feeds' dictionaries are trained
+     */
+    private final Executor trainer;
+
+    /**
+     * The state of each feed's dictionary, keyed by {@link FeedIdentifier#toIdString()}
+     */
+    private final ConcurrentHashMap<String, Slot> slots = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new, empty {@code FeedDictionaries}.
+     *
+     * @param samplesPerDictionary the number of samples to train each feed's dictionary from
+     * @param maxDictionarySize the largest each feed's dictionary may be, in bytes
+     * @param trainer where to train feeds' dictionaries
+     */
+    public FeedDictionaries(int samplesPerDictionary, int maxDictionarySize, Executor trainer) {
+        if (samplesPerDictionary < 2) {
+            throw new IllegalArgumentException("Dictionaries need at least 2 samples to train from");
+        }
+        this.samplesPerDictionary = samplesPerDictionary;
+        this.maxDictionarySize = maxDictionarySize;
+        this.trainer = trainer;
+    }
+
+    /**
+     * Gets the dictionary of the given {@code feed}.
+     *
+     * @param feed the feed whose dictionary to get
+     * @return the feed's dictionary, or {@code null} if it hasn't been trained yet
+     */
+    public @Nullable FeedDictionary get(FeedIdentifier feed) {
+        Slot slot = slots.get(feed.toIdString());
+        return slot == null ? null : slot.dictionary;
+    }
+
+    /**
+     * Gets the dictionary of the feed the given {@code content} belongs to, using the content as a
+     * training sample if the feed's dictionary hasn't been trained yet. Once enough samples are
+     * gathered, training is handed to the trainer and this returns without waiting for it.
+     *
+     * @param content the content to sample
+     * @return the feed's dictionary, or {@code null} if it still hasn't been trained
+     */
+    public @Nullable FeedDictionary sample(OneFeedContent content) {
+        String feedId = content.getFeedIdentifier().toIdString();
+        Slot slot = slots.computeIfAbsent(feedId, k -> new Slot());
+        FeedDictionary dictionary = slot.dictionary;
+        if (dictionary != null) {
+            return dictionary;
+        }
+
+        List<String> samples;
+        synchronized (slot) {
+            // Samples are set aside once there are enough, so anything after is left to training
+            if (slot.samples == null) {
+                return slot.dictionary;
+            }
+
+            addSamples(slot.samples, content);
+            if (slot.samples.size() < samplesPerDictionary) {
+                return null;
+            }
+            samples = slot.samples;
+            slot.samples = null;
+        }
+
+        train(feedId, slot, samples);
+        return null;
+    }
+
+    /**
+     * Trains a feed's dictionary from its samples with the trainer. If training fails or can't be
+     * started, the feed starts gathering samples over again.
+     *
+     * @param feedId the ID string of the feed whose dictionary to train
+     * @param slot the feed's slot, to hold the trained dictionary
+     * @param samples the samples to train the dictionary from
+     */
+    private void train(String feedId, Slot slot, List<String> samples) {
+        try {
+            trainer.execute(() -> {
+                try {
+                    slot.dictionary = DictionaryTrainer.train(samples, maxDictionarySize);
+                } catch (RuntimeException e) {
+                    slots.remove(feedId, slot);
+                    logger.warn("Failed to train the compression dictionary of feed '{}': {}",
+                        feedId, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            slots.remove(feedId, slot);
+        }
+    }
+
+    /**
+     * Forgets the dictionary of the given {@code feed}. Content already compressed against it is
+     * unaffected.
+     *
+     * @param feed the feed whose dictionary to forget
+     */
+    public void remove(FeedIdentifier feed) {
+        slots.remove(feed.toIdString());
+    }
+
+    private static void addSamples(List<String> samples, OneFeedContent content) {
+        addSample(samples, content.getTitle());
+        addSample(samples, content.getBody());
+        if (content.getMedia() != null) {
+            for (Media media : content.getMedia()) {
+                addSample(samples, media.getHref());
+                addSample(samples, media.getSrc());
+                addSample(samples, media.getThumbnailSrc());
+            }
+        }
+    }
+
+    private static void addSample(List<String> samples, @Nullable String sample) {
+        if (sample != null && !sample.isEmpty()) {
+            samples.add(sample);
+        }
+    }
+
+    /**
+     * A feed's dictionary, or the samples it's being trained from
+     */
+    private static final class Slot {
+        private volatile @Nullable FeedDictionary dictionary;
+
+        /**
+         * The samples gathered so far, or {@code null} once they've been handed to training
+         */
+        private @Nullable List<String> samples = new ArrayList<>();
+    }
+}
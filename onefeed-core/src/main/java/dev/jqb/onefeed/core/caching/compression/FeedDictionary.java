@@ -0,0 +1,206 @@
+package dev.jqb.onefeed.core.caching.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A preset dictionary of byte sequences common to a single feed's text, used to compress that
+ * feed's short strings far better than they'd compress on their own
+ * </br></br>
+ * Text is compressed with raw DEFLATE primed with the dictionary, so a body's recurring signature,
+ * hashtags, or URL prefixes become back-references into the dictionary rather than literals. Each
+ * compressed string starts with a header noting whether it was actually deflated and its original
+ * length, so strings that don't shrink are stored as-is and decompression allocates exactly once.
+ *
+ * @see DictionaryTrainer
+ */
+public final class FeedDictionary {
+
+    /**
+     * The largest useful dictionary, being the size of DEFLATE's back-reference window
+     */
+    public static final int MAX_SIZE = 32 * 1024;
+
+    private static final byte STORED = 0;
+    private static final byte DEFLATED = 1;
+
+    /**
+     * The most idle (de)compressors of each kind kept for reuse. Any more are ended as they're
+     * returned, so a burst of concurrent calls doesn't hold native buffers forever.
+     */
+    private static final int MAX_IDLE = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Idle (de)compressors, reused since each holds a sizable native buffer
+     */
+    private static final ConcurrentLinkedQueue<Deflater> DEFLATERS = new ConcurrentLinkedQueue<>();
+    private static final ConcurrentLinkedQueue<Inflater> INFLATERS = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of idle (de)compressors of each kind, kept apart since queues count in linear time
+     */
+    private static final AtomicInteger IDLE_DEFLATERS = new AtomicInteger();
+    private static final AtomicInteger IDLE_INFLATERS = new AtomicInteger();
+
+    /**
+     * The dictionary's contents, with the most valuable sequences last so they're the cheapest to
+     * reference
+     */
+    private final byte[] bytes;
+
+    /**
+     * Constructs a new {@code FeedDictionary} from already-trained contents.
+     *
+     * @param bytes the dictionary's contents. Only the last {@link #MAX_SIZE} bytes are used.
+     */
+    public FeedDictionary(byte[] bytes) {
+        this.bytes = bytes.length > MAX_SIZE
+            ? Arrays.copyOfRange(bytes, bytes.length - MAX_SIZE, bytes.length)
+            : bytes.clone();
+    }
+
+    /**
+     * Gets the size of the dictionary.
+     * @return the size of the dictionary, in bytes
+     */
+    public int size() {
+        return bytes.length;
+    }
+
+    /**
+     * Compresses the given {@code text} against this dictionary.
+     *
+     * @param text the text to compress
+     * @return the compressed text, to be restored with {@link #decompress(byte[])}
+     */
+    public byte[] compress(String text) {
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+
+        Deflater deflater = DEFLATERS.poll();
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        } else {
+            IDLE_DEFLATERS.decrementAndGet();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 8);
+        try {
+            deflater.setDictionary(bytes);
+            deflater.setInput(raw);
+            deflater.finish();
+
+            byte[] buffer = new byte[Math.max(64, raw.length)];
+            while (!deflater.finished()) {
+                int written = deflater.deflate(buffer);
+                out.write(buffer, 0, written);
+            }
+        } finally {
+            if (IDLE_DEFLATERS.incrementAndGet() <= MAX_IDLE) {
+                deflater.reset();
+                DEFLATERS.offer(deflater);
+            } else {
+                IDLE_DEFLATERS.decrementAndGet();
+                deflater.end();
+            }
+        }
+
+        boolean deflated = out.size() < raw.length;
+        byte[] payload = deflated ? out.toByteArray() : raw;
+        int headerSize = 1 + varIntSize(raw.length);
+
+        byte[] compressed = new byte[headerSize + payload.length];
+        compressed[0] = deflated ? DEFLATED : STORED;
+        writeVarInt(compressed, 1, raw.length);
+        System.arraycopy(payload, 0, compressed, headerSize, payload.length);
+        return compressed;
+    }
+
+    /**
+     * Restores text compressed against this dictionary.
+     *
+     * @param compressed text previously compressed with {@link #compress(String)}
+     * @return the original text
+     *
+     * @throws IllegalArgumentException if {@code compressed} wasn't compressed against this
+     * dictionary
+     */
+    public String decompress(byte[] compressed) {
+        int length = readVarInt(compressed, 1);
+        int headerSize = 1 + varIntSize(length);
+
+        if (compressed[0] == STORED) {
+            return new String(compressed, headerSize, length, StandardCharsets.UTF_8);
+        }
+
+        Inflater inflater = INFLATERS.poll();
+        if (inflater == null) {
+            inflater = new Inflater(true);
+        } else {
+            IDLE_INFLATERS.decrementAndGet();
+        }
+
+        try {
+            // Raw DEFLATE streams can't ask for their dictionary, so it's always set up front
+            inflater.setDictionary(bytes);
+            inflater.setInput(compressed, headerSize, compressed.length - headerSize);
+
+            byte[] raw = new byte[length];
+            int read = 0;
+            while (read < length) {
+                int inflated = inflater.inflate(raw, read, length - read);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                read += inflated;
+            }
+
+            if (read != length) {
+                throw new IllegalArgumentException("Compressed text is truncated");
+            }
+            return new String(raw, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Text wasn't compressed with this dictionary", e);
+        } finally {
+            if (IDLE_INFLATERS.incrementAndGet() <= MAX_IDLE) {
+                inflater.reset();
+                INFLATERS.offer(inflater);
+            } else {
+                IDLE_INFLATERS.decrementAndGet();
+                inflater.end();
+            }
+        }
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    private static void writeVarInt(byte[] dest, int offset, int value) {
+        while ((value & ~0x7F) != 0) {
+            dest[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        dest[offset] = (byte) value;
+    }
+
+    private static int readVarInt(byte[] src, int offset) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = src[offset++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import dev.jqb.onefeed.core.feed.FeedIdentifiable;
 import dev.jqb.onefeed.core.feed.FeedIdentifier;
 import dev.jqb.onefeed.core.feed.SourceInfo;
 import java.time.Instant;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -21,15 +22,24 @@ public abstract sealed class Content implements FeedIdentifiable, Comparable<Con
     permits PlatformContent, NormalizedContent
 {
 
+    /**
+     * The value of {@link #publishedMillis} while the publish time is unknown
+     */
+    private static final long UNPUBLISHED = Long.MIN_VALUE;
+
     /**
      * The origin of the content
      */
     protected SourceInfo source;
 
     /**
-     * Gets time at which the content was published.
+     * The time at which the content was published, in milliseconds since the epoch, or
+     * {@link #UNPUBLISHED} if it's unknown. Kept as a primitive since content is held by the
+     * million and compared on every aggregation.
      */
-    protected Instant published;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long publishedMillis = UNPUBLISHED;
 
     /**
      * The cursor pointing to the next page of content after {@code this} (or some equivalent means),
@@ -50,7 +60,34 @@ public abstract sealed class Content implements FeedIdentifiable, Comparable<Con
     public Content(SourceInfo source, @Nullable String nextPageCursor, Instant published) {
         this.source = source;
         this.nextPageCursor = nextPageCursor;
-        this.published = published;
+        setPublished(published);
+    }
+
+    /**
+     * Gets the time at which the content was published.
+     * @return the time at which the content was published, to the millisecond, or {@code null} if
+     * it's unknown
+     */
+    public @Nullable Instant getPublished() {
+        return publishedMillis == UNPUBLISHED ? null : Instant.ofEpochMilli(publishedMillis);
+    }
+
+    /**
+     * Sets the time at which the content was published. Anything finer than a millisecond is
+     * dropped.
+     * @param published the time at which the content was published, or {@code null} if unknown
+     */
+    public void setPublished(@Nullable Instant published) {
+        this.publishedMillis = published == null ? UNPUBLISHED : published.toEpochMilli();
+    }
+
+    /**
+     * Sets the time at which the content was published to that of another piece of content,
+     * without going through an {@link Instant}. Unknown publish times are copied as unknown.
+     * @param other the content to copy the publish time of
+     */
+    protected void copyPublished(Content other) {
+        this.publishedMillis = other.publishedMillis;
     }
 
     /**
@@ -64,7 +101,7 @@ public abstract sealed class Content implements FeedIdentifiable, Comparable<Con
      */
     @Override
     public int compareTo(Content other) {
-        return other.published.compareTo(published);
+        return Long.compare(other.publishedMillis, publishedMillis);
     }
 
     @Override
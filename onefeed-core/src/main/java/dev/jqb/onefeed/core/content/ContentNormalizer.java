@@ -1,5 +1,8 @@
 package dev.jqb.onefeed.core.content;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * A means of normalizing {@link PlatformContent} post-retrieval
  * @param <In> the type of {@link PlatformContent} to normalize
@@ -13,4 +16,22 @@ public interface ContentNormalizer<In extends PlatformContent, Out extends Norma
      * @return the {@code content}, normalized as {@link Out}
      */
     Out normalize(In content);
+
+    /**
+     * Normalizes the given batch of {@link In}, in order.
+     * </br></br>
+     * Normalizers with per-call setup worth sharing, such as building a sanitizer or Markdown
+     * renderer, should override this to do that setup once per batch. The default implementation
+     * normalizes each piece of content on its own.
+     *
+     * @param content the pieces of {@link In} to normalize
+     * @return the {@code content}, normalized as {@link Out} in the same order
+     */
+    default List<Out> normalizeAll(List<In> content) {
+        List<Out> normalized = new ArrayList<>(content.size());
+        for (In item : content) {
+            normalized.add(normalize(item));
+        }
+        return normalized;
+    }
 }
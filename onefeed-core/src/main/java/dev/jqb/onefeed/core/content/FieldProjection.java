@@ -0,0 +1,163 @@
+package dev.jqb.onefeed.core.content;
+
+import dev.jqb.onefeed.core.impl.OneFeedContent;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The optional fields of content a request actually needs, letting providers request fewer fields
+ * upstream, skip expanding media, and skip author lookups altogether
+ * </br></br>
+ * A piece of content's source, publish time, and cursor are always included, since aggregation
+ * depends on them. Unlike a provider's lite fetch mode, which is chosen once per plugin, a
+ * projection is chosen per request.
+ */
+public final class FieldProjection {
+
+    /**
+     * An optional field that may be projected
+     */
+    public enum Field {
+        /**
+         * The content's title
+         */
+        TITLE,
+
+        /**
+         * The content's body text
+         */
+        BODY,
+
+        /**
+         * The content's attached media
+         */
+        MEDIA,
+
+        /**
+         * The content's primary reaction count
+         */
+        REACTIONS,
+
+        /**
+         * The author of the content's feed, fetched separately from the content itself
+         */
+        AUTHOR
+    }
+
+    /**
+     * The projection of every field
+     */
+    public static final FieldProjection ALL = new FieldProjection(EnumSet.allOf(Field.class));
+
+    private final Set<Field> fields;
+
+    private FieldProjection(EnumSet<Field> fields) {
+        this.fields = Collections.unmodifiableSet(fields);
+    }
+
+    /**
+     * Gets the projection of the given {@code fields}.
+     * @param fields the optional fields to include
+     * @return the projection of the given fields
+     */
+    public static FieldProjection of(Set<Field> fields) {
+        if (fields.size() == Field.values().length) {
+            return ALL;
+        }
+        return new FieldProjection(fields.isEmpty() ? EnumSet.noneOf(Field.class)
+            : EnumSet.copyOf(fields));
+    }
+
+    /**
+     * Parses a projection from a comma-separated list of field names, such as
+     * {@code "title,media"}.
+     *
+     * @param fields the comma-separated, case-insensitive names of the optional fields to include,
+     *               or {@code null} or blank to include every field
+     * @return the parsed projection
+     *
+     * @throws MalformedFieldProjectionException if any name isn't a {@link Field}
+     */
+    public static FieldProjection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+
+        EnumSet<Field> parsed = EnumSet.noneOf(Field.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+
+            try {
+                parsed.add(Field.valueOf(trimmed.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new MalformedFieldProjectionException(trimmed);
+            }
+        }
+
+        return of(parsed);
+    }
+
+    /**
+     * Checks whether the given {@code field} is included.
+     * @param field the field to check
+     * @return {@code true} if the field is included
+     */
+    public boolean includes(Field field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * Checks whether every field is included, such that nothing is projected away.
+     * @return {@code true} if every field is included
+     */
+    public boolean isAll() {
+        return fields.size() == Field.values().length;
+    }
+
+    /**
+     * Gets the included fields.
+     * @return an unmodifiable view of the included fields
+     */
+    public Set<Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * Copies the given {@code content} with only the included fields, leaving the original (which
+     * may be shared, such as by a cache) untouched.
+     *
+     * @param content the content to project
+     * @return {@code content} itself if every field is included, or a projected copy otherwise
+     */
+    public OneFeedContent apply(OneFeedContent content) {
+        if (isAll()) {
+            return content;
+        }
+
+        String body = includes(Field.BODY) ? content.getBody() : null;
+        OneFeedContent projected = new OneFeedContent(content.getSource(),
+            content.getNextPageCursor(), content.getPublished(), body);
+        if (includes(Field.TITLE)) {
+            projected.setTitle(content.getTitle());
+        }
+        if (includes(Field.MEDIA)) {
+            // Media lists are unmodifiable, so the copy can share the original's
+            projected.setMedia(content.getMedia());
+        }
+        if (includes(Field.REACTIONS)) {
+            projected.setPrimaryReactionCount(content.getPrimaryReactionCount());
+        }
+
+        return projected;
+    }
+
+    @Override
+    public String toString() {
+        return fields.toString();
+    }
+}
@@ -0,0 +1,20 @@
+package dev.jqb.onefeed.core.content;
+
+import java.util.Arrays;
+
+/**
+ * Thrown when a field projection string names a field that doesn't exist
+ *
+ * @see FieldProjection#parse(String)
+ */
+public class MalformedFieldProjectionException extends RuntimeException {
+
+    /**
+     * Creates a new {@code MalformedFieldProjectionException} for the given unknown field
+     * @param unknownField the name of the field that doesn't exist
+     */
+    public MalformedFieldProjectionException(String unknownField) {
+        super(String.format("Unknown field '%s', expected one of %s", unknownField,
+            Arrays.toString(FieldProjection.Field.values()).toLowerCase()));
+    }
+}
@@ -0,0 +1,152 @@
+package dev.jqb.onefeed.core.feed;
+
+import dev.jqb.onefeed.core.content.Content;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The observed activity of a single feed, being how often it's posted to and how often it's read
+ * </br></br>
+ * Both rates are exponentially weighted moving averages, updated each time the feed is polled.
+ * Reads may be recorded from any thread at any time, and are folded into the read rate on the next
+ * poll. The first poll estimates the posting rate from the spread of the content it finds, so a
+ * feed's interval adapts from its very first poll rather than after several.
+ *
+ * @see PollingPolicy
+ */
+public class FeedActivity {
+
+    /**
+     * The weight of each new observation in the moving averages, between 0 and 1
+     */
+    private final double smoothing;
+
+    /**
+     * The reads recorded since the last poll
+     */
+    private final LongAdder pendingReads = new LongAdder();
+
+    /**
+     * The average number of posts per second, or {@code NaN} before the first poll
+     */
+    private double postRate = Double.NaN;
+
+    /**
+     * The average number of reads per second
+     */
+    private double readRate = 0;
+
+    /**
+     * The time of the last poll, or {@code null} before the first
+     */
+    private @Nullable Instant lastPolled;
+
+    /**
+     * The publish time of the newest content seen so far, or {@code null} if none has been seen
+     */
+    private @Nullable Instant newestPublished;
+
+    /**
+     * Constructs a new {@code FeedActivity}.
+     * @param smoothing the weight of each new observation in the moving averages, between 0 and 1
+     */
+    public FeedActivity(double smoothing) {
+        if (!(smoothing > 0 && smoothing <= 1)) {
+            throw new IllegalArgumentException("Smoothing must be in (0, 1]");
+        }
+        this.smoothing = smoothing;
+    }
+
+    /**
+     * Records that the feed was read by a client.
+     */
+    public void recordRead() {
+        pendingReads.increment();
+    }
+
+    /**
+     * Records the outcome of a poll, updating the feed's rates.
+     * </br></br>
+     * Content whose publish time is unknown can't be placed relative to earlier polls, so it's
+     * left out of the posting rate.
+     *
+     * @param content the content the poll found, in any order
+     * @param now the time the poll completed
+     * @return the amount of content published since the previous poll's newest content
+     */
+    public synchronized int recordPoll(List<? extends Content> content, Instant now) {
+        Instant previousNewest = newestPublished;
+        Instant oldest = null;
+        int newContent = 0;
+        int dated = 0;
+
+        for (Content item : content) {
+            Instant published = item.getPublished();
+            if (published == null) {
+                continue;
+            }
+
+            dated++;
+            if (previousNewest == null || published.isAfter(previousNewest)) {
+                newContent++;
+            }
+            if (newestPublished == null || published.isAfter(newestPublished)) {
+                newestPublished = published;
+            }
+            if (oldest == null || published.isBefore(oldest)) {
+                oldest = published;
+            }
+        }
+
+        long reads = pendingReads.sumThenReset();
+        if (lastPolled == null) {
+            // With nothing to compare against, the spread of the content itself is the best guess
+            postRate = dated < 2 ? 0 : ratePer(dated - 1,
+                Duration.between(oldest, newestPublished));
+            readRate = 0;
+        } else {
+            Duration elapsed = Duration.between(lastPolled, now);
+            postRate = average(postRate, ratePer(newContent, elapsed));
+            readRate = average(readRate, ratePer(reads, elapsed));
+        }
+
+        lastPolled = now;
+        return newContent;
+    }
+
+    /**
+     * Checks whether the feed has been polled yet.
+     * @return {@code true} if the feed has been polled at least once
+     */
+    public synchronized boolean hasBeenPolled() {
+        return lastPolled != null;
+    }
+
+    /**
+     * Gets the average number of posts per second.
+     * @return the average number of posts per second, or {@code NaN} before the first poll
+     */
+    public synchronized double getPostRate() {
+        return postRate;
+    }
+
+    /**
+     * Gets the average number of reads per second.
+     * @return the average number of reads per second
+     */
+    public synchronized double getReadRate() {
+        return readRate;
+    }
+
+    private double average(double current, double observed) {
+        return smoothing * observed + (1 - smoothing) * current;
+    }
+
+    private static double ratePer(long count, Duration duration) {
+        double seconds = duration.toNanos() / 1e9;
+        return seconds <= 0 ? 0 : count / seconds;
+    }
+}
@@ -2,31 +2,58 @@ package dev.jqb.onefeed.core.feed;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
-import lombok.EqualsAndHashCode;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
 import lombok.ToString;
+import org.jspecify.annotations.Nullable;
 
 /**
  * A means of identifying a single feed of content
+ * </br></br>
+ * The IDs of registered feeds are interned with {@link #intern(String, String)}. Identifiers of a
+ * feed that's been interned, including those of every piece of content on it, share the interned
+ * ID's strings and id string rather than holding copies of their own, and parsing the id string of
+ * an interned feed returns the interned ID itself.
  */
 @Getter
-@Setter
-@ToString
-@NoArgsConstructor
-@EqualsAndHashCode
+@ToString(of = {"providerId", "feedName"})
 public class FeedIdentifier {
 
+    /**
+     * The interned IDs, by provider ID, then feed name
+     */
+    private static final Map<String, Map<String, FeedIdentifier>> interned =
+        new ConcurrentHashMap<>();
+
+    /**
+     * The interned IDs, by id string
+     */
+    private static final Map<String, FeedIdentifier> internedByIdString =
+        new ConcurrentHashMap<>();
+
     /**
      * The unique identifier of the provider plugin exposing the feed
      */
-    private String providerId;
+    private final String providerId;
 
     /**
      * The name of the feed as exposed by the provider
      */
-    private String feedName;
+    private final String feedName;
+
+    /**
+     * The id string, or {@code null} until first needed if the feed hasn't been interned
+     */
+    @Getter(AccessLevel.NONE)
+    private @Nullable String idString;
+
+    /**
+     * The hash code, computed up front since IDs are mostly used as keys
+     */
+    @Getter(AccessLevel.NONE)
+    private final int hash;
 
     /**
      * Constructs a new {@code FeedIdentifier} for the given provider and feed name.
@@ -34,8 +61,66 @@ public class FeedIdentifier {
      * @param feedName the name of the feed as exposed by the provider
      */
     public FeedIdentifier(String providerId, String feedName) {
+        FeedIdentifier canonical = findInterned(providerId, feedName);
+        if (canonical != null) {
+            this.providerId = canonical.providerId;
+            this.feedName = canonical.feedName;
+            this.idString = canonical.idString;
+            this.hash = canonical.hash;
+        } else {
+            this.providerId = providerId;
+            this.feedName = feedName;
+            this.hash = 31 * providerId.hashCode() + feedName.hashCode();
+        }
+    }
+
+    /**
+     * Constructs the interned {@code FeedIdentifier} for the given provider and feed name.
+     *
+     * @param providerId the unique identifier of the provider plugin exposing the feed
+     * @param feedName the name of the feed as exposed by the provider
+     * @param idString the id string of the feed
+     */
+    private FeedIdentifier(String providerId, String feedName, String idString) {
         this.providerId = providerId;
         this.feedName = feedName;
+        this.idString = idString;
+        this.hash = 31 * providerId.hashCode() + feedName.hashCode();
+    }
+
+    /**
+     * Gets the interned ID of the given feed, interning one first if there isn't one yet.
+     * </br></br>
+     * Interned IDs are never released. Only the IDs of registered feeds should be interned, so the
+     * pool stays as small as the number of feeds ever registered.
+     *
+     * @param providerId the unique identifier of the provider plugin exposing the feed
+     * @param feedName the name of the feed as exposed by the provider
+     * @return the interned ID of the feed
+     */
+    public static FeedIdentifier intern(String providerId, String feedName) {
+        FeedIdentifier canonical = findInterned(providerId, feedName);
+        if (canonical != null) {
+            return canonical;
+        }
+
+        canonical = interned.computeIfAbsent(providerId, k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(feedName,
+                k -> new FeedIdentifier(providerId, feedName, providerId + ":" + feedName));
+        internedByIdString.putIfAbsent(canonical.idString, canonical);
+        return canonical;
+    }
+
+    /**
+     * Gets the interned ID of the given feed, if there is one.
+     *
+     * @param providerId the unique identifier of the provider plugin exposing the feed
+     * @param feedName the name of the feed as exposed by the provider
+     * @return the interned ID of the feed, or {@code null} if it hasn't been interned
+     */
+    private static @Nullable FeedIdentifier findInterned(String providerId, String feedName) {
+        Map<String, FeedIdentifier> providerIds = interned.get(providerId);
+        return providerIds == null ? null : providerIds.get(feedName);
     }
 
     /**
@@ -44,24 +129,54 @@ public class FeedIdentifier {
      */
     @JsonValue
     public String toIdString() {
-        return providerId + ":" + feedName;
+        String id = idString;
+        if (id == null) {
+            // Racing threads build equal strings, so either may win
+            id = providerId + ":" + feedName;
+            idString = id;
+        }
+        return id;
     }
 
     /**
      * Converts a string of format {@code <}{@link #providerId}{@code >:<}{@link #feedName}{@code >}
      * into a {@code FeedIdentifier} object.
      * @param idString the string to convert
-     * @return a {@code FeedIdentifier} object representing the given string
+     * @return a {@code FeedIdentifier} object representing the given string, which is the interned
+     * ID if the feed has been interned
      */
     @JsonCreator
     public static FeedIdentifier fromIdString(String idString) {
-        String[] parts = idString.split(":");
+        FeedIdentifier canonical = internedByIdString.get(idString);
+        if (canonical != null) {
+            return canonical;
+        }
 
-        if (parts.length != 2) {
-            String reason = String.format("Expected 2 ':'-separated parts. Found %d.", parts.length);
+        int separator = idString.indexOf(':');
+        if (separator < 0 || idString.indexOf(':', separator + 1) >= 0) {
+            int parts = (int) idString.chars().filter(c -> c == ':').count() + 1;
+            String reason = String.format("Expected 2 ':'-separated parts. Found %d.", parts);
             throw new MalformedFeedIdException(idString, reason);
         }
 
-        return new FeedIdentifier(parts[0], parts[1]);
+        return new FeedIdentifier(idString.substring(0, separator),
+            idString.substring(separator + 1));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        return o instanceof FeedIdentifier other
+            && hash == other.hash
+            && providerId.equals(other.providerId)
+            && feedName.equals(other.feedName);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
     }
 }
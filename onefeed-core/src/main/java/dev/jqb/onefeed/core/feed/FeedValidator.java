@@ -0,0 +1,65 @@
+package dev.jqb.onefeed.core.feed;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * What a provider last knew of a feed's head, letting it ask its upstream API for the feed only if
+ * it has changed since
+ * </br></br>
+ * Providers fill in whichever validators their platform supports: HTTP's {@code ETag} and
+ * {@code Last-Modified}, or for APIs without conditional requests, the ID of the newest content
+ * seen, which can be checked against a cheap single-item fetch.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class FeedValidator {
+
+    /**
+     * The entity tag the upstream API last returned for the feed, sent back as
+     * {@code If-None-Match}
+     */
+    @Nullable
+    private final String etag;
+
+    /**
+     * The {@code Last-Modified} value the upstream API last returned for the feed, sent back
+     * verbatim as {@code If-Modified-Since}
+     */
+    @Nullable
+    private final String lastModified;
+
+    /**
+     * The platform ID of the newest content last fetched from the feed
+     */
+    @Nullable
+    private final String newestIdSeen;
+
+    /**
+     * Constructs a new {@code FeedValidator}. Any validator the platform doesn't support may be
+     * {@code null}.
+     *
+     * @param etag the entity tag the upstream API last returned for the feed
+     * @param lastModified the {@code Last-Modified} value the upstream API last returned for the
+     *                     feed
+     * @param newestIdSeen the platform ID of the newest content last fetched from the feed
+     */
+    public FeedValidator(@Nullable String etag, @Nullable String lastModified,
+        @Nullable String newestIdSeen
+    ) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.newestIdSeen = newestIdSeen;
+    }
+
+    /**
+     * Checks whether there's anything to validate against.
+     * @return {@code true} if every validator is {@code null}
+     */
+    public boolean isEmpty() {
+        return etag == null && lastModified == null && newestIdSeen == null;
+    }
+}
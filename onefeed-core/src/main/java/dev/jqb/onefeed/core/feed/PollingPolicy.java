@@ -0,0 +1,90 @@
+package dev.jqb.onefeed.core.feed;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Decides how long to wait before polling a feed again, based on its {@link FeedActivity}
+ * </br></br>
+ * A feed's interval is the geometric mean of its average time between posts and its average time
+ * between reads, so polling speeds up only when a feed is both busy and popular. Feeds that are
+ * dormant or unread drift toward the max interval, while feeds with live subscribers are treated
+ * as read continuously. Intervals are jittered so feeds that settle on the same interval don't
+ * poll in lockstep.
+ */
+public class PollingPolicy {
+
+    private final Duration minInterval;
+    private final Duration maxInterval;
+    private final Duration initialInterval;
+    private final double jitter;
+
+    /**
+     * Constructs a new {@code PollingPolicy}.
+     *
+     * @param minInterval the shortest a feed may wait between polls
+     * @param maxInterval the longest a feed may wait between polls
+     * @param initialInterval how long to wait before polling a feed that hasn't been polled yet
+     * @param jitter the most an interval may be randomly stretched or shrunk by, as a fraction of
+     *               the interval between 0 and 1
+     */
+    public PollingPolicy(Duration minInterval, Duration maxInterval, Duration initialInterval,
+        double jitter
+    ) {
+        if (minInterval.isNegative() || minInterval.isZero()
+            || maxInterval.compareTo(minInterval) < 0
+        ) {
+            throw new IllegalArgumentException(
+                "Intervals must be positive, with the max no shorter than the min");
+        }
+        if (jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("Jitter must be between 0 and 1");
+        }
+
+        this.minInterval = minInterval;
+        this.maxInterval = maxInterval;
+        this.initialInterval = initialInterval;
+        this.jitter = jitter;
+    }
+
+    /**
+     * Decides how long to wait before polling a feed again.
+     *
+     * @param activity the feed's observed activity
+     * @param liveSubscribers whether anyone is subscribed to the feed's new content as it arrives
+     * @param random the source of jitter
+     * @return how long to wait before the next poll
+     */
+    public Duration nextInterval(FeedActivity activity, boolean liveSubscribers,
+        RandomGenerator random
+    ) {
+        double seconds;
+        if (!activity.hasBeenPolled()) {
+            seconds = toSeconds(initialInterval);
+        } else {
+            double postInterval = intervalOf(activity.getPostRate());
+            double readInterval = liveSubscribers
+                ? toSeconds(minInterval)
+                : intervalOf(activity.getReadRate());
+            seconds = Math.sqrt(postInterval * readInterval);
+        }
+
+        seconds *= 1 + jitter * (2 * random.nextDouble() - 1);
+        seconds = Math.clamp(seconds, toSeconds(minInterval), toSeconds(maxInterval));
+        return Duration.ofNanos((long) (seconds * 1e9));
+    }
+
+    /**
+     * Gets the average time between events occurring at the given rate.
+     * @param ratePerSecond the rate of events
+     * @return the average seconds between events, capped at the max interval
+     */
+    private double intervalOf(double ratePerSecond) {
+        double max = toSeconds(maxInterval);
+        return ratePerSecond > 0 ? Math.min(1 / ratePerSecond, max) : max;
+    }
+
+    private static double toSeconds(Duration duration) {
+        return duration.toNanos() / 1e9;
+    }
+}
@@ -0,0 +1,96 @@
+package dev.jqb.onefeed.core.http;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The tuning of the HTTP clients handed to provider plugins, shared by every plugin
+ *
+ * @see HttpClientFactory
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class HttpClientConfig {
+
+    /**
+     * The most connections open to a single host at once, across all plugins
+     */
+    private int maxConnectionsPerHost = 50;
+
+    /**
+     * Overrides of {@link #maxConnectionsPerHost} for specific hosts, keyed by hostname
+     */
+    private Map<String, Integer> hostMaxConnections = new HashMap<>();
+
+    /**
+     * The most requests that may wait for a connection to a single host before being refused
+     */
+    private int maxPendingAcquires = 500;
+
+    /**
+     * The longest a request may wait for a connection before failing
+     */
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+
+    /**
+     * The longest a pooled connection may sit idle before being closed
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    /**
+     * The longest a pooled connection may live before being closed, so DNS changes are picked up
+     */
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+
+    /**
+     * How often idle and expired connections are evicted from the pool in the background
+     */
+    private Duration evictionInterval = Duration.ofSeconds(30);
+
+    /**
+     * The longest establishing a connection may take
+     */
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    /**
+     * The longest to wait for a response after sending a request
+     */
+    private Duration responseTimeout = Duration.ofSeconds(15);
+
+    /**
+     * The largest response body accepted, in bytes, after decompression
+     */
+    private long maxResponseBytes = 10 * 1024 * 1024;
+
+    /**
+     * Whether to negotiate HTTP/2 with hosts that support it, multiplexing requests over fewer
+     * connections
+     */
+    private boolean http2 = true;
+
+    /**
+     * Whether to request and transparently decompress gzip/deflate responses
+     */
+    private boolean compress = true;
+
+    /**
+     * Whether to keep connections alive between requests
+     */
+    private boolean keepAlive = true;
+
+    /**
+     * The longest a DNS lookup may be cached for
+     */
+    private Duration dnsCacheMaxTtl = Duration.ofMinutes(5);
+
+    /**
+     * Whether to record connection pool and request metrics, which requires Micrometer to be
+     * present
+     */
+    private boolean metrics = false;
+}
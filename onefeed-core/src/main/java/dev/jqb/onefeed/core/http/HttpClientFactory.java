@@ -0,0 +1,109 @@
+package dev.jqb.onefeed.core.http;
+
+import io.netty.channel.ChannelOption;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Creates the reactive HTTP clients provider plugins use to reach their upstream APIs, all sharing
+ * a single, tuned connection pool owned by the server
+ * </br></br>
+ * Sharing the pool means per-host connection limits hold across every plugin calling the same
+ * host, connections are reused across plugins, and the server can monitor and close every
+ * outbound connection in one place. Every client negotiates HTTP/2 where supported, keeps
+ * connections alive, transparently decompresses responses, and refuses responses larger than the
+ * configured cap.
+ */
+public class HttpClientFactory implements AutoCloseable {
+
+    private static final int HTTPS_PORT = 443;
+
+    /**
+     * The tuning every client is created with
+     */
+    private final HttpClientConfig config;
+
+    /**
+     * The connection pool shared by every client
+     */
+    private final ConnectionProvider connectionProvider;
+
+    /**
+     * The client created for each name, so repeat requests for the same name share one client
+     */
+    private final ConcurrentHashMap<String, HttpClient> clients = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new {@code HttpClientFactory} and its connection pool.
+     * @param config the tuning every client is created with
+     */
+    public HttpClientFactory(HttpClientConfig config) {
+        this.config = config;
+
+        ConnectionProvider.Builder pool = ConnectionProvider.builder("onefeed")
+            .maxConnections(config.getMaxConnectionsPerHost())
+            .pendingAcquireMaxCount(config.getMaxPendingAcquires())
+            .pendingAcquireTimeout(config.getPendingAcquireTimeout())
+            .maxIdleTime(config.getMaxIdleTime())
+            .maxLifeTime(config.getMaxLifeTime())
+            .evictInBackground(config.getEvictionInterval())
+            .metrics(config.isMetrics());
+
+        for (Map.Entry<String, Integer> host : config.getHostMaxConnections().entrySet()) {
+            pool.forRemoteHost(InetSocketAddress.createUnresolved(host.getKey(), HTTPS_PORT),
+                spec -> spec.maxConnections(host.getValue()));
+        }
+
+        this.connectionProvider = pool.build();
+    }
+
+    /**
+     * Gets the HTTP client for the given {@code name}, creating it if needed.
+     *
+     * @param name the name of the client, such as the ID of the plugin using it, which tags its
+     *             metrics
+     * @return the HTTP client for the given name
+     */
+    public HttpClient getClient(String name) {
+        return clients.computeIfAbsent(name, this::createClient);
+    }
+
+    /**
+     * Closes every connection in the shared pool. Clients created by this factory can't be used
+     * afterward.
+     */
+    @Override
+    public void close() {
+        connectionProvider.dispose();
+    }
+
+    private HttpClient createClient(String name) {
+        HttpClient client = HttpClient.create(connectionProvider)
+            .protocol(config.isHttp2()
+                ? new HttpProtocol[] {HttpProtocol.H2, HttpProtocol.HTTP11}
+                : new HttpProtocol[] {HttpProtocol.HTTP11})
+            .keepAlive(config.isKeepAlive())
+            .compress(config.isCompress())
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                (int) config.getConnectTimeout().toMillis())
+            .responseTimeout(config.getResponseTimeout())
+            .resolver(spec -> spec.cacheMaxTimeToLive(config.getDnsCacheMaxTtl()))
+            .doOnConnected(connection -> {
+                if (connection.channel().pipeline().get(ResponseSizeLimiter.NAME) == null) {
+                    connection.addHandlerLast(ResponseSizeLimiter.NAME,
+                        new ResponseSizeLimiter(config.getMaxResponseBytes()));
+                }
+            });
+
+        if (config.isMetrics()) {
+            // Tag by client rather than URI, since URIs carry IDs that would explode cardinality
+            client = client.metrics(true, uri -> name);
+        }
+
+        return client;
+    }
+}
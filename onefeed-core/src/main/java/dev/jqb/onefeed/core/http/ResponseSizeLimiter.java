@@ -0,0 +1,55 @@
+package dev.jqb.onefeed.core.http;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * A channel handler that fails any HTTP response whose body grows past a size limit, so a
+ * misbehaving upstream API can't exhaust OneFeed's memory
+ * </br></br>
+ * Placed after decompression, so the limit applies to the decompressed body.
+ */
+class ResponseSizeLimiter extends ChannelInboundHandlerAdapter {
+
+    /**
+     * The name the handler is added to the pipeline under
+     */
+    static final String NAME = "onefeed.responseSizeLimiter";
+
+    private final long maxBytes;
+    private long receivedBytes;
+    private boolean exceeded;
+
+    ResponseSizeLimiter(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof HttpResponse) {
+            receivedBytes = 0;
+            exceeded = false;
+        }
+
+        if (exceeded) {
+            ReferenceCountUtil.release(msg);
+            return;
+        }
+
+        if (msg instanceof HttpContent content) {
+            receivedBytes += content.content().readableBytes();
+            if (receivedBytes > maxBytes) {
+                exceeded = true;
+                ReferenceCountUtil.release(msg);
+                ctx.fireExceptionCaught(new ResponseTooLargeException(maxBytes));
+                ctx.close();
+                return;
+            }
+        }
+
+        ctx.fireChannelRead(msg);
+    }
+}
@@ -0,0 +1,16 @@
+package dev.jqb.onefeed.core.http;
+
+/**
+ * Thrown when an HTTP response's body exceeds the size a {@link HttpClientFactory}'s clients
+ * accept
+ */
+public class ResponseTooLargeException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code ResponseTooLargeException}.
+     * @param maxBytes the largest response body accepted, in bytes
+     */
+    public ResponseTooLargeException(long maxBytes) {
+        super("Response body exceeded the limit of " + maxBytes + " bytes");
+    }
+}
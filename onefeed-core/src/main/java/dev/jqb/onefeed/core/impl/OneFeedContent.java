@@ -5,6 +5,7 @@ import dev.jqb.onefeed.core.content.NormalizedContent;
 import dev.jqb.onefeed.core.feed.SourceInfo;
 import java.time.Instant;
 import java.util.List;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -41,7 +42,8 @@ public class OneFeedContent extends NormalizedContent {
      * presentation or priority (high/first to low/last)
      */
     @JsonInclude(JsonInclude.Include.NON_NULL)
-    private List<Media> media;
+    @Setter(AccessLevel.NONE)
+    private @Nullable List<Media> media;
 
     /**
      * The quantity of whatever reaction type is primary on the source platform, the semantics of
@@ -50,6 +52,17 @@ public class OneFeedContent extends NormalizedContent {
     @JsonInclude(JsonInclude.Include.NON_NULL)
     private int primaryReactionCount;
 
+    /**
+     * Sets the attached media. The list is copied into an unmodifiable one sized to fit, and having
+     * no media is stored as {@code null} rather than as an empty list.
+     *
+     * @param media any attached media, in their desired order of presentation or priority
+     *              (high/first to low/last)
+     */
+    public void setMedia(@Nullable List<Media> media) {
+        this.media = media == null || media.isEmpty() ? null : List.copyOf(media);
+    }
+
     /**
      * Constructs a piece of {@code OneFeedContent} attributed to a {@code source} and
      * created/published at the given time.
@@ -83,7 +96,7 @@ public class OneFeedContent extends NormalizedContent {
         List<Media> media
     ) {
         super(source, nextPageCursor, published);
-        this.media = media;
+        setMedia(media);
     }
 
     /**
@@ -104,6 +117,6 @@ public class OneFeedContent extends NormalizedContent {
     ) {
         super(source, nextPageCursor, published);
         this.body = body;
-        this.media = media;
+        setMedia(media);
     }
 }
@@ -1,9 +1,14 @@
 package dev.jqb.onefeed.core.plugin;
 
+import java.time.Duration;
 import lombok.Getter;
 
 /**
  * A task to perform on a cron schedule
+ * </br></br>
+ * An execution is skipped if the previous one is still running when it comes due. Tasks that many
+ * instances or plugins run on the same schedule can be given a jitter, delaying each execution by
+ * a random amount up to it so they don't all start at once.
  */
 @Getter
 public final class CronTask extends ScheduledTask {
@@ -13,6 +18,11 @@ public final class CronTask extends ScheduledTask {
      */
     private String cronExpression;
 
+    /**
+     * The most each execution of the task is randomly delayed by
+     */
+    private final Duration jitter;
+
     /**
      * Creates a new runnable task to execute on the given cron schedule.
      *
@@ -21,7 +31,21 @@ public final class CronTask extends ScheduledTask {
      * @param cronExpression the cron schedule to run the task on
      */
     public CronTask(Runnable task, String name, String cronExpression) {
+        this(task, name, cronExpression, Duration.ZERO);
+    }
+
+    /**
+     * Creates a new runnable task to execute on the given cron schedule, with each execution
+     * randomly delayed by up to the given {@code jitter}.
+     *
+     * @param task the task to execute
+     * @param name the human-friendly name of the task
+     * @param cronExpression the cron schedule to run the task on
+     * @param jitter the most each execution of the task is randomly delayed by
+     */
+    public CronTask(Runnable task, String name, String cronExpression, Duration jitter) {
         super(task, name);
         this.cronExpression = cronExpression;
+        this.jitter = jitter;
     }
 }
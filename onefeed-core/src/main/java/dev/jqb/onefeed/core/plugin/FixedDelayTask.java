@@ -5,12 +5,15 @@ import lombok.Getter;
 
 /**
  * A task to perform at a fixed delay
+ * </br></br>
+ * The task first executes as soon as it's scheduled, and each later execution follows the end of
+ * the one before by the delay, so executions never overlap however long they take.
  */
 @Getter
 public final class FixedDelayTask extends ScheduledTask {
 
     /**
-     * The delay between each execution of the task
+     * The delay between the end of each execution of the task and the start of the next
      */
     private final Duration delay;
 
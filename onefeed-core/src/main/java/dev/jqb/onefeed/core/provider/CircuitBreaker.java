@@ -0,0 +1,224 @@
+package dev.jqb.onefeed.core.provider;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * A circuit breaker that stops calls to a failing provider for a while, rather than letting every
+ * call wait out the failure
+ * </br></br>
+ * While {@link State#CLOSED}, every call is permitted and its outcome recorded in a sliding window
+ * of the most recent calls. Once enough calls have been made and the window's failure rate crosses
+ * the threshold, the circuit {@link State#OPEN}s and refuses every call. After the open duration,
+ * the circuit goes {@link State#HALF_OPEN} and lets through a single probe call at a time, no more
+ * often than the probe interval. Enough consecutive successful probes close the circuit, while any
+ * failed probe opens it again.
+ */
+public class CircuitBreaker {
+
+    /**
+     * The state of a {@link CircuitBreaker}
+     */
+    public enum State {
+        /**
+         * Calls are permitted and their outcomes measured
+         */
+        CLOSED,
+
+        /**
+         * Calls are refused
+         */
+        OPEN,
+
+        /**
+         * Occasional probe calls are permitted to test for recovery, while the rest are refused
+         */
+        HALF_OPEN
+    }
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final long probeIntervalNanos;
+    private final int probesToClose;
+    private final LongSupplier nanoClock;
+
+    /**
+     * The outcomes of the most recent calls, as a ring buffer where {@code true} is a failure
+     */
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private long lastProbeAtNanos;
+    private boolean probeInFlight;
+    private int successfulProbes;
+    private long openCount;
+
+    /**
+     * Constructs a new, closed {@code CircuitBreaker} from the given {@code config}.
+     * @param config when to open the circuit and how to recover
+     */
+    public CircuitBreaker(CircuitBreakerConfig config) {
+        this(config, System::nanoTime);
+    }
+
+    /**
+     * Constructs a new, closed {@code CircuitBreaker} from the given {@code config}.
+     *
+     * @param config when to open the circuit and how to recover
+     * @param nanoClock the monotonic clock to measure time with, in nanoseconds
+     */
+    public CircuitBreaker(CircuitBreakerConfig config, LongSupplier nanoClock) {
+        if (config.getWindowSize() < 1 || config.getProbesToClose() < 1) {
+            throw new IllegalArgumentException("Window size and probes to close must be positive");
+        }
+
+        this.window = new boolean[config.getWindowSize()];
+        this.minimumCalls = Math.min(Math.max(1, config.getMinimumCalls()), window.length);
+        this.failureRateThreshold = config.getFailureRateThreshold();
+        this.openNanos = config.getOpenDuration().toNanos();
+        this.probeIntervalNanos = config.getProbeInterval().toNanos();
+        this.probesToClose = config.getProbesToClose();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Asks to make a call, which must be followed by exactly one of {@link #onSuccess()},
+     * {@link #onFailure()}, or {@link #onCancel()} if permitted.
+     *
+     * @return {@code true} if the call may be made
+     */
+    public synchronized boolean tryAcquire() {
+        long now = nanoClock.getAsLong();
+        if (state == State.OPEN && now - openedAtNanos >= openNanos) {
+            state = State.HALF_OPEN;
+            successfulProbes = 0;
+            lastProbeAtNanos = now - probeIntervalNanos;
+        }
+
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (probeInFlight || now - lastProbeAtNanos < probeIntervalNanos) {
+                    yield false;
+                }
+                probeInFlight = true;
+                lastProbeAtNanos = now;
+                yield true;
+            }
+        };
+    }
+
+    /**
+     * Records a permitted call having succeeded.
+     */
+    public synchronized void onSuccess() {
+        switch (state) {
+            case CLOSED -> record(false);
+            case HALF_OPEN -> {
+                // Calls permitted before the circuit opened may still be finishing
+                if (!probeInFlight) {
+                    return;
+                }
+                probeInFlight = false;
+                if (++successfulProbes >= probesToClose) {
+                    state = State.CLOSED;
+                    resetWindow();
+                }
+            }
+            case OPEN -> { }
+        }
+    }
+
+    /**
+     * Records a permitted call having failed.
+     */
+    public synchronized void onFailure() {
+        switch (state) {
+            case CLOSED -> {
+                record(true);
+                if (windowCalls >= minimumCalls
+                    && (double) windowFailures / windowCalls >= failureRateThreshold
+                ) {
+                    open();
+                }
+            }
+            case HALF_OPEN -> {
+                if (!probeInFlight) {
+                    return;
+                }
+                probeInFlight = false;
+                open();
+            }
+            case OPEN -> { }
+        }
+    }
+
+    /**
+     * Records a permitted call having been cancelled before finishing, which says nothing about
+     * the provider's health.
+     */
+    public synchronized void onCancel() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    /**
+     * Gets the current state of the circuit.
+     * @return the current state of the circuit
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Gets the failure rate of the calls in the current window.
+     * @return the fraction of failed calls in the window, or {@code 0} if it's empty
+     */
+    public synchronized double getFailureRate() {
+        return windowCalls == 0 ? 0 : (double) windowFailures / windowCalls;
+    }
+
+    /**
+     * Gets the number of times the circuit has opened.
+     * @return the number of times the circuit has opened
+     */
+    public synchronized long getOpenCount() {
+        return openCount;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAtNanos = nanoClock.getAsLong();
+        openCount++;
+    }
+
+    private void record(boolean failed) {
+        if (windowCalls == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+
+        window[windowIndex] = failed;
+        if (failed) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void resetWindow() {
+        Arrays.fill(window, false);
+        windowIndex = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+    }
+}
@@ -0,0 +1,60 @@
+package dev.jqb.onefeed.core.provider;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * When to stop calling a provider plugin's upstream API after it starts failing, and how to
+ * recover once it's healthy again
+ *
+ * @see CircuitBreaker
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class CircuitBreakerConfig {
+
+    /**
+     * Whether to break the circuit on failures at all
+     */
+    private boolean enabled = false;
+
+    /**
+     * The number of most recent calls the failure rate is measured over
+     */
+    private int windowSize = 20;
+
+    /**
+     * The fewest calls in the window before the failure rate is trusted enough to open the circuit
+     */
+    private int minimumCalls = 10;
+
+    /**
+     * The fraction of failed calls in the window, from 0 to 1, at which the circuit opens
+     */
+    private double failureRateThreshold = 0.5;
+
+    /**
+     * How long the circuit stays open before probing whether the provider has recovered, as an
+     * ISO-8601 duration
+     */
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    /**
+     * The least time between recovery probes while half-open, as an ISO-8601 duration
+     */
+    private Duration probeInterval = Duration.ofSeconds(5);
+
+    /**
+     * The number of consecutive successful probes needed to close the circuit again
+     */
+    private int probesToClose = 3;
+
+    /**
+     * The longest a single call may take, from being made until its last item arrives, before
+     * counting as a failure, as an ISO-8601 duration
+     */
+    private Duration callTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,222 @@
+package dev.jqb.onefeed.core.provider;
+
+import dev.jqb.onefeed.core.author.AuthorNormalizer;
+import dev.jqb.onefeed.core.author.PlatformAuthor;
+import dev.jqb.onefeed.core.content.ContentNormalizer;
+import dev.jqb.onefeed.core.content.FieldProjection;
+import dev.jqb.onefeed.core.content.PlatformContent;
+import dev.jqb.onefeed.core.content.PlatformCursor;
+import dev.jqb.onefeed.core.feed.FeedValidator;
+import dev.jqb.onefeed.core.impl.OneFeedAuthor;
+import dev.jqb.onefeed.core.impl.OneFeedContent;
+import java.time.Duration;
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@link Provider} wrapper that guards every upstream request with a {@link CircuitBreaker}
+ * </br></br>
+ * Requests refused by the breaker fail immediately with a {@link CircuitOpenException}, so callers
+ * can fall back to cached content instead of waiting on a provider that's known to be failing.
+ * Requests that error or outlast the call timeout count as failures, except for being rate
+ * limited, which says nothing of the provider's health. The call timeout is a deadline on the
+ * whole request, from being made until its last item arrives, so a provider trickling items
+ * in can't hold a request open indefinitely.
+ *
+ * @param <C> the type of {@link PlatformContent} DTO that the provider produces
+ * @param <A> the type of {@link PlatformAuthor} DTO that the provider produces
+ */
+public class CircuitBreakingProvider<C extends PlatformContent, A extends PlatformAuthor>
+    implements Provider<C, A>
+{
+
+    /**
+     * The provider being guarded
+     */
+    private final Provider<C, A> delegate;
+
+    /**
+     * The breaker deciding whether requests may be made
+     */
+    private final CircuitBreaker breaker;
+
+    /**
+     * The longest a single request may take, from being made until its last item arrives, before
+     * counting as a failure
+     */
+    private final Duration callTimeout;
+
+    /**
+     * Constructs a new {@code CircuitBreakingProvider}.
+     *
+     * @param delegate the provider to guard
+     * @param breaker the breaker deciding whether requests may be made
+     * @param callTimeout the longest a single request may take before counting as a failure
+     */
+    public CircuitBreakingProvider(Provider<C, A> delegate, CircuitBreaker breaker,
+        Duration callTimeout
+    ) {
+        this.delegate = delegate;
+        this.breaker = breaker;
+        this.callTimeout = callTimeout;
+    }
+
+    /**
+     * Gets the provider being guarded.
+     * @return the provider being guarded
+     */
+    public Provider<C, A> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Gets the breaker deciding whether requests may be made.
+     * @return the breaker deciding whether requests may be made
+     */
+    public CircuitBreaker getBreaker() {
+        return breaker;
+    }
+
+    @Override
+    public Flux<C> fetchRecentContent(String feedName, int amount) {
+        return guard(feedName, Flux.defer(() -> delegate.fetchRecentContent(feedName, amount)));
+    }
+
+    @Override
+    public Flux<C> fetchRecentContent(String feedName, int amount, PlatformCursor cursor) {
+        return guard(feedName,
+            Flux.defer(() -> delegate.fetchRecentContent(feedName, amount, cursor)));
+    }
+
+    @Override
+    public Flux<C> fetchRecentContent(String feedName, int amount, FieldProjection projection) {
+        return guard(feedName,
+            Flux.defer(() -> delegate.fetchRecentContent(feedName, amount, projection)));
+    }
+
+    @Override
+    public Flux<C> fetchRecentContent(String feedName, int amount, PlatformCursor cursor,
+        FieldProjection projection
+    ) {
+        return guard(feedName,
+            Flux.defer(() -> delegate.fetchRecentContent(feedName, amount, cursor, projection)));
+    }
+
+    @Override
+    public Mono<ConditionalFetch<C>> fetchRecentContentIfModified(String feedName, int amount,
+        @Nullable FeedValidator validator
+    ) {
+        return Mono.defer(() -> {
+            if (!breaker.tryAcquire()) {
+                return Mono.error(refused(feedName));
+            }
+
+            // The content arrives after the result, but within the same deadline
+            Mono<Long> deadline = deadline();
+            return delegate.fetchRecentContentIfModified(feedName, amount, validator)
+                .timeout(deadline)
+                .map(result -> {
+                    if (result.isNotModified()) {
+                        breaker.onSuccess();
+                        return result;
+                    }
+                    return result.mapContent(content -> record(within(deadline, content)));
+                })
+                .doOnError(this::recordError)
+                .doOnCancel(breaker::onCancel);
+        });
+    }
+
+    @Override
+    public Mono<A> fetchAuthor(String feedName) {
+        return guard(feedName, Flux.defer(() -> delegate.fetchAuthor(feedName))).singleOrEmpty();
+    }
+
+    @Override
+    public ContentNormalizer<C, OneFeedContent> getContentNormalizer() {
+        return delegate.getContentNormalizer();
+    }
+
+    @Override
+    public AuthorNormalizer<A, OneFeedAuthor> getAuthorNormalizer() {
+        return delegate.getAuthorNormalizer();
+    }
+
+    @Override
+    public Platform getPlatformInfo() {
+        return delegate.getPlatformInfo();
+    }
+
+    @Override
+    public <T> @Nullable T unwrap(Class<T> type) {
+        return type.isInstance(this) ? type.cast(this) : delegate.unwrap(type);
+    }
+
+    /**
+     * Makes the given {@code request} only if the breaker permits it, recording its outcome.
+     *
+     * @param feedName the name of the feed the request is for
+     * @param request the request to guard
+     * @return the guarded request
+     */
+    private <T> Flux<T> guard(String feedName, Flux<T> request) {
+        return Flux.defer(() -> {
+            if (!breaker.tryAcquire()) {
+                return Flux.error(refused(feedName));
+            }
+
+            return record(within(deadline(), request));
+        });
+    }
+
+    /**
+     * Starts the call timeout of a request being made.
+     * @return a timer firing once the request's call timeout has elapsed, however late it's
+     * subscribed to
+     */
+    private Mono<Long> deadline() {
+        long expiresAt = System.nanoTime() + callTimeout.toNanos();
+        return Mono.defer(() -> Mono.delay(
+            Duration.ofNanos(Math.max(0, expiresAt - System.nanoTime()))));
+    }
+
+    /**
+     * Fails the given {@code request} with a {@link java.util.concurrent.TimeoutException} if it
+     * hasn't completed by the given deadline, however its items are spaced.
+     *
+     * @param deadline the timer firing once the request's call timeout has elapsed
+     * @param request the request to bound
+     * @return the bounded request
+     */
+    private static <T> Flux<T> within(Mono<Long> deadline, Flux<T> request) {
+        // Each item only waits for whatever is left of the deadline, not a fresh timeout
+        return request.timeout(deadline, item -> deadline);
+    }
+
+    /**
+     * Records the outcome of an already permitted request with the breaker.
+     *
+     * @param request the permitted request
+     * @return the request, recording its outcome
+     */
+    private <T> Flux<T> record(Flux<T> request) {
+        return request
+            .doOnComplete(breaker::onSuccess)
+            .doOnError(this::recordError)
+            .doOnCancel(breaker::onCancel);
+    }
+
+    private void recordError(Throwable err) {
+        if (err instanceof RateLimitedException) {
+            breaker.onCancel();
+        } else {
+            breaker.onFailure();
+        }
+    }
+
+    private CircuitOpenException refused(String feedName) {
+        return new CircuitOpenException("Circuit for feed '" + feedName + "' is "
+            + breaker.getState().name().toLowerCase());
+    }
+}
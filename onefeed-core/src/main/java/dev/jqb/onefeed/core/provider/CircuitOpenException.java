@@ -0,0 +1,16 @@
+package dev.jqb.onefeed.core.provider;
+
+/**
+ * Thrown when a call to a {@link Provider} is refused without being made because its
+ * {@link CircuitBreaker} is open
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code CircuitOpenException}.
+     * @param message a description of the refused call
+     */
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,86 @@
+package dev.jqb.onefeed.core.provider;
+
+import dev.jqb.onefeed.core.content.PlatformContent;
+import dev.jqb.onefeed.core.feed.FeedValidator;
+import java.util.function.UnaryOperator;
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Flux;
+
+/**
+ * The result of asking a {@link Provider} for a feed's head only if it has changed since a
+ * {@link FeedValidator}
+ *
+ * @param <C> the type of {@link PlatformContent} DTO that the provider produces
+ *
+ * @see Provider#fetchRecentContentIfModified(String, int, FeedValidator)
+ */
+public final class ConditionalFetch<C extends PlatformContent> {
+
+    private final boolean notModified;
+    private final Flux<C> content;
+    @Nullable
+    private final FeedValidator validator;
+
+    private ConditionalFetch(boolean notModified, Flux<C> content,
+        @Nullable FeedValidator validator
+    ) {
+        this.notModified = notModified;
+        this.content = content;
+        this.validator = validator;
+    }
+
+    /**
+     * Creates a result for a feed that hasn't changed, so whatever is cached for it is current.
+     * @return a result with no content
+     */
+    public static <C extends PlatformContent> ConditionalFetch<C> notModified() {
+        return new ConditionalFetch<>(true, Flux.empty(), null);
+    }
+
+    /**
+     * Creates a result for a feed that has changed, or couldn't be checked.
+     *
+     * @param content the feed's content, which may still be streaming in
+     * @param validator the validator to send with the next conditional fetch, if any
+     * @return a result with the given content
+     */
+    public static <C extends PlatformContent> ConditionalFetch<C> modified(Flux<C> content,
+        @Nullable FeedValidator validator
+    ) {
+        return new ConditionalFetch<>(false, content, validator);
+    }
+
+    /**
+     * Checks whether the feed hasn't changed since the validator given to the fetch.
+     * @return {@code true} if the feed hasn't changed and no content was fetched
+     */
+    public boolean isNotModified() {
+        return notModified;
+    }
+
+    /**
+     * Gets the feed's content, which is empty if {@link #isNotModified()}.
+     * @return the feed's content
+     */
+    public Flux<C> getContent() {
+        return content;
+    }
+
+    /**
+     * Gets the validator to send with the next conditional fetch of the feed.
+     * @return the validator to send next, or {@code null} if there's none
+     */
+    public @Nullable FeedValidator getValidator() {
+        return validator;
+    }
+
+    /**
+     * Transforms the content stream of this result, such as to observe its completion.
+     *
+     * @param transformer the transformation to apply to the content stream
+     * @return a copy of this result with the transformed content stream
+     */
+    public ConditionalFetch<C> mapContent(UnaryOperator<Flux<C>> transformer) {
+        return new ConditionalFetch<>(notModified, transformer.apply(content), validator);
+    }
+}
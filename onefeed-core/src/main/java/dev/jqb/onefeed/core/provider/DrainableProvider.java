@@ -0,0 +1,195 @@
+package dev.jqb.onefeed.core.provider;
+
+import dev.jqb.onefeed.core.author.AuthorNormalizer;
+import dev.jqb.onefeed.core.author.PlatformAuthor;
+import dev.jqb.onefeed.core.content.ContentNormalizer;
+import dev.jqb.onefeed.core.content.FieldProjection;
+import dev.jqb.onefeed.core.content.PlatformContent;
+import dev.jqb.onefeed.core.content.PlatformCursor;
+import dev.jqb.onefeed.core.feed.FeedValidator;
+import dev.jqb.onefeed.core.impl.OneFeedAuthor;
+import dev.jqb.onefeed.core.impl.OneFeedContent;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@link Provider} wrapper that counts the requests in flight to its delegate, so the delegate
+ * can be retired once they've all finished
+ * </br></br>
+ * A request is in flight from when it's subscribed to until it completes, errors, or is
+ * cancelled. The content of a conditional fetch counts as a request of its own, since it may be
+ * consumed well after the fetch itself finishes.
+ * </br></br>
+ * What a request returns is made of the delegate plugin's classes, and is normalized with its
+ * normalizers after the request itself has finished. Work like that is held in flight as a whole
+ * with {@link #hold(Flux)}, or with {@link #acquire()} and {@link #release()} when it isn't a
+ * stream, so the delegate isn't retired out from under it.
+ *
+ * @param <C> the type of {@link PlatformContent} DTO that the provider produces
+ * @param <A> the type of {@link PlatformAuthor} DTO that the provider produces
+ */
+public class DrainableProvider<C extends PlatformContent, A extends PlatformAuthor>
+    implements Provider<C, A>
+{
+
+    /**
+     * The provider whose requests are counted
+     */
+    private final Provider<C, A> delegate;
+
+    /**
+     * The number of requests and held pieces of work in flight
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Constructs a new {@code DrainableProvider}.
+     * @param delegate the provider whose requests to count
+     */
+    public DrainableProvider(Provider<C, A> delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Gets the number of requests in flight.
+     * @return the number of requests in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Waits for every request in flight to finish, up to the given timeout.
+     *
+     * @param timeout the longest to wait
+     * @return {@code true} if no requests are in flight, or {@code false} if some still were when
+     * the timeout elapsed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitDrained(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (inFlight) {
+            while (inFlight.get() > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                inFlight.wait(Math.max(1, remaining / 1_000_000));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts the given {@code work} using the delegate as in flight for as long as it's subscribed
+     * to, on top of any requests it makes.
+     *
+     * @param work the work to count
+     * @return the counted work
+     */
+    public <T> Flux<T> hold(Flux<T> work) {
+        return track(work);
+    }
+
+    /**
+     * Counts the given {@code work} using the delegate as in flight for as long as it's subscribed
+     * to, on top of any requests it makes.
+     *
+     * @param work the work to count
+     * @return the counted work
+     */
+    public <T> Mono<T> hold(Mono<T> work) {
+        return track(work.flux()).singleOrEmpty();
+    }
+
+    /**
+     * Counts a piece of work using the delegate as in flight until it's {@link #release()}d.
+     */
+    public void acquire() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Stops counting a piece of work {@link #acquire()}d earlier as in flight.
+     */
+    public void release() {
+        if (inFlight.decrementAndGet() == 0) {
+            synchronized (inFlight) {
+                inFlight.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public Flux<C> fetchRecentContent(String feedName, int amount) {
+        return track(Flux.defer(() -> delegate.fetchRecentContent(feedName, amount)));
+    }
+
+    @Override
+    public Flux<C> fetchRecentContent(String feedName, int amount, PlatformCursor cursor) {
+        return track(Flux.defer(() -> delegate.fetchRecentContent(feedName, amount, cursor)));
+    }
+
+    @Override
+    public Flux<C> fetchRecentContent(String feedName, int amount, FieldProjection projection) {
+        return track(Flux.defer(() -> delegate.fetchRecentContent(feedName, amount, projection)));
+    }
+
+    @Override
+    public Flux<C> fetchRecentContent(String feedName, int amount, PlatformCursor cursor,
+        FieldProjection projection
+    ) {
+        return track(
+            Flux.defer(() -> delegate.fetchRecentContent(feedName, amount, cursor, projection)));
+    }
+
+    @Override
+    public Mono<ConditionalFetch<C>> fetchRecentContentIfModified(String feedName, int amount,
+        @Nullable FeedValidator validator
+    ) {
+        return track(Mono.defer(() ->
+                delegate.fetchRecentContentIfModified(feedName, amount, validator)).flux())
+            .single()
+            .map(result -> result.isNotModified() ? result : result.mapContent(this::track));
+    }
+
+    @Override
+    public Mono<A> fetchAuthor(String feedName) {
+        return track(Flux.defer(() -> delegate.fetchAuthor(feedName))).singleOrEmpty();
+    }
+
+    @Override
+    public ContentNormalizer<C, OneFeedContent> getContentNormalizer() {
+        return delegate.getContentNormalizer();
+    }
+
+    @Override
+    public AuthorNormalizer<A, OneFeedAuthor> getAuthorNormalizer() {
+        return delegate.getAuthorNormalizer();
+    }
+
+    @Override
+    public Platform getPlatformInfo() {
+        return delegate.getPlatformInfo();
+    }
+
+    @Override
+    public <T> @Nullable T unwrap(Class<T> type) {
+        return type.isInstance(this) ? type.cast(this) : delegate.unwrap(type);
+    }
+
+    /**
+     * Counts the given {@code request} as in flight for as long as it's subscribed to.
+     *
+     * @param request the request to count
+     * @return the counted request
+     */
+    private <T> Flux<T> track(Flux<T> request) {
+        return request
+            .doOnSubscribe(subscription -> acquire())
+            .doFinally(signal -> release());
+    }
+}
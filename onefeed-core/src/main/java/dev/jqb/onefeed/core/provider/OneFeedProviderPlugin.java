@@ -2,8 +2,11 @@ package dev.jqb.onefeed.core.provider;
 
 import dev.jqb.onefeed.core.author.PlatformAuthor;
 import dev.jqb.onefeed.core.content.PlatformContent;
+import dev.jqb.onefeed.core.http.HttpClientFactory;
 import dev.jqb.onefeed.core.plugin.OneFeedPlugin;
 import java.util.List;
+import org.jspecify.annotations.Nullable;
+import reactor.netty.http.client.HttpClient;
 
 /**
  * A OneFeed {@link Provider} plugin
@@ -11,6 +14,12 @@ import java.util.List;
 public abstract class OneFeedProviderPlugin extends OneFeedPlugin {
     protected ProviderConfig providerConfig;
 
+    /**
+     * The factory of the server-managed HTTP clients, if the server provided one
+     */
+    @Nullable
+    private HttpClientFactory httpClientFactory;
+
     /**
      * Constructs a new {@link OneFeedPlugin} with the given {@code providerEnv}.
      * @param pluginId the unique identifier of this plugin in the app context
@@ -21,6 +30,36 @@ public abstract class OneFeedProviderPlugin extends OneFeedPlugin {
         this.providerConfig = providerConfig;
     }
 
+    /**
+     * Gets the configuration this plugin was constructed with.
+     * @return the configuration this plugin was constructed with, or {@code null} if it has none
+     */
+    public ProviderConfig getProviderConfig() {
+        return providerConfig;
+    }
+
+    /**
+     * Sets the factory of the server-managed HTTP clients this plugin may opt into using.
+     * @param httpClientFactory the factory of the server-managed HTTP clients
+     */
+    public void setHttpClientFactory(@Nullable HttpClientFactory httpClientFactory) {
+        this.httpClientFactory = httpClientFactory;
+    }
+
+    /**
+     * Gets an HTTP client for reaching this plugin's upstream API. Plugins should prefer this over
+     * building their own, since it shares the server's tuned, monitored connection pool.
+     *
+     * @return the server-managed HTTP client for this plugin, or a default client if the server
+     * didn't provide a factory (such as in tests)
+     */
+    protected HttpClient getHttpClient() {
+        if (httpClientFactory == null) {
+            return HttpClient.create();
+        }
+        return httpClientFactory.getClient(getPluginId());
+    }
+
     /**
      * Gets the content {@link Provider} that this plugin... well, provides.
      * @return the content {@link Provider} that this plugin provides
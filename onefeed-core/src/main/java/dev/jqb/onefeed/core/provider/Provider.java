@@ -3,10 +3,13 @@ package dev.jqb.onefeed.core.provider;
 import dev.jqb.onefeed.core.author.AuthorNormalizer;
 import dev.jqb.onefeed.core.author.PlatformAuthor;
 import dev.jqb.onefeed.core.content.ContentNormalizer;
+import dev.jqb.onefeed.core.content.FieldProjection;
 import dev.jqb.onefeed.core.content.PlatformContent;
 import dev.jqb.onefeed.core.content.PlatformCursor;
+import dev.jqb.onefeed.core.feed.FeedValidator;
 import dev.jqb.onefeed.core.impl.OneFeedContent;
 import dev.jqb.onefeed.core.impl.OneFeedAuthor;
+import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -43,6 +46,69 @@ public interface Provider<C extends PlatformContent, A extends PlatformAuthor> {
      */
     Flux<C> fetchRecentContent(String feedName, int amount, PlatformCursor cursor);
 
+    /**
+     * Fetches the given {@code amount} of most recently published content from the given feed,
+     * needing only the fields included in the given {@code projection}.
+     * </br></br>
+     * Providers whose platforms support field selection (such as a {@code fields} query parameter)
+     * should override this to request less upstream and skip expanding media that isn't needed.
+     * Fields outside the projection may still be populated; OneFeed strips them afterward. The
+     * default implementation ignores the projection.
+     *
+     * @param feedName the name of the feed whose content to retrieve
+     * @param amount the target amount of content to retrieve
+     * @param projection the fields of the content actually needed
+     *
+     * @return a {@link Flux} that emits a stream of {@link C} containing at most the desired
+     * {@code amount} of retrieved content
+     */
+    default Flux<C> fetchRecentContent(String feedName, int amount, FieldProjection projection) {
+        return fetchRecentContent(feedName, amount);
+    }
+
+    /**
+     * Fetches the given {@code amount} of most recently published content after the {@code cursor}
+     * from the given feed, needing only the fields included in the given {@code projection}.
+     *
+     * @param feedName the name of the feed whose content to retrieve
+     * @param amount the target amount of content to retrieve
+     * @param cursor the reference point to start retrieving content from, inclusive
+     * @param projection the fields of the content actually needed
+     *
+     * @return a {@link Flux} that emits a stream of {@link C} containing at most the desired
+     * {@code amount} of retrieved content
+     *
+     * @see #fetchRecentContent(String, int, FieldProjection)
+     */
+    default Flux<C> fetchRecentContent(String feedName, int amount, PlatformCursor cursor,
+        FieldProjection projection
+    ) {
+        return fetchRecentContent(feedName, amount, cursor);
+    }
+
+    /**
+     * Fetches the given {@code amount} of most recently published content from the given feed,
+     * but only if it has changed since the given {@code validator}, sparing the transfer and
+     * normalization of content OneFeed already has.
+     * </br></br>
+     * Providers whose platforms support conditional requests should override this, sending the
+     * validator along (such as {@code If-None-Match} or {@code If-Modified-Since}) and returning
+     * the validators of the new response. The default implementation always fetches the content.
+     *
+     * @param feedName the name of the feed whose content to retrieve
+     * @param amount the target amount of content to retrieve
+     * @param validator what was known of the feed's head as of the last fetch, if anything
+     *
+     * @return a {@link Mono} emitting either {@link ConditionalFetch#notModified()} or the
+     * content along with the validator for the next fetch
+     */
+    default Mono<ConditionalFetch<C>> fetchRecentContentIfModified(String feedName, int amount,
+        @Nullable FeedValidator validator
+    ) {
+        return Mono.fromSupplier(() ->
+            ConditionalFetch.modified(fetchRecentContent(feedName, amount), null));
+    }
+
     /**
      * Gets the {@link ContentNormalizer} capable of transforming this provider's
      * {@link PlatformContent} DTOs into normalized {@link OneFeedContent}
@@ -73,4 +139,18 @@ public interface Provider<C extends PlatformContent, A extends PlatformAuthor> {
      * @return the profile for the given feed
      */
     Mono<A> fetchAuthor(String feedName);
+
+    /**
+     * Finds the provider of the given {@code type} among this provider and any it wraps, such as
+     * the plugin's own provider behind rate limiting or circuit breaking.
+     * </br></br>
+     * Providers that wrap another should override this to look past themselves to their delegate.
+     *
+     * @param type the type of provider to find
+     * @return the provider of the given type, or {@code null} if there is none
+     * @param <T> the type of provider to find
+     */
+    default <T> @Nullable T unwrap(Class<T> type) {
+        return type.isInstance(this) ? type.cast(this) : null;
+    }
 }
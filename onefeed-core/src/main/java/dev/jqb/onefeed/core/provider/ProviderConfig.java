@@ -32,6 +32,16 @@ public class ProviderConfig {
      */
     private HashMap<String, HashMap<String, Object>> feeds;
 
+    /**
+     * The upstream request budget shared by every feed the provider provides
+     */
+    private RateLimitConfig rateLimit = new RateLimitConfig();
+
+    /**
+     * When to stop calling the provider after it starts failing, and how to recover
+     */
+    private CircuitBreakerConfig circuitBreaker = new CircuitBreakerConfig();
+
     /**
      * Creates a new {@code ProviderEnv} object with the given {@code pluginVars} and {@code feedVars}
      *
@@ -0,0 +1,51 @@
+package dev.jqb.onefeed.core.provider;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The upstream request budget of a provider plugin, shared by every feed it provides
+ *
+ * @see RateLimiter
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class RateLimitConfig {
+
+    /**
+     * Whether to limit the rate of requests to the provider at all
+     */
+    private boolean enabled = false;
+
+    /**
+     * The sustained number of requests per second allowed, which the limiter starts at and recovers
+     * back up to after being throttled
+     */
+    private double requestsPerSecond = 5;
+
+    /**
+     * The number of requests that may be made in a burst after a quiet period
+     */
+    private int burst = 10;
+
+    /**
+     * The lowest the limiter may adapt the request rate down to when throttled, in requests per
+     * second
+     */
+    private double minRequestsPerSecond = 0.2;
+
+    /**
+     * The longest a request may wait its turn before being shed in favor of cached content, as an
+     * ISO-8601 duration
+     */
+    private Duration maxQueueWait = Duration.ofSeconds(2);
+
+    /**
+     * How long to hold off after being throttled if the provider doesn't say, as an ISO-8601
+     * duration
+     */
+    private Duration defaultRetryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,40 @@
+package dev.jqb.onefeed.core.provider;
+
+import java.time.Duration;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Thrown when a request to a {@link Provider}'s upstream API is refused for exceeding its rate
+ * limit, whether by the upstream API itself (such as with an HTTP 429) or by OneFeed's own
+ * {@link RateLimiter} shedding it ahead of time
+ * </br></br>
+ * Providers should signal this from their fetches when throttled, passing along any
+ * {@code Retry-After} the upstream API gave, so OneFeed can adapt its request rate.
+ */
+public class RateLimitedException extends RuntimeException {
+
+    /**
+     * How long to wait before retrying, if known
+     */
+    @Nullable
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new {@code RateLimitedException}.
+     *
+     * @param message a description of the refusal
+     * @param retryAfter how long to wait before retrying, if known
+     */
+    public RateLimitedException(String message, @Nullable Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Gets how long to wait before retrying.
+     * @return how long to wait before retrying, or {@code null} if unknown
+     */
+    public @Nullable Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,186 @@
+package dev.jqb.onefeed.core.provider;
+
+import dev.jqb.onefeed.core.author.AuthorNormalizer;
+import dev.jqb.onefeed.core.author.PlatformAuthor;
+import dev.jqb.onefeed.core.content.ContentNormalizer;
+import dev.jqb.onefeed.core.content.FieldProjection;
+import dev.jqb.onefeed.core.content.PlatformCursor;
+import dev.jqb.onefeed.core.content.PlatformContent;
+import dev.jqb.onefeed.core.feed.FeedValidator;
+import dev.jqb.onefeed.core.impl.OneFeedAuthor;
+import dev.jqb.onefeed.core.impl.OneFeedContent;
+import java.time.Duration;
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@link Provider} wrapper that makes every upstream request wait its turn with a
+ * {@link RateLimiter}, feeding the limiter whatever throttling the wrapped provider reports
+ * </br></br>
+ * Requests that would wait longer than the configured max queue wait fail fast with a
+ * {@link RateLimitedException} instead of being made, so callers can fall back to cached content.
+ *
+ * @param <C> the type of {@link PlatformContent} DTO that the provider produces
+ * @param <A> the type of {@link PlatformAuthor} DTO that the provider produces
+ */
+public class RateLimitedProvider<C extends PlatformContent, A extends PlatformAuthor>
+    implements Provider<C, A>
+{
+
+    /**
+     * The provider being rate limited
+     */
+    private final Provider<C, A> delegate;
+
+    /**
+     * The limiter deciding when requests may be made
+     */
+    private final RateLimiter limiter;
+
+    /**
+     * The longest a request may wait its turn before being shed
+     */
+    private final Duration maxQueueWait;
+
+    /**
+     * Constructs a new {@code RateLimitedProvider}.
+     *
+     * @param delegate the provider to rate limit
+     * @param limiter the limiter deciding when requests may be made
+     * @param maxQueueWait the longest a request may wait its turn before being shed
+     */
+    public RateLimitedProvider(Provider<C, A> delegate, RateLimiter limiter, Duration maxQueueWait) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+        this.maxQueueWait = maxQueueWait;
+    }
+
+    /**
+     * Gets the provider being rate limited.
+     * @return the provider being rate limited
+     */
+    public Provider<C, A> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Gets the limiter deciding when requests may be made.
+     * @return the limiter deciding when requests may be made
+     */
+    public RateLimiter getLimiter() {
+        return limiter;
+    }
+
+    @Override
+    public Flux<C> fetchRecentContent(String feedName, int amount) {
+        return limit(feedName, () -> delegate.fetchRecentContent(feedName, amount));
+    }
+
+    @Override
+    public Flux<C> fetchRecentContent(String feedName, int amount, PlatformCursor cursor) {
+        return limit(feedName, () -> delegate.fetchRecentContent(feedName, amount, cursor));
+    }
+
+    @Override
+    public Flux<C> fetchRecentContent(String feedName, int amount, FieldProjection projection) {
+        return limit(feedName, () -> delegate.fetchRecentContent(feedName, amount, projection));
+    }
+
+    @Override
+    public Flux<C> fetchRecentContent(String feedName, int amount, PlatformCursor cursor,
+        FieldProjection projection
+    ) {
+        return limit(feedName,
+            () -> delegate.fetchRecentContent(feedName, amount, cursor, projection));
+    }
+
+    @Override
+    public Mono<ConditionalFetch<C>> fetchRecentContentIfModified(String feedName, int amount,
+        @Nullable FeedValidator validator
+    ) {
+        return Mono.defer(() -> {
+            Duration wait = limiter.tryReserve(maxQueueWait);
+            if (wait == null) {
+                return Mono.error(shed(feedName));
+            }
+
+            return delegate.fetchRecentContentIfModified(feedName, amount, validator)
+                .delaySubscription(wait)
+                .map(result -> {
+                    if (result.isNotModified()) {
+                        limiter.onSuccess();
+                        return result;
+                    }
+                    return result.mapContent(content -> content
+                        .doOnComplete(limiter::onSuccess)
+                        .doOnError(RateLimitedException.class,
+                            e -> limiter.onThrottled(e.getRetryAfter())));
+                })
+                .doOnError(RateLimitedException.class, e -> limiter.onThrottled(e.getRetryAfter()));
+        });
+    }
+
+    @Override
+    public Mono<A> fetchAuthor(String feedName) {
+        return Mono.defer(() -> {
+            Duration wait = limiter.tryReserve(maxQueueWait);
+            if (wait == null) {
+                return Mono.error(shed(feedName));
+            }
+
+            return delegate.fetchAuthor(feedName)
+                .delaySubscription(wait)
+                .doOnSuccess(author -> limiter.onSuccess())
+                .doOnError(RateLimitedException.class, e -> limiter.onThrottled(e.getRetryAfter()));
+        });
+    }
+
+    @Override
+    public ContentNormalizer<C, OneFeedContent> getContentNormalizer() {
+        return delegate.getContentNormalizer();
+    }
+
+    @Override
+    public AuthorNormalizer<A, OneFeedAuthor> getAuthorNormalizer() {
+        return delegate.getAuthorNormalizer();
+    }
+
+    @Override
+    public Platform getPlatformInfo() {
+        return delegate.getPlatformInfo();
+    }
+
+    @Override
+    public <T> @Nullable T unwrap(Class<T> type) {
+        return type.isInstance(this) ? type.cast(this) : delegate.unwrap(type);
+    }
+
+    /**
+     * Makes the content fetch from the given {@code fetch} wait its turn, shedding it if the wait
+     * would be too long.
+     *
+     * @param feedName the name of the feed whose content is being fetched
+     * @param fetch supplies the wrapped provider's fetch
+     * @return the rate-limited fetch
+     */
+    private Flux<C> limit(String feedName, Supplier<Flux<C>> fetch) {
+        return Flux.defer(() -> {
+            Duration wait = limiter.tryReserve(maxQueueWait);
+            if (wait == null) {
+                return Flux.error(shed(feedName));
+            }
+
+            return fetch.get()
+                .delaySubscription(wait)
+                .doOnComplete(limiter::onSuccess)
+                .doOnError(RateLimitedException.class, e -> limiter.onThrottled(e.getRetryAfter()));
+        });
+    }
+
+    private RateLimitedException shed(String feedName) {
+        return new RateLimitedException("Shed request for feed '" + feedName
+            + "' to stay within its provider's rate limit", limiter.getQueueDelay());
+    }
+}
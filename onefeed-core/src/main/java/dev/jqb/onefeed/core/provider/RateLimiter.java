@@ -0,0 +1,205 @@
+package dev.jqb.onefeed.core.provider;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A token bucket limiting the rate of requests to a single provider's upstream API, adapting to
+ * the throttling signals the provider reports
+ * </br></br>
+ * Requests reserve tokens in arrival order, so when the bucket is empty each waits its turn behind
+ * those already waiting, no matter which aggregation it belongs to. A request that would have to
+ * wait longer than its caller allows is shed instead of reserving a token.
+ * </br></br>
+ * The rate adapts additively-increase, multiplicatively-decrease: each throttle halves it (down
+ * to a floor) and pauses all requests for the provider's {@code Retry-After}, while each success
+ * nudges it back up towards the configured rate.
+ */
+public class RateLimiter {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    /**
+     * The factor the rate is multiplied by on each throttle
+     */
+    private static final double DECREASE_FACTOR = 0.5;
+
+    /**
+     * The fraction of the max rate added back on each success
+     */
+    private static final double INCREASE_FRACTION = 0.05;
+
+    private final double maxRate;
+    private final double minRate;
+    private final int burst;
+    private final Duration defaultRetryAfter;
+    private final LongSupplier nanoClock;
+
+    /**
+     * The current rate tokens are added at, per second
+     */
+    private double rate;
+
+    /**
+     * The tokens saved up as of {@link #nextFreeNanos}
+     */
+    private double storedTokens;
+
+    /**
+     * The moment the next reservation can be served, after every earlier reservation
+     */
+    private long nextFreeNanos;
+
+    /**
+     * The moment the provider asked to be left alone until
+     */
+    private long pausedUntilNanos;
+
+    private long shedCount;
+    private long throttleCount;
+
+    /**
+     * Constructs a new {@code RateLimiter} from the given {@code config}, starting with a full
+     * bucket.
+     *
+     * @param config the request budget to enforce
+     */
+    public RateLimiter(RateLimitConfig config) {
+        this(config, System::nanoTime);
+    }
+
+    /**
+     * Constructs a new {@code RateLimiter} from the given {@code config}, starting with a full
+     * bucket.
+     *
+     * @param config the request budget to enforce
+     * @param nanoClock the monotonic clock to measure time with, in nanoseconds
+     */
+    public RateLimiter(RateLimitConfig config, LongSupplier nanoClock) {
+        if (config.getRequestsPerSecond() <= 0 || config.getMinRequestsPerSecond() <= 0
+            || config.getBurst() < 1
+        ) {
+            throw new IllegalArgumentException("Rates must be positive, with a burst of at least 1");
+        }
+
+        this.maxRate = config.getRequestsPerSecond();
+        this.minRate = Math.min(config.getMinRequestsPerSecond(), maxRate);
+        this.burst = config.getBurst();
+        this.defaultRetryAfter = config.getDefaultRetryAfter();
+        this.nanoClock = nanoClock;
+
+        this.rate = maxRate;
+        this.storedTokens = burst;
+        this.nextFreeNanos = nanoClock.getAsLong();
+        this.pausedUntilNanos = nextFreeNanos;
+    }
+
+    /**
+     * Reserves a token for a single request, if one frees up within {@code maxWait}.
+     *
+     * @param maxWait the longest the request may wait its turn
+     * @return how long the request must wait before being made, or {@code null} if it would have
+     * to wait longer than {@code maxWait} and has been shed
+     */
+    public synchronized @Nullable Duration tryReserve(Duration maxWait) {
+        long now = nanoClock.getAsLong();
+        refill(now);
+
+        long start = Math.max(nextFreeNanos, pausedUntilNanos);
+        long wait = Math.max(0, start - now);
+        if (wait > maxWait.toNanos()) {
+            shedCount++;
+            return null;
+        }
+
+        double fromStored = Math.min(1, storedTokens);
+        storedTokens -= fromStored;
+        nextFreeNanos = start + (long) ((1 - fromStored) / rate * NANOS_PER_SECOND);
+        return Duration.ofNanos(wait);
+    }
+
+    /**
+     * Adapts to the provider having reported being throttled, cutting the rate and pausing
+     * requests until the provider says to retry.
+     *
+     * @param retryAfter how long the provider asked to wait, or {@code null} if it didn't say
+     */
+    public synchronized void onThrottled(@Nullable Duration retryAfter) {
+        long now = nanoClock.getAsLong();
+        refill(now);
+
+        throttleCount++;
+        rate = Math.max(minRate, rate * DECREASE_FACTOR);
+        storedTokens = 0;
+
+        Duration pause = retryAfter != null ? retryAfter : defaultRetryAfter;
+        pausedUntilNanos = Math.max(pausedUntilNanos, now + pause.toNanos());
+    }
+
+    /**
+     * Adapts to a request having succeeded, recovering some of the rate lost to throttling.
+     */
+    public synchronized void onSuccess() {
+        rate = Math.min(maxRate, rate + maxRate * INCREASE_FRACTION);
+    }
+
+    /**
+     * Gets the rate requests are currently allowed at.
+     * @return the current number of requests allowed per second
+     */
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    /**
+     * Gets the number of tokens available for immediate use.
+     * @return the number of tokens available for immediate use, which is never negative
+     */
+    public synchronized double getAvailableTokens() {
+        long now = nanoClock.getAsLong();
+        refill(now);
+        return now < pausedUntilNanos || nextFreeNanos > now ? 0 : storedTokens;
+    }
+
+    /**
+     * Gets how long a request made now would have to wait its turn.
+     * @return how long a request made now would have to wait its turn
+     */
+    public synchronized Duration getQueueDelay() {
+        long now = nanoClock.getAsLong();
+        refill(now);
+        return Duration.ofNanos(Math.max(0, Math.max(nextFreeNanos, pausedUntilNanos) - now));
+    }
+
+    /**
+     * Gets the number of requests shed for having to wait too long.
+     * @return the number of requests shed so far
+     */
+    public synchronized long getShedCount() {
+        return shedCount;
+    }
+
+    /**
+     * Gets the number of times the provider has reported being throttled.
+     * @return the number of throttles so far
+     */
+    public synchronized long getThrottleCount() {
+        return throttleCount;
+    }
+
+    /**
+     * Adds the tokens accrued since {@link #nextFreeNanos}, if it has passed. Nothing accrues while
+     * paused, so a throttle isn't followed by a full burst.
+     *
+     * @param now the current time, in nanoseconds
+     */
+    private void refill(long now) {
+        if (now > nextFreeNanos) {
+            long accruingSince = Math.max(nextFreeNanos, Math.min(pausedUntilNanos, now));
+            storedTokens = Math.min(burst,
+                storedTokens + (now - accruingSince) / NANOS_PER_SECOND * rate);
+            nextFreeNanos = now;
+        }
+    }
+}
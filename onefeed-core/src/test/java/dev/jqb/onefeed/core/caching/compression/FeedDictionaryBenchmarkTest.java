@@ -0,0 +1,163 @@
+package dev.jqb.onefeed.core.caching.compression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Benchmarks {@link FeedDictionary} compression on a synthetic corpus shaped like a single feed's
+ * content, checking the compression ratio with and without a trained dictionary and the decode
+ * throughput
+ * </br></br>
+ * The corpus is seeded, so ratios are reproducible run to run. Throughput depends on the machine,
+ * so it's only checked with the {@code benchmark} tests.
+ */
+class FeedDictionaryBenchmarkTest {
+
+    /**
+     * The number of texts in the corpus, half bodies and half media URLs
+     */
+    private static final int CORPUS_SIZE = 4_000;
+
+    /**
+     * The number of texts, taken from the start of the corpus, the dictionary is trained on
+     */
+    private static final int TRAINING_SAMPLES = 256;
+
+    private static final int DICTIONARY_SIZE = 16 * 1024;
+
+    /**
+     * How many times the whole corpus is decoded for the throughput measurement
+     */
+    private static final int DECODE_ROUNDS = 20;
+
+    /**
+     * The lowest acceptable compression ratio with a trained dictionary, a little under the
+     * corpus's ratio of about 4
+     */
+    private static final double MIN_TRAINED_RATIO = 3.5;
+
+    /**
+     * The slowest acceptable decode throughput, in bytes per second, well under what the
+     * dictionary manages so slow machines don't fail the benchmark
+     */
+    private static final double MIN_DECODE_BYTES_PER_SECOND = 20e6;
+
+    private static final String[] WORDS = {
+        "the", "a", "new", "update", "today", "release", "team", "feed", "stream", "launch",
+        "week", "thanks", "everyone", "check", "out", "our", "latest", "post", "about", "how",
+        "we", "built", "faster", "search", "for", "your", "timeline", "and", "more", "live",
+        "event", "join", "us", "at", "conference", "talk", "slides", "video", "recap", "photo",
+        "from", "behind", "scenes", "coming", "soon", "big", "news", "share", "with", "friends"
+    };
+
+    private static final String[] HASHTAGS = {
+        "#onefeed", "#opensource", "#java", "#release", "#community", "#devlog", "#webdev",
+        "#launchday", "#behindthescenes", "#livestream", "#photography", "#weeklyrecap"
+    };
+
+    private static final String SIGNATURE =
+        "\n\nFollow us for more updates and subscribe to the newsletter at https://example.com/news";
+
+    @Test
+    void compressesFarBetterWithTrainedDictionary() {
+        List<String> corpus = syntheticCorpus(new Random(42));
+        FeedDictionary trained = train(corpus);
+        FeedDictionary empty = new FeedDictionary(new byte[0]);
+
+        long rawBytes = 0;
+        long trainedBytes = 0;
+        long emptyBytes = 0;
+        for (String text : corpus) {
+            byte[] withDictionary = trained.compress(text);
+            assertThat(trained.decompress(withDictionary)).isEqualTo(text);
+            rawBytes += text.getBytes(StandardCharsets.UTF_8).length;
+            trainedBytes += withDictionary.length;
+            emptyBytes += empty.compress(text).length;
+        }
+
+        double trainedRatio = (double) rawBytes / trainedBytes;
+        double emptyRatio = (double) rawBytes / emptyBytes;
+        assertThat(trained.size()).isPositive().isLessThanOrEqualTo(DICTIONARY_SIZE);
+        assertThat(trainedRatio).isGreaterThan(MIN_TRAINED_RATIO)
+            .isGreaterThan(emptyRatio * 2);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void decodesTensOfMegabytesPerSecond() {
+        List<String> corpus = syntheticCorpus(new Random(42));
+        FeedDictionary trained = train(corpus);
+        List<byte[]> compressed = new ArrayList<>(corpus.size());
+        for (String text : corpus) {
+            compressed.add(trained.compress(text));
+        }
+
+        // Warm up, then time whole passes over the corpus
+        decodeAll(trained, compressed);
+        long startedAt = System.nanoTime();
+        long decoded = 0;
+        for (int round = 0; round < DECODE_ROUNDS; round++) {
+            decoded += decodeAll(trained, compressed);
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+
+        assertThat(decoded / seconds).isGreaterThan(MIN_DECODE_BYTES_PER_SECOND);
+    }
+
+    private static FeedDictionary train(List<String> corpus) {
+        return DictionaryTrainer.train(corpus.subList(0, TRAINING_SAMPLES), DICTIONARY_SIZE);
+    }
+
+    /**
+     * Decodes every compressed text once.
+     *
+     * @param dictionary the dictionary the texts were compressed against
+     * @param compressed the compressed texts
+     * @return the number of bytes decoded
+     */
+    private static long decodeAll(FeedDictionary dictionary, List<byte[]> compressed) {
+        long decoded = 0;
+        for (byte[] text : compressed) {
+            decoded += dictionary.decompress(text).length();
+        }
+        return decoded;
+    }
+
+    /**
+     * Generates a corpus resembling a single feed's content: short bodies sharing a signature and
+     * a pool of hashtags, alternating with media URLs on the same CDN.
+     *
+     * @param random the source of randomness, seeded for reproducibility
+     * @return the corpus, in the order the texts would arrive
+     */
+    private static List<String> syntheticCorpus(Random random) {
+        List<String> corpus = new ArrayList<>(CORPUS_SIZE);
+        for (int i = 0; corpus.size() < CORPUS_SIZE; i++) {
+            StringBuilder body = new StringBuilder();
+            int words = 15 + random.nextInt(40);
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    body.append(' ');
+                }
+                body.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            body.append('.');
+            int hashtags = 1 + random.nextInt(3);
+            for (int h = 0; h < hashtags; h++) {
+                body.append(' ').append(HASHTAGS[random.nextInt(HASHTAGS.length)]);
+            }
+            body.append(SIGNATURE);
+            corpus.add(body.toString());
+
+            corpus.add("https://cdn.example-social.com/media/" + Long.toHexString(random.nextLong())
+                + "/image_" + i + ".jpg?width=1080&format=webp&quality=85");
+        }
+        return corpus;
+    }
+}
@@ -0,0 +1,142 @@
+package dev.jqb.onefeed.core.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.jqb.onefeed.core.feed.SourceInfo;
+import dev.jqb.onefeed.core.impl.Media.MediaType;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Checks the compact layout of cached {@link OneFeedContent}, and how many bytes it takes on the
+ * heap, on the synthetic sample described in {@code docs/content-memory-footprint.md}
+ * </br></br>
+ * The sample is seeded and only uses constructors and setters that predate the compact layout, so
+ * the same test run on an earlier commit reproduces the "before" figures. Byte counts depend on the
+ * JVM's object layout, so they're only checked with the {@code benchmark} tests.
+ */
+class ContentFootprintTest {
+
+    private static final int ITEMS = 20_000;
+    private static final int AUTHORS = 40;
+
+    /**
+     * The most bytes an item may take on a 64-bit HotSpot JVM with compressed oops, above the
+     * measured size but below the layout before it was compacted
+     */
+    private static final double MAX_BYTES_PER_ITEM = 980;
+
+    private static final String BASE32 = "abcdefghijklmnopqrstuvwxyz234567";
+
+    @Test
+    void holdsNoPublishInstantsOrGrowableLists() {
+        List<OneFeedContent> sample = sample(new Random(7));
+
+        GraphLayout layout = GraphLayout.parseInstance(sample.toArray());
+        assertThat(layout.getClasses()).doesNotContain(Instant.class, ArrayList.class);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void takesFewerBytesPerItemThanBefore() {
+        List<OneFeedContent> sample = sample(new Random(7));
+
+        // Every item is a root of the same graph, so objects shared between items are counted once
+        GraphLayout layout = GraphLayout.parseInstance(sample.toArray());
+        assertThat((double) layout.totalSize() / ITEMS).as(layout.toFootprint())
+            .isLessThan(MAX_BYTES_PER_ITEM);
+    }
+
+    /**
+     * Generates Bluesky-like posts from a handful of authors on a single feed: a body on every
+     * post and a cursor on every 25th, one image on 35% of posts and 2-4 on 10%, a link card on
+     * 10%, and no media on the rest, half of which are given an empty media list.
+     *
+     * @param random the source of randomness, seeded for reproducibility
+     * @return the sample
+     */
+    private static List<OneFeedContent> sample(Random random) {
+        List<String> dids = new ArrayList<>(AUTHORS);
+        for (int a = 0; a < AUTHORS; a++) {
+            dids.add("did:plc:" + randomBase32(random, 24));
+        }
+
+        List<OneFeedContent> sample = new ArrayList<>(ITEMS);
+        Instant published = Instant.parse("2026-10-01T00:00:00Z");
+        for (int i = 0; i < ITEMS; i++) {
+            String did = dids.get(random.nextInt(AUTHORS));
+            String postId = randomBase32(random, 13);
+            SourceInfo source = new SourceInfo("bluesky", "timeline", postId,
+                "https://bsky.app/profile/" + did + "/post/" + postId);
+            String cursor = i % 25 == 0 ? published.toString() : null;
+            published = published.minusSeconds(1 + random.nextInt(600));
+
+            OneFeedContent content = new OneFeedContent(source, cursor, published,
+                randomText(random, 40 + random.nextInt(241)));
+
+            double kind = random.nextDouble();
+            if (kind < 0.35) {
+                content.setMedia(List.of(image(random, did)));
+            } else if (kind < 0.45) {
+                List<Media> images = new ArrayList<>();
+                int count = 2 + random.nextInt(3);
+                for (int m = 0; m < count; m++) {
+                    images.add(image(random, did));
+                }
+                content.setMedia(images);
+            } else if (kind < 0.55) {
+                Media card = new Media(MediaType.LINK,
+                    "https://news.example.com/articles/2026/10/" + randomBase32(random, 20));
+                card.setTitle(randomText(random, 30 + random.nextInt(50)));
+                card.setThumbnailSrc("https://cdn.bsky.app/img/feed_thumbnail/plain/" + did + "/"
+                    + randomBase32(random, 59) + "@jpeg");
+                content.setMedia(List.of(card));
+            } else if (random.nextBoolean()) {
+                content.setMedia(new ArrayList<>());
+            }
+
+            sample.add(content);
+        }
+        return sample;
+    }
+
+    private static Media image(Random random, String did) {
+        String cid = randomBase32(random, 59);
+        Media image = new Media(MediaType.IMAGE,
+            "https://cdn.bsky.app/img/feed_fullsize/plain/" + did + "/" + cid + "@jpeg");
+        image.setSrc("https://cdn.bsky.app/img/feed_fullsize/plain/" + did + "/" + cid + "@jpeg");
+        image.setThumbnailSrc(
+            "https://cdn.bsky.app/img/feed_thumbnail/plain/" + did + "/" + cid + "@jpeg");
+        if (random.nextDouble() < 0.4) {
+            image.setAltText(randomText(random, 20 + random.nextInt(100)));
+        }
+        return image;
+    }
+
+    private static String randomBase32(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(BASE32.charAt(random.nextInt(BASE32.length())));
+        }
+        return text.toString();
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            int word = 2 + random.nextInt(8);
+            for (int i = 0; i < word && text.length() < length; i++) {
+                text.append((char) ('a' + random.nextInt(26)));
+            }
+            if (text.length() < length) {
+                text.append(' ');
+            }
+        }
+        return text.toString();
+    }
+}
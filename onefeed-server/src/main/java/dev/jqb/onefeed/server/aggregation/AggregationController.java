@@ -5,6 +5,7 @@ import dev.jqb.onefeed.core.aggregation.Aggregation;
 import dev.jqb.onefeed.core.aggregation.AggregationOptions;
 import dev.jqb.onefeed.core.author.PlatformAuthor;
 import dev.jqb.onefeed.core.content.Content;
+import dev.jqb.onefeed.core.content.FieldProjection;
 import dev.jqb.onefeed.core.content.NormalizedContent;
 import dev.jqb.onefeed.core.content.PlatformContent;
 import dev.jqb.onefeed.core.author.Author;
@@ -13,12 +14,16 @@ import dev.jqb.onefeed.core.feed.FeedIdentifier;
 import dev.jqb.onefeed.core.impl.OneFeedContent;
 import dev.jqb.onefeed.core.impl.OneFeedCursor;
 import dev.jqb.onefeed.server.author.AuthorService;
+import dev.jqb.onefeed.server.live.LiveFeedHub;
+import dev.jqb.onefeed.server.polling.FeedActivityTracker;
 import dev.jqb.onefeed.server.model.StreamedAuthor;
 import dev.jqb.onefeed.server.model.StreamedContent;
 import dev.jqb.onefeed.server.model.StreamedCursor;
+import dev.jqb.onefeed.server.model.StreamedDegradedFeed;
 import dev.jqb.onefeed.server.model.CustomAggregation;
 import dev.jqb.onefeed.server.model.CustomAggregation.WeightedFeed;
 import dev.jqb.onefeed.server.model.StreamData;
+import dev.jqb.onefeed.server.tracing.Tracer;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
@@ -30,6 +35,7 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -55,15 +61,22 @@ public class AggregationController implements AggregateCursorGenerator<OneFeedCo
     private final AggregationService aggregationService;
     private final AuthorService authorService;
     private final FeedRegistry feedRegistry;
+    private final LiveFeedHub liveFeedHub;
+    private final FeedActivityTracker activityTracker;
+    private final Tracer tracer;
 
     @Autowired
     public AggregationController(AggregationService aggregationService, AuthorService authorService,
-        FeedRegistry feedRegistry, JsonMapper jsonMapper
+        FeedRegistry feedRegistry, LiveFeedHub liveFeedHub, FeedActivityTracker activityTracker,
+        JsonMapper jsonMapper, Tracer tracer
     ) {
         this.aggregationService = aggregationService;
         this.authorService = authorService;
         this.feedRegistry = feedRegistry;
+        this.liveFeedHub = liveFeedHub;
+        this.activityTracker = activityTracker;
         this.jsonMapper = jsonMapper;
+        this.tracer = tracer;
     }
 
     /**
@@ -75,6 +88,9 @@ public class AggregationController implements AggregateCursorGenerator<OneFeedCo
      * @param includeAuthors whether to include the authors of the aggregated content
      *                       (optional, defaults to {@code true})
      * @param aggregateCursor the point to start retrieving content after, inclusively (optional)
+     * @param fields the comma-separated content fields to include, such as {@code title,media}, out
+     *               of {@code title}, {@code body}, {@code media}, {@code reactions}, and
+     *               {@code author} (optional, defaults to every field)
      *
      * @return a stream of content and authors representing the desired data from the given feeds,
      * emitted as soon as it's available
@@ -84,8 +100,11 @@ public class AggregationController implements AggregateCursorGenerator<OneFeedCo
         @RequestParam @Min(1) int amount,
         @RequestBody @Valid CustomAggregation customAggregation,
         @RequestParam(defaultValue = "true") Boolean includeAuthors,
-        @RequestParam(required = false) String aggregateCursor
+        @RequestParam(required = false) String aggregateCursor,
+        @RequestParam(required = false) String fields
     ) {
+        FieldProjection projection = FieldProjection.parse(fields);
+
         // Get the feed IDs first
         List<FeedIdentifier> ids = customAggregation.getWeightedFeeds().stream().map(wf ->
             FeedIdentifier.fromIdString(wf.getFeedId())).toList();
@@ -97,6 +116,7 @@ public class AggregationController implements AggregateCursorGenerator<OneFeedCo
             Feed<? extends PlatformContent, ? extends PlatformAuthor> feed =
                 feedRegistry.getFeed(id);
             feeds.add(feed);
+            activityTracker.recordRead(id);
         }
 
         // Convert the weights to the map required by the aggregator
@@ -110,11 +130,13 @@ public class AggregationController implements AggregateCursorGenerator<OneFeedCo
         }
 
         // Get the content stream
-        AggregationOptions aggOptions = new AggregationOptions(weights);
+        AggregationOptions aggOptions = new AggregationOptions(weights, projection);
         Flux<OneFeedContent> contentStream;
+        Map<FeedIdentifier, OneFeedCursor> cursors = Map.of();
+        boolean paged = aggregateCursor != null && !aggregateCursor.isBlank();
 
-        if (aggregateCursor != null && !aggregateCursor.isBlank()) {
-            Map<FeedIdentifier, OneFeedCursor> cursors = decodeAggregateCursor(aggregateCursor);
+        if (paged) {
+            cursors = decodeAggregateCursor(aggregateCursor);
             contentStream = aggregationService.aggregate(amount, feeds, cursors, aggOptions);
         } else {
             contentStream = aggregationService.aggregate(amount, feeds, aggOptions);
@@ -129,15 +151,60 @@ public class AggregationController implements AggregateCursorGenerator<OneFeedCo
 
         // Optionally get the author stream
         Flux<StreamedAuthor> authorUpdateStream;
-        if (includeAuthors) {
+        boolean withAuthors = includeAuthors && projection.includes(FieldProjection.Field.AUTHOR);
+        if (withAuthors) {
             authorUpdateStream = authorService.getAuthors(feeds).map(StreamedAuthor::new);
         } else {
             authorUpdateStream = Flux.empty();
         }
 
-        return Flux.merge(contentUpdateStream, authorUpdateStream).concatWith(
-            Mono.fromCallable(() -> new StreamedCursor(generateAggregateCursor(allContent)))
+        // Let clients know up front which feeds are only being served from the cache
+        Flux<StreamedDegradedFeed> degradedFeedStream = Flux.fromIterable(feeds)
+            .filter(aggregationService::isDegraded)
+            .map(feed -> new StreamedDegradedFeed(feed.getId().toIdString()));
+
+        // Feeds with no content on this page keep their place for the next one
+        Map<FeedIdentifier, OneFeedCursor> previousCursors = cursors;
+        Flux<StreamData> stream = degradedFeedStream.cast(StreamData.class).concatWith(
+            Flux.merge(contentUpdateStream, authorUpdateStream)
+        ).concatWith(
+            tracer.trace("aggregation.cursor", Map.of(), Mono.fromCallable(() ->
+                new StreamedCursor(generateAggregateCursor(allContent, previousCursors))))
         );
+
+        // Everything the aggregation does upstream is traced under this request's span
+        return tracer.traceRoot("aggregation.stream", Map.of("onefeed.amount", amount,
+            "onefeed.feeds", feeds.size(), "onefeed.paged", paged, "onefeed.authors", withAuthors),
+            stream);
+    }
+
+    /**
+     * Subscribes to the content of the given feeds as it enters OneFeed, whether through webhooks
+     * or refreshes, for as long as the client stays connected. Unlike
+     * {@link #getCustomAggregationStream}, only content that's new since subscribing is sent, so
+     * clients should fetch their initial page separately.
+     * </br></br>
+     * Clients that fall too far behind are disconnected and should resubscribe.
+     *
+     * @param customAggregation the feeds to subscribe to. Weights have no effect on live content.
+     *
+     * @return an endless stream of the feeds' new content, as server-sent events or
+     * newline-delimited JSON
+     */
+    @PostMapping(value = "/stream/live",
+        produces = {MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<StreamData> getLiveAggregationStream(
+        @RequestBody @Valid CustomAggregation customAggregation
+    ) {
+        // Fail fast on unknown feeds rather than subscribing to feeds that will never publish
+        List<FeedIdentifier> ids = new ArrayList<>(customAggregation.getWeightedFeeds().size());
+        for (WeightedFeed wf : customAggregation.getWeightedFeeds()) {
+            FeedIdentifier id = FeedIdentifier.fromIdString(wf.getFeedId());
+            feedRegistry.getFeed(id);
+            ids.add(id);
+        }
+
+        return liveFeedHub.subscribe(ids).map(StreamedContent::new);
     }
 
     /**
@@ -149,6 +216,9 @@ public class AggregationController implements AggregateCursorGenerator<OneFeedCo
      * @param includeAuthors whether to include the authors of the aggregated content
      *                       (optional, defaults to {@code true})
      * @param aggregateCursor the point to start retrieving content after, inclusively (optional)
+     * @param fields the comma-separated content fields to include, such as {@code title,media}, out
+     *               of {@code title}, {@code body}, {@code media}, {@code reactions}, and
+     *               {@code author} (optional, defaults to every field)
      *
      * @return complete, structured aggregation data of the desired amount of content from the given
      * feeds
@@ -158,10 +228,11 @@ public class AggregationController implements AggregateCursorGenerator<OneFeedCo
         @RequestParam @Min(1) int amount,
         @RequestBody @Valid CustomAggregation customAggregation,
         @RequestParam(defaultValue = "true") Boolean includeAuthors,
-        @RequestParam(required = false) String aggregateCursor
+        @RequestParam(required = false) String aggregateCursor,
+        @RequestParam(required = false) String fields
     ) {
-        Flux<StreamData> stream =
-            getCustomAggregationStream(amount, customAggregation, includeAuthors, aggregateCursor);
+        Flux<StreamData> stream = getCustomAggregationStream(amount, customAggregation,
+            includeAuthors, aggregateCursor, fields);
         List<StreamData> streamData = stream.collectList().block();
 
         List<NormalizedContent> content = new ArrayList<>();
@@ -230,6 +301,20 @@ public class AggregationController implements AggregateCursorGenerator<OneFeedCo
 
     @Override
     public String generateAggregateCursor(List<OneFeedContent> content) {
+        return generateAggregateCursor(content, Map.of());
+    }
+
+    /**
+     * Generates an aggregate cursor pointing just past the given content, keeping the previous
+     * cursors of feeds that have none of it.
+     *
+     * @param content the content to generate the aggregate cursor after
+     * @param previousCursors the cursors the content was aggregated after, if any
+     * @return the aggregate cursor
+     */
+    private String generateAggregateCursor(List<OneFeedContent> content,
+        Map<FeedIdentifier, OneFeedCursor> previousCursors
+    ) {
         List<OneFeedContent> sortedContent = new ArrayList<>(content);
         sortedContent.sort(Content::compareTo);
 
@@ -264,6 +349,8 @@ public class AggregationController implements AggregateCursorGenerator<OneFeedCo
             currentCursor.setIdOnPlatform(c.getSource().getIdOnPlatform());
         }
 
+        previousCursors.forEach(oldestFeedCursors::putIfAbsent);
+
         byte[] jsonBytes = jsonMapper.writeValueAsBytes(oldestFeedCursors);
         return Base64.getEncoder().encodeToString(jsonBytes);
     }
@@ -0,0 +1,345 @@
+package dev.jqb.onefeed.server.aggregation;
+
+import dev.jqb.onefeed.core.feed.FeedIdentifier;
+import dev.jqb.onefeed.server.config.AggregationMetricsConfig;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Records metrics along the aggregation path, so latency can be pinned on upstream fetches,
+ * normalization, ranking, or the cache
+ * </br></br>
+ * Fetches are timed per provider plugin and feed, both to their first item and to their end, along
+ * with how much of what was requested they returned. Cache reads and writes are timed per provider
+ * plugin and operation, with reads split into hits and misses. Whole aggregations are timed to
+ * their first item and to their end, and those that are cut are also timed to the cut being made.
+ * Normalization is timed by the {@link dev.jqb.onefeed.server.normalization.NormalizationStage}
+ * itself.
+ * </br></br>
+ * Only the first {@link AggregationMetricsConfig#getMaxTaggedFeeds()} feeds fetched are tagged with
+ * their own ID. The rest share the {@code other} tag, so the number of meters stays bounded however
+ * many feeds are registered.
+ */
+@Component
+public class AggregationMetrics {
+
+    /**
+     * The feed tag of feeds past the tagged feed limit
+     */
+    private static final String OTHER_FEEDS = "other";
+
+    private final AggregationMetricsConfig config;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * The ID strings of the feeds tagged with their own ID
+     */
+    private final Set<String> taggedFeeds = new HashSet<>();
+
+    private final ConcurrentHashMap<FeedIdentifier, FetchMeters> contentFetchMeters =
+        new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<FeedIdentifier, OutcomeTimers> authorFetchTimers =
+        new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer> cacheTimers = new ConcurrentHashMap<>();
+    private final AggregationMeters headMeters;
+    private final AggregationMeters pageMeters;
+
+    @Autowired
+    public AggregationMetrics(AggregationMetricsConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.headMeters = aggregationMeters("head");
+        this.pageMeters = aggregationMeters("page");
+    }
+
+    /**
+     * Times a fetch of a feed's content from its provider.
+     *
+     * @param feedId the ID of the feed being fetched
+     * @param requested the amount of content requested
+     * @param fetch the fetch to time
+     * @return the same fetch, timed on each subscription
+     */
+    public <T> Flux<T> timeFetch(FeedIdentifier feedId, int requested, Flux<T> fetch) {
+        FetchMeters meters = contentFetchMeters.computeIfAbsent(feedId, this::fetchMeters);
+        return Flux.defer(() -> {
+            long startedAt = System.nanoTime();
+            AtomicInteger returned = new AtomicInteger();
+            return fetch
+                .doOnNext(item -> {
+                    if (returned.getAndIncrement() == 0) {
+                        meters.firstItem().record(System.nanoTime() - startedAt,
+                            TimeUnit.NANOSECONDS);
+                    }
+                })
+                .doFinally(signal -> {
+                    meters.time().get(signal).record(System.nanoTime() - startedAt,
+                        TimeUnit.NANOSECONDS);
+                    if (signal == SignalType.ON_COMPLETE) {
+                        meters.returned().record(returned.get());
+                        if (requested > 0) {
+                            meters.fill().record((double) returned.get() / requested);
+                        }
+                    }
+                });
+        });
+    }
+
+    /**
+     * Times a fetch of a feed's author from its provider.
+     *
+     * @param feedId the ID of the feed whose author is being fetched
+     * @param fetch the fetch to time
+     * @return the same fetch, timed on each subscription
+     */
+    public <T> Mono<T> timeFetch(FeedIdentifier feedId, Mono<T> fetch) {
+        OutcomeTimers timers = authorFetchTimers.computeIfAbsent(feedId,
+            id -> outcomeTimers("onefeed.provider.fetch.time", "Time taken by fetches",
+                feedTags(id, "author")));
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return fetch.doFinally(signal -> timers.get(signal).record(
+                System.nanoTime() - startedAt, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    /**
+     * Times a read from the cache.
+     *
+     * @param pluginId the ID of the provider plugin whose data is read
+     * @param operation what's being read, such as {@code content} or {@code author}
+     * @param read the read to time
+     * @param isHit whether a read's result counts as a hit
+     * @return the result of the read
+     */
+    public <T> T timeCacheRead(String pluginId, String operation, Supplier<T> read,
+        Predicate<? super T> isHit
+    ) {
+        long startedAt = System.nanoTime();
+        T result = read.get();
+        cacheTimer("onefeed.cache.reads", "Time spent reading from the cache", pluginId,
+            operation, isHit.test(result) ? "hit" : "miss")
+            .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    /**
+     * Times a write to the cache.
+     *
+     * @param pluginId the ID of the provider plugin whose data is written
+     * @param operation what's being written, such as {@code content} or {@code author}
+     * @param write the write to time
+     */
+    public void timeCacheWrite(String pluginId, String operation, Runnable write) {
+        cacheTimer("onefeed.cache.writes", "Time spent writing to the cache", pluginId,
+            operation, null).record(write);
+    }
+
+    /**
+     * Times a whole aggregation, both to its first item and to its end.
+     *
+     * @param paging whether the aggregation continues an earlier one
+     * @param feeds the number of feeds aggregated
+     * @param aggregation the aggregation to time
+     * @return the same aggregation, timed on each subscription
+     */
+    public <T> Flux<T> timeAggregation(boolean paging, int feeds, Flux<T> aggregation) {
+        AggregationMeters meters = paging ? pageMeters : headMeters;
+        return Flux.defer(() -> {
+            long startedAt = System.nanoTime();
+            meters.feeds().record(feeds);
+            AtomicInteger emitted = new AtomicInteger();
+            return aggregation
+                .doOnNext(item -> {
+                    if (emitted.getAndIncrement() == 0) {
+                        meters.firstItem().record(System.nanoTime() - startedAt,
+                            TimeUnit.NANOSECONDS);
+                    }
+                })
+                .doFinally(signal -> meters.time().get(signal).record(
+                    System.nanoTime() - startedAt, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    /**
+     * Times the ranking of an aggregation's content, from its start until the amount asked for
+     * has been ranked and so the cut made, or the content has run out.
+     *
+     * @param paging whether the aggregation continues an earlier one
+     * @param amount the amount of content kept by the cut
+     * @param ranked the stream of ranked content to time
+     * @return the same stream, timed on each subscription
+     */
+    public <T> Flux<T> timeRanking(boolean paging, int amount, Flux<T> ranked) {
+        Timer ranking = (paging ? pageMeters : headMeters).ranking();
+        return Flux.defer(() -> {
+            long startedAt = System.nanoTime();
+            AtomicInteger count = new AtomicInteger();
+            return ranked
+                .doOnNext(item -> {
+                    if (count.incrementAndGet() == amount) {
+                        ranking.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    }
+                })
+                .doOnComplete(() -> {
+                    if (count.get() < amount) {
+                        ranking.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    }
+                });
+        });
+    }
+
+    /**
+     * Gets the tags of a feed's meters, tagging the feed with its own ID if it's among the first
+     * feeds tagged, or as {@code other} otherwise.
+     *
+     * @param feedId the ID of the feed
+     * @param kind the kind of data the meters are of
+     * @return the tags of the feed's meters
+     */
+    private Tags feedTags(FeedIdentifier feedId, String kind) {
+        String idString = feedId.toIdString();
+        String feed = OTHER_FEEDS;
+        synchronized (taggedFeeds) {
+            if (taggedFeeds.contains(idString)
+                || (taggedFeeds.size() < config.getMaxTaggedFeeds() && taggedFeeds.add(idString))
+            ) {
+                feed = idString;
+            }
+        }
+
+        return Tags.of("plugin", feedId.getProviderId(), "feed", feed, "kind", kind);
+    }
+
+    private FetchMeters fetchMeters(FeedIdentifier feedId) {
+        Tags tags = feedTags(feedId, "content");
+        return new FetchMeters(
+            timer("onefeed.provider.fetch.first", "Time from starting fetches to their first item")
+                .tags(tags)
+                .register(meterRegistry),
+            outcomeTimers("onefeed.provider.fetch.time", "Time taken by fetches", tags),
+            DistributionSummary.builder("onefeed.provider.fetch.items")
+                .description("Items returned by fetches")
+                .tags(tags)
+                .register(meterRegistry),
+            DistributionSummary.builder("onefeed.provider.fetch.fill")
+                .description("Share of the items requested that fetches returned")
+                .tags(tags)
+                .register(meterRegistry));
+    }
+
+    private AggregationMeters aggregationMeters(String mode) {
+        Tags tags = Tags.of("mode", mode);
+        return new AggregationMeters(
+            timer("onefeed.aggregation.first",
+                "Time from starting aggregations to their first item")
+                .tags(tags)
+                .register(meterRegistry),
+            outcomeTimers("onefeed.aggregation.time", "Time taken by whole aggregations", tags),
+            timer("onefeed.aggregation.ranking",
+                "Time from starting cut aggregations to their cut being made")
+                .tags(tags)
+                .register(meterRegistry),
+            DistributionSummary.builder("onefeed.aggregation.feeds")
+                .description("Feeds included in aggregations")
+                .tags(tags)
+                .register(meterRegistry));
+    }
+
+    private Timer cacheTimer(String name, String description, String pluginId, String operation,
+        @Nullable String result
+    ) {
+        return cacheTimers.computeIfAbsent(
+            name + ':' + pluginId + ':' + operation + ':' + result,
+            key -> {
+                Tags tags = Tags.of("plugin", pluginId, "operation", operation);
+                return timer(name, description)
+                    .tags(result == null ? tags : tags.and("result", result))
+                    .register(meterRegistry);
+            });
+    }
+
+    private OutcomeTimers outcomeTimers(String name, String description, Tags tags) {
+        return new OutcomeTimers(
+            timer(name, description).tags(tags).tag("outcome", "completed")
+                .register(meterRegistry),
+            timer(name, description).tags(tags).tag("outcome", "failed")
+                .register(meterRegistry),
+            timer(name, description).tags(tags).tag("outcome", "cancelled")
+                .register(meterRegistry));
+    }
+
+    /**
+     * Starts building a timer, publishing a histogram if configured to.
+     *
+     * @param name the name of the timer
+     * @param description the description of the timer
+     * @return the timer's builder
+     */
+    private Timer.Builder timer(String name, String description) {
+        Timer.Builder builder = Timer.builder(name).description(description);
+        if (config.isHistograms()) {
+            builder.publishPercentileHistogram()
+                .minimumExpectedValue(config.getMinExpectedDuration())
+                .maximumExpectedValue(config.getMaxExpectedDuration());
+        }
+        return builder;
+    }
+
+    /**
+     * The timers of a single operation, one per way it can end
+     *
+     * @param completed the timer of operations that completed
+     * @param failed the timer of operations that failed
+     * @param cancelled the timer of operations that were cancelled
+     */
+    private record OutcomeTimers(Timer completed, Timer failed, Timer cancelled) {
+
+        private Timer get(SignalType signal) {
+            return switch (signal) {
+                case ON_COMPLETE -> completed;
+                case ON_ERROR -> failed;
+                default -> cancelled;
+            };
+        }
+    }
+
+    /**
+     * The fetch metrics of a single feed's content
+     *
+     * @param firstItem the time to the first item of each fetch
+     * @param time the time to the end of each fetch
+     * @param returned the items returned by each fetch
+     * @param fill the share of the items requested returned by each fetch
+     */
+    private record FetchMeters(Timer firstItem, OutcomeTimers time, DistributionSummary returned,
+        DistributionSummary fill) {
+    }
+
+    /**
+     * The metrics of either aggregations of the heads of feeds or of later pages
+     *
+     * @param firstItem the time to the first item of each aggregation
+     * @param time the time to the end of each aggregation
+     * @param ranking the time to the cut of each aggregation that's cut
+     * @param feeds the feeds included in each aggregation
+     */
+    private record AggregationMeters(Timer firstItem, OutcomeTimers time, Timer ranking,
+        DistributionSummary feeds) {
+    }
+}
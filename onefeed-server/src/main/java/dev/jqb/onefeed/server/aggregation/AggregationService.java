@@ -4,22 +4,53 @@ import dev.jqb.onefeed.core.aggregation.AggregationOptions;
 import dev.jqb.onefeed.core.aggregation.Aggregator;
 import dev.jqb.onefeed.core.author.PlatformAuthor;
 import dev.jqb.onefeed.core.caching.Cacher;
+import dev.jqb.onefeed.core.caching.ContiguityIndex;
+import dev.jqb.onefeed.core.caching.NegativeCache;
+import dev.jqb.onefeed.core.content.Content;
+import dev.jqb.onefeed.core.content.ContentIdentifier;
 import dev.jqb.onefeed.core.content.ContentNormalizer;
+import dev.jqb.onefeed.core.content.FieldProjection;
 import dev.jqb.onefeed.core.content.PlatformContent;
 import dev.jqb.onefeed.core.content.PlatformCursor;
 import dev.jqb.onefeed.core.feed.Feed;
 import dev.jqb.onefeed.core.feed.FeedIdentifier;
+import dev.jqb.onefeed.core.feed.FeedValidator;
+import dev.jqb.onefeed.core.provider.CircuitBreaker;
+import dev.jqb.onefeed.core.provider.CircuitBreakingProvider;
+import dev.jqb.onefeed.core.provider.CircuitOpenException;
+import dev.jqb.onefeed.core.provider.DrainableProvider;
 import dev.jqb.onefeed.core.provider.Provider;
+import dev.jqb.onefeed.core.provider.RateLimitedException;
 import dev.jqb.onefeed.core.impl.OneFeedContent;
+import dev.jqb.onefeed.core.impl.OneFeedCursor;
+import dev.jqb.onefeed.server.config.AggregationCutConfig;
+import dev.jqb.onefeed.server.live.LiveFeedHub;
+import dev.jqb.onefeed.server.normalization.NormalizationStage;
+import dev.jqb.onefeed.server.tracing.Span;
+import dev.jqb.onefeed.server.tracing.Tracer;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import lombok.Getter;
 import lombok.Setter;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Responsible for aggregating content from {@link Provider}s
@@ -37,36 +68,78 @@ public class AggregationService implements Aggregator<OneFeedContent> {
     @Getter
     private Cacher cache;
 
+    /**
+     * The record of feeds whose content fetches have recently failed
+     */
+    private final NegativeCache<FeedIdentifier> feedFailureCache;
+
+    /**
+     * The hub through which newly fetched content is pushed to live subscribers
+     */
+    private final LiveFeedHub liveFeedHub;
+
+    /**
+     * The stage that normalizes content as it arrives from providers
+     */
+    private final NormalizationStage normalizationStage;
+
+    /**
+     * The store of content fetched but cut from aggregations, held raw for their next pages
+     */
+    private final LeftoverStore leftoverStore;
+
+    /**
+     * The configuration of when aggregations are cut down to the amount asked for
+     */
+    private final AggregationCutConfig cutConfig;
+
+    /**
+     * The record of which fetched content directly follows which, for serving pages from the cache
+     */
+    private final ContiguityIndex contiguityIndex;
+
+    /**
+     * The scheduler the cache's blocking calls are made on, off the threads delivering content
+     */
+    private final Scheduler cacheScheduler;
+
+    /**
+     * The metrics recorded along the aggregation path
+     */
+    private final AggregationMetrics metrics;
+
+    /**
+     * The tracer recording spans around the aggregation's provider and cache calls
+     */
+    private final Tracer tracer;
+
+    @Autowired
+    public AggregationService(
+        @Qualifier("feedFailureCache") NegativeCache<FeedIdentifier> feedFailureCache,
+        LiveFeedHub liveFeedHub, NormalizationStage normalizationStage,
+        LeftoverStore leftoverStore, AggregationCutConfig cutConfig,
+        ContiguityIndex contiguityIndex, Scheduler cacheScheduler, AggregationMetrics metrics,
+        Tracer tracer
+    ) {
+        this.feedFailureCache = feedFailureCache;
+        this.liveFeedHub = liveFeedHub;
+        this.normalizationStage = normalizationStage;
+        this.leftoverStore = leftoverStore;
+        this.cutConfig = cutConfig;
+        this.contiguityIndex = contiguityIndex;
+        this.cacheScheduler = cacheScheduler;
+        this.metrics = metrics;
+        this.tracer = tracer;
+    }
+
     @Override
     public Flux<OneFeedContent> aggregate(
         int amount,
         List<Feed<? extends PlatformContent, ? extends PlatformAuthor>> feeds,
         AggregationOptions options
     ) {
-        Map<FeedIdentifier, Integer> targetAmounts = options.getTargetAmounts(amount);
-        List<Flux<OneFeedContent>> normalizedContentStreams = new ArrayList<>(feeds.size());
-
-        for (Feed<? extends PlatformContent, ? extends PlatformAuthor> feed : feeds) {
-            Provider<? extends PlatformContent, ? extends PlatformAuthor> provider = feed.getProvider();
-            ContentNormalizer<PlatformContent, OneFeedContent> contentNormalizer =
-                (ContentNormalizer<PlatformContent, OneFeedContent>) provider.getContentNormalizer();
-            String feedName = feed.getId().getFeedName();
-
-            // TODO check cache first
-            Flux<? extends PlatformContent> feedStream = provider.fetchRecentContent(feedName,
-                targetAmounts.get(feed.getId()));
-
-            normalizedContentStreams.add(
-                feedStream
-                    .map(contentNormalizer::normalize)
-                    .doOnError(err -> logger.warn(
-                        "Error fetching content from feed '{}': {}", feedName, err.getStackTrace()))
-                    .onErrorComplete()
-            );
-        }
-
-        return Flux.merge(normalizedContentStreams)
-            .doOnNext(this::cacheIfAble);
+        return Flux.deferContextual(context -> aggregate(amount, feeds,
+            new Run(Map.of(), false, options.getProjection(), Tracer.current(context)), options));
     }
 
     @Override
@@ -75,41 +148,669 @@ public class AggregationService implements Aggregator<OneFeedContent> {
         List<Feed<? extends PlatformContent, ? extends PlatformAuthor>> feeds,
         Map<FeedIdentifier, ? extends PlatformCursor> cursors,
         AggregationOptions options
+    ) {
+        return Flux.deferContextual(context -> aggregate(amount, feeds,
+            new Run(cursors, true, options.getProjection(), Tracer.current(context)), options));
+    }
+
+    /**
+     * Checks whether the given feed is degraded, such that its content is only being served from
+     * the cache because its provider's circuit isn't closed.
+     *
+     * @param feed the feed to check
+     * @return {@code true} if the feed's content is only being served from the cache
+     */
+    public boolean isDegraded(Feed<? extends PlatformContent, ? extends PlatformAuthor> feed) {
+        CircuitBreakingProvider<?, ?> guarded =
+            feed.getProvider().unwrap(CircuitBreakingProvider.class);
+        return guarded != null && guarded.getBreaker().getState() != CircuitBreaker.State.CLOSED;
+    }
+
+    /**
+     * Aggregates the given {@code amount} of content from the given feeds.
+     * </br></br>
+     * Each feed's target amount is rounded up, so together they may add up to more than was asked
+     * for. When they overshoot by less than {@link AggregationCutConfig#getMinOvershoot()} of the
+     * amount, each feed's content is normalized and streamed as soon as it arrives, overshoot and
+     * all. Otherwise, the feeds' raw content is ranked on when it was published as it arrives, so
+     * only the newest {@code amount} are normalized. The rest are kept raw as leftovers for the
+     * next page.
+     *
+     * @param amount the target amount of content to aggregate
+     * @param feeds the feeds to aggregate content from
+     * @param run the aggregation's shared state
+     * @param options the options to adjust the contents of the aggregation
+     * @return a stream of the aggregated, normalized content
+     */
+    private Flux<OneFeedContent> aggregate(
+        int amount,
+        List<Feed<? extends PlatformContent, ? extends PlatformAuthor>> feeds,
+        Run run,
+        AggregationOptions options
     ) {
         Map<FeedIdentifier, Integer> targetAmounts = options.getTargetAmounts(amount);
-        List<Flux<OneFeedContent>> normalizedContentStreams = new ArrayList<>(feeds.size());
+        List<Flux<Content>> contentStreams = new ArrayList<>(feeds.size());
+        int targetSum = 0;
 
         for (Feed<? extends PlatformContent, ? extends PlatformAuthor> feed : feeds) {
-            Provider<? extends PlatformContent, ? extends PlatformAuthor> provider = feed.getProvider();
-            ContentNormalizer<PlatformContent, OneFeedContent> contentNormalizer =
-                (ContentNormalizer<PlatformContent, OneFeedContent>) provider.getContentNormalizer();
-            String feedName = feed.getId().getFeedName();
+            int targetAmount = targetAmounts.get(feed.getId());
+            targetSum += targetAmount;
+            contentStreams.add(fetchFeed(feed, targetAmount, run));
+        }
 
-            // TODO check cache first
+        Flux<OneFeedContent> aggregation;
+        int overshoot = targetSum - amount;
+        if (overshoot <= 0 || overshoot < amount * cutConfig.getMinOvershoot()) {
+            List<Flux<OneFeedContent>> normalizedContentStreams = new ArrayList<>(feeds.size());
+            for (int i = 0; i < feeds.size(); i++) {
+                normalizedContentStreams.add(resolve(feeds.get(i), contentStreams.get(i), run));
+            }
+            aggregation = Flux.merge(normalizedContentStreams);
+        } else {
+            aggregation = cut(amount, feeds, contentStreams, run);
+        }
 
-            Flux<? extends PlatformContent> feedStream = provider.fetchRecentContent(feedName,
-                targetAmounts.get(feed.getId()), cursors.get(feed.getId()));
+        return metrics.timeAggregation(run.paging(), feeds.size(),
+            holdProviders(feeds, aggregation));
+    }
 
-            normalizedContentStreams.add(
-                feedStream
-                    .map(contentNormalizer::normalize)
-                    .doOnError(err -> logger.warn(
-                        "Error fetching content from feed '{}': {}", feedName, err.getStackTrace()))
-                    .onErrorComplete()
-            );
+    /**
+     * Holds the given feeds' providers in flight for the whole of the given aggregation, since
+     * their content is normalized, cached and kept as leftovers well after their fetches finish.
+     * A plugin reloaded in the meantime isn't retired until the aggregation is done with it.
+     *
+     * @param feeds the feeds aggregated
+     * @param aggregation the aggregation
+     * @return the same aggregation, holding the feeds' providers while it's subscribed to
+     */
+    private static Flux<OneFeedContent> holdProviders(
+        List<Feed<? extends PlatformContent, ? extends PlatformAuthor>> feeds,
+        Flux<OneFeedContent> aggregation
+    ) {
+        Set<DrainableProvider<?, ?>> providers = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Feed<? extends PlatformContent, ? extends PlatformAuthor> feed : feeds) {
+            DrainableProvider<?, ?> provider = feed.getProvider().unwrap(DrainableProvider.class);
+            if (provider != null && providers.add(provider)) {
+                aggregation = provider.hold(aggregation);
+            }
         }
+        return aggregation;
+    }
 
-        return Flux.merge(normalizedContentStreams)
-            .doOnNext(this::cacheIfAble);
+    /**
+     * Cuts the given feeds' content down to the newest {@code amount}, normalizing only what makes
+     * the cut and keeping the rest as leftovers.
+     * </br></br>
+     * Providers return their content newest first, so merging the feeds on when their content was
+     * published ranks it as it arrives. Each piece of content is passed on as soon as every feed
+     * has either returned content older than it or run out, rather than once every feed is done.
+     *
+     * @param amount the amount of content to keep
+     * @param feeds the feeds the content comes from
+     * @param contentStreams each feed's stream of content, raw or already normalized
+     * @param run the aggregation's shared state
+     * @return a stream of the normalized content that made the cut
+     */
+    @SuppressWarnings("unchecked")
+    private Flux<OneFeedContent> cut(
+        int amount,
+        List<Feed<? extends PlatformContent, ? extends PlatformAuthor>> feeds,
+        List<Flux<Content>> contentStreams,
+        Run run
+    ) {
+        Flux<Content> merged = Flux.mergeComparing(Comparator.<Content>naturalOrder(),
+            contentStreams.toArray(Flux[]::new));
+        Flux<Ranked> ranked = merged.index((rank, content) ->
+            new Ranked(rank, content.getFeedIdentifier().toIdString(), content));
+        ranked = metrics.timeRanking(run.paging(), amount,
+            tracer.trace("aggregation.rank", Map.of("onefeed.feeds", feeds.size()), ranked));
+
+        return ranked.publish(shared -> {
+            List<Flux<OneFeedContent>> normalizedContentStreams = new ArrayList<>(feeds.size());
+            for (Feed<? extends PlatformContent, ? extends PlatformAuthor> feed : feeds) {
+                String feedId = feed.getId().toIdString();
+                normalizedContentStreams.add(cutFeed(feed, amount,
+                    shared.filter(item -> item.feedId().equals(feedId)), run));
+            }
+            return Flux.merge(normalizedContentStreams);
+        });
+    }
+
+    /**
+     * Normalizes a single feed's ranked content that makes the cut, keeping the rest as leftovers.
+     * A feed's content is ranked in the order its provider returned it, so once one piece of it
+     * misses the cut, the rest does too.
+     *
+     * @param feed the feed the content came from
+     * @param amount the amount of content kept across every feed
+     * @param ranked the feed's ranked content, raw or already normalized
+     * @param run the aggregation's shared state
+     * @return a stream of the feed's normalized content that made the cut
+     */
+    private Flux<OneFeedContent> cutFeed(
+        Feed<? extends PlatformContent, ? extends PlatformAuthor> feed,
+        int amount,
+        Flux<Ranked> ranked,
+        Run run
+    ) {
+        FeedIdentifier feedId = feed.getId();
+        return Flux.defer(() -> {
+            // Live subscribers are owed new content whether it made the cut or not
+            boolean live = run.cursors().get(feedId) == null && run.projection().isAll()
+                && liveFeedHub.hasSubscribers(feedId);
+            AtomicReference<Content> lastKept = new AtomicReference<>();
+            List<Content> cut = new ArrayList<>();
+
+            Flux<Content> kept = ranked
+                .<Content>handle((item, sink) -> {
+                    if (item.rank() < amount) {
+                        lastKept.set(item.content());
+                        sink.next(item.content());
+                    } else {
+                        cut.add(item.content());
+                    }
+                })
+                .doOnComplete(() -> {
+                    if (cut.isEmpty()) {
+                        return;
+                    }
+
+                    // The cache won't hold the feed's whole head, so its validator can't vouch
+                    run.validators().remove(feedId);
+                    if (!live) {
+                        keepLeftovers(feed, lastKept.get(), cut, run);
+                    }
+                });
+
+            Flux<OneFeedContent> normalized = resolve(feed, kept, run);
+            if (live) {
+                normalized = normalized.concatWith(Flux.defer(() ->
+                    resolve(feed, Flux.fromIterable(cut), run).ignoreElements()));
+            }
+            return normalized;
+        });
+    }
+
+    /**
+     * Stores a feed's cut content as leftovers for the page after, if it's all raw, complete, and
+     * directly follows a known point in the feed.
+     *
+     * @param feed the feed the content came from
+     * @param lastKept the feed's last content that made the cut, if any did
+     * @param cut the feed's content that didn't make the cut, in order
+     * @param run the aggregation's shared state
+     */
+    private void keepLeftovers(Feed<? extends PlatformContent, ? extends PlatformAuthor> feed,
+        @Nullable Content lastKept, List<Content> cut, Run run
+    ) {
+        if (!run.projection().isAll()) {
+            return;
+        }
+
+        List<PlatformContent> raw = new ArrayList<>(cut.size());
+        for (Content content : cut) {
+            if (!(content instanceof PlatformContent platformContent)) {
+                // Content from the cache is mixed in, so the leftovers may not be contiguous
+                return;
+            }
+            raw.add(platformContent);
+        }
+
+        FeedIdentifier feedId = feed.getId();
+        PlatformCursor cursor = run.cursors().get(feedId);
+        String afterId;
+        if (lastKept != null) {
+            afterId = lastKept.getSource().getIdOnPlatform();
+        } else if (cursor == null) {
+            afterId = null;
+        } else if (cursor instanceof OneFeedCursor oneFeedCursor) {
+            afterId = oneFeedCursor.getIdOnPlatform();
+        } else {
+            return;
+        }
+
+        leftoverStore.put(feedId, afterId, raw, feed.getProvider());
+    }
+
+    /**
+     * Fetches the given {@code amount} of content from a single feed, without normalizing it.
+     * Feeds that have been failing are skipped in favor of whatever the cache has until their
+     * backoff expires, as are feeds whose provider is over its rate limit or has its circuit open.
+     * </br></br>
+     * Later pages are served from the cache instead when the content following the cursor is known
+     * to be cached without gaps, or else from the feed's leftovers when it has enough of them. Both
+     * are looked up on subscription, on the cache scheduler like any other cache read. Runs of
+     * content fetched from the provider are recorded as contiguous for later pages to rely on.
+     *
+     * @param feed the feed to fetch content from
+     * @param amount the target amount of content to fetch
+     * @param run the aggregation's shared state
+     * @return a stream of the feed's content, raw if it came from its provider or leftovers, or
+     * normalized if it came from the cache
+     */
+    private Flux<Content> fetchFeed(
+        Feed<? extends PlatformContent, ? extends PlatformAuthor> feed,
+        int amount,
+        Run run
+    ) {
+        PlatformCursor cursor = run.cursors().get(feed.getId());
+        boolean knownCursor = cursor == null || cursor instanceof OneFeedCursor;
+        String afterId = cursor instanceof OneFeedCursor oneFeedCursor
+            ? oneFeedCursor.getIdOnPlatform()
+            : null;
+        boolean fromLeftovers = run.paging() && run.projection().isAll() && knownCursor;
+
+        Flux<Content> fetched = Flux.defer(() -> fetchFromProvider(feed, amount, run));
+        if (afterId == null && !fromLeftovers) {
+            return fetched;
+        }
+
+        return Mono.fromCallable(() -> fetchStoredPage(feed, amount, afterId, fromLeftovers, run))
+            .subscribeOn(cacheScheduler)
+            .flatMapMany(page -> Flux.<Content>fromIterable(page))
+            .switchIfEmpty(fetched);
+    }
+
+    /**
+     * Gets the given {@code amount} of a feed's content following its cursor from the cache, if
+     * it's all known to be cached without gaps, or else from the feed's leftovers.
+     *
+     * @param feed the feed whose content to get
+     * @param amount the amount of content to get
+     * @param afterIdOnPlatform the platform ID of the content the page starts after, or
+     *                          {@code null} if it starts at the head of the feed
+     * @param fromLeftovers whether the page may be served from the feed's leftovers
+     * @param run the aggregation's shared state
+     * @return the page, normalized if it came from the cache or raw if it came from the feed's
+     * leftovers, or {@code null} if neither can serve all of it
+     */
+    private @Nullable List<? extends Content> fetchStoredPage(
+        Feed<? extends PlatformContent, ? extends PlatformAuthor> feed,
+        int amount,
+        @Nullable String afterIdOnPlatform,
+        boolean fromLeftovers,
+        Run run
+    ) {
+        FeedIdentifier feedId = feed.getId();
+        if (afterIdOnPlatform != null) {
+            List<OneFeedContent> cached =
+                fetchContiguousFromCache(feedId, amount, afterIdOnPlatform, run);
+            if (cached != null) {
+                logger.trace("Serving page of feed '{}' from cache", feedId.toIdString());
+                return cached;
+            }
+        }
+
+        if (fromLeftovers) {
+            List<PlatformContent> leftovers =
+                leftoverStore.take(feedId, afterIdOnPlatform, amount, feed.getProvider());
+            if (leftovers != null) {
+                logger.trace("Serving feed '{}' from its leftovers", feedId.toIdString());
+                return leftovers;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Fetches the given {@code amount} of content from a single feed's provider, without
+     * normalizing it, unless the feed is being skipped.
+     *
+     * @param feed the feed to fetch content from
+     * @param amount the target amount of content to fetch
+     * @param run the aggregation's shared state
+     * @return a stream of the feed's content, raw if it came from its provider or normalized if it
+     * came from the cache
+     */
+    private Flux<Content> fetchFromProvider(
+        Feed<? extends PlatformContent, ? extends PlatformAuthor> feed,
+        int amount,
+        Run run
+    ) {
+        FeedIdentifier feedId = feed.getId();
+        String feedName = feedId.getFeedName();
+        PlatformCursor cursor = run.cursors().get(feedId);
+        FieldProjection projection = run.projection();
+        boolean knownCursor = cursor == null || cursor instanceof OneFeedCursor;
+        String afterId = cursor instanceof OneFeedCursor oneFeedCursor
+            ? oneFeedCursor.getIdOnPlatform()
+            : null;
+
+        if (feedFailureCache.isNegative(feedId)) {
+            logger.debug("Skipping recently failing feed '{}', serving from cache",
+                feedId.toIdString());
+            return fetchFromCache(feedId, amount, cursor, run).cast(Content.class);
+        }
+
+        Provider<? extends PlatformContent, ? extends PlatformAuthor> provider = feed.getProvider();
+        Flux<? extends Content> contentStream;
+        String fetchSpanName;
+        if (cursor == null && cache != null && projection.isAll()) {
+            // Only records runs it actually fetches, rather than ones served from the cache
+            contentStream = fetchHeadIfModified(feed, amount, run);
+            fetchSpanName = "provider.fetchRecentContentIfModified";
+        } else {
+            fetchSpanName = "provider.fetchRecentContent";
+            if (!projection.isAll()) {
+                contentStream = cursor == null
+                    ? provider.fetchRecentContent(feedName, amount, projection)
+                    : provider.fetchRecentContent(feedName, amount, cursor, projection);
+            } else {
+                contentStream = cursor == null
+                    ? provider.fetchRecentContent(feedName, amount)
+                    : provider.fetchRecentContent(feedName, amount, cursor);
+            }
+            if (knownCursor) {
+                contentStream = recordRun(feedId, afterId, contentStream);
+            }
+        }
+        contentStream = metrics.timeFetch(feedId, amount, tracer.trace(fetchSpanName,
+            Map.of("onefeed.plugin", feedId.getProviderId(), "onefeed.feed", feedId.toIdString(),
+                "onefeed.amount", amount, "onefeed.paged", cursor != null),
+            contentStream));
+
+        return Flux.<Content>from(contentStream)
+            .doOnComplete(() -> feedFailureCache.recordSuccess(feedId))
+            .onErrorResume(CircuitOpenException.class, err -> {
+                logger.debug("Circuit for feed '{}' is open, serving from cache",
+                    feedId.toIdString());
+                return fetchFromCache(feedId, amount, cursor, run);
+            })
+            .onErrorResume(RateLimitedException.class, err -> {
+                logger.debug("Feed '{}' is over its rate limit, serving from cache: {}",
+                    feedId.toIdString(), err.getMessage());
+                return fetchFromCache(feedId, amount, cursor, run);
+            })
+            .doOnError(err -> {
+                Duration backoff = feedFailureCache.recordFailure(feedId);
+                logger.warn("Error fetching content from feed '{}', backing off for {}: {}",
+                    feedName, backoff, err.getStackTrace());
+            })
+            .onErrorComplete();
+    }
+
+    /**
+     * Normalizes whatever of a single feed's content is still raw, caching it along the way, and
+     * applies the aggregation's projection to all of it.
+     * </br></br>
+     * Content fetched under a partial projection is never cached, since it may be missing fields
+     * that later, fuller requests need. Fully fetched heads of feeds are also published to live
+     * subscribers, who only receive what's new to them.
+     *
+     * @param feed the feed the content came from
+     * @param content the feed's content, raw or already normalized
+     * @param run the aggregation's shared state
+     * @return a stream of the feed's normalized content
+     */
+    private Flux<OneFeedContent> resolve(
+        Feed<? extends PlatformContent, ? extends PlatformAuthor> feed,
+        Flux<? extends Content> content,
+        Run run
+    ) {
+        FeedIdentifier feedId = feed.getId();
+        FieldProjection projection = run.projection();
+        ContentNormalizer<PlatformContent, OneFeedContent> contentNormalizer =
+            (ContentNormalizer<PlatformContent, OneFeedContent>) feed.getProvider()
+                .getContentNormalizer();
+
+        return Flux.<Content>from(content)
+            .publish(shared -> {
+                Flux<OneFeedContent> normalized = normalizationStage.normalize(
+                    shared.ofType(PlatformContent.class), contentNormalizer,
+                    feedId.getProviderId());
+                if (projection.isAll()) {
+                    // Cached in order, so the feed's validator is only cached after its content
+                    normalized = normalized.publishOn(cacheScheduler)
+                        .doOnNext(item -> cacheIfAble(item, run));
+                    if (run.cursors().get(feedId) == null) {
+                        normalized = normalized.doOnNext(liveFeedHub::publish);
+                    }
+                }
+                return Flux.merge(shared.ofType(OneFeedContent.class), normalized);
+            })
+            .map(projection::apply)
+            .doOnComplete(() -> {
+                FeedValidator validator = run.validators().remove(feedId);
+                if (validator != null && cache != null) {
+                    Cacher<OneFeedContent, ?> contentCache = (Cacher<OneFeedContent, ?>) cache;
+                    writeCache(run, feedId.getProviderId(), "validator",
+                        () -> contentCache.cacheValidator(feedId, validator));
+                }
+            })
+            .doOnError(err -> {
+                Duration backoff = feedFailureCache.recordFailure(feedId);
+                logger.warn("Error normalizing content from feed '{}', backing off for {}: {}",
+                    feedId.getFeedName(), backoff, err.getStackTrace());
+            })
+            .onErrorComplete();
+    }
+
+    /**
+     * Fetches the given {@code amount} of a feed's most recent content, unless the feed hasn't
+     * changed since its content was last cached, in which case the cached content is served
+     * without being downloaded or normalized again. The feed's new validator, if any, is left in
+     * the run to be cached once the content it vouches for is.
+     *
+     * @param feed the feed to fetch content from
+     * @param amount the target amount of content to fetch
+     * @param run the aggregation's shared state
+     * @return a stream of the feed's content, raw if fetched or normalized if cached
+     */
+    private Flux<Content> fetchHeadIfModified(
+        Feed<? extends PlatformContent, ? extends PlatformAuthor> feed,
+        int amount,
+        Run run
+    ) {
+        FeedIdentifier feedId = feed.getId();
+        Provider<PlatformContent, ?> provider = (Provider<PlatformContent, ?>) feed.getProvider();
+        Cacher<OneFeedContent, ?> contentCache = (Cacher<OneFeedContent, ?>) cache;
+
+        return Flux.defer(() -> {
+            // A validator is only worth sending if the cache can serve the whole request alone
+            String pluginId = feedId.getProviderId();
+            FeedValidator validator = readCache(run, pluginId, "validator",
+                () -> contentCache.fetchValidator(feedId), found -> found != null);
+            List<OneFeedContent> cached = validator == null
+                ? List.of()
+                : readCache(run, pluginId, "content",
+                    () -> contentCache.fetchRecentContent(feedId, amount),
+                    found -> found.size() >= amount);
+            if (cached.size() < amount) {
+                validator = null;
+            }
+
+            return provider.fetchRecentContentIfModified(feedId.getFeedName(), amount, validator)
+                .flatMapMany(result -> {
+                    if (result.isNotModified()) {
+                        logger.trace("Feed '{}' not modified, serving from cache",
+                            feedId.toIdString());
+                        return Flux.<Content>fromIterable(cached);
+                    }
+
+                    Flux<Content> fresh = Flux.from(
+                        recordRun(feedId, null, result.getContent()));
+                    FeedValidator nextValidator = result.getValidator();
+                    if (nextValidator == null) {
+                        return fresh;
+                    }
+                    return fresh.doOnComplete(() ->
+                        run.validators().put(feedId, nextValidator));
+                });
+        }).subscribeOn(cacheScheduler);
+    }
+
+    /**
+     * Records the content a provider returns as a contiguous run once it's all been returned.
+     *
+     * @param feedId the ID of the feed the content is fetched from
+     * @param afterIdOnPlatform the platform ID of the content the run is fetched after, or
+     *                          {@code null} if it's fetched from the head of the feed
+     * @param content the stream of fetched content
+     * @return the same stream of content
+     */
+    private Flux<? extends Content> recordRun(FeedIdentifier feedId,
+        @Nullable String afterIdOnPlatform, Flux<? extends Content> content
+    ) {
+        return Flux.defer(() -> {
+            List<String> ids = new ArrayList<>();
+            return content
+                .doOnNext(item -> ids.add(item.getSource().getIdOnPlatform()))
+                .doOnComplete(() -> contiguityIndex.recordRun(feedId, afterIdOnPlatform, ids));
+        });
+    }
+
+    /**
+     * Gets the given {@code amount} of a feed's content following the given content from the
+     * cache, but only if all of it is known to directly follow on the platform and is still cached.
+     *
+     * @param feedId the ID of the feed whose content to get
+     * @param amount the amount of content to get
+     * @param afterIdOnPlatform the platform ID of the content to get the content following
+     * @param run the aggregation's shared state
+     * @return the cached content, or {@code null} if the cache can't serve all of it without gaps
+     */
+    private @Nullable List<OneFeedContent> fetchContiguousFromCache(FeedIdentifier feedId,
+        int amount, String afterIdOnPlatform, Run run
+    ) {
+        if (cache == null) {
+            return null;
+        }
+
+        List<String> contiguousRun = contiguityIndex.runAfter(feedId, afterIdOnPlatform, amount);
+        if (contiguousRun.size() < amount) {
+            return null;
+        }
+
+        Cacher<OneFeedContent, ?> contentCache = (Cacher<OneFeedContent, ?>) cache;
+        ContentIdentifier after = new ContentIdentifier(feedId.getProviderId(),
+            feedId.getFeedName(), afterIdOnPlatform);
+        List<OneFeedContent> cached = readCache(run, feedId.getProviderId(), "page",
+            () -> contentCache.fetchRecentContent(feedId, amount, after),
+            found -> found.size() == contiguousRun.size());
+
+        // Anything evicted or never cached shows up as a mismatch against the run
+        if (cached.size() != contiguousRun.size()) {
+            return null;
+        }
+        for (int i = 0; i < contiguousRun.size(); i++) {
+            if (!contiguousRun.get(i).equals(cached.get(i).getSource().getIdOnPlatform())) {
+                return null;
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Gets the given {@code amount} of a feed's content from the cache, if the cache is set.
+     *
+     * @param feedId the ID of the feed whose content to get
+     * @param amount the target amount of content to get
+     * @param cursor the reference point to start getting content after, if any
+     * @param run the aggregation's shared state
+     * @return a stream of the cached content, empty if there is no cache
+     */
+    private Flux<OneFeedContent> fetchFromCache(FeedIdentifier feedId, int amount,
+        @Nullable PlatformCursor cursor, Run run
+    ) {
+        if (cache == null) {
+            return Flux.empty();
+        }
+
+        Cacher<OneFeedContent, ?> contentCache = (Cacher<OneFeedContent, ?>) cache;
+        String pluginId = feedId.getProviderId();
+        return Flux.defer(() -> {
+            if (cursor instanceof OneFeedCursor oneFeedCursor) {
+                ContentIdentifier after = new ContentIdentifier(pluginId, feedId.getFeedName(),
+                    oneFeedCursor.getIdOnPlatform());
+                return Flux.fromIterable(readCache(run, pluginId, "page",
+                    () -> contentCache.fetchRecentContent(feedId, amount, after),
+                    found -> !found.isEmpty()));
+            }
+
+            return Flux.fromIterable(readCache(run, pluginId, "content",
+                () -> contentCache.fetchRecentContent(feedId, amount),
+                found -> !found.isEmpty()));
+        }).subscribeOn(cacheScheduler);
     }
 
     /**
      * Caches the given content if the cache is set.
+     *
      * @param content the piece of {@link OneFeedContent} to cache if the cache is set
+     * @param run the aggregation's shared state
      */
-    private void cacheIfAble(OneFeedContent content) {
+    private void cacheIfAble(OneFeedContent content, Run run) {
         if (cache != null) {
-            cache.cacheContent(List.of(content));
+            Cacher<OneFeedContent, ?> contentCache = (Cacher<OneFeedContent, ?>) cache;
+            writeCache(run, content.getFeedIdentifier().getProviderId(), "content",
+                () -> contentCache.cacheContent(List.of(content)));
+        }
+    }
+
+    /**
+     * Reads from the cache, timing the read and tracing it as part of the aggregation.
+     *
+     * @param run the aggregation's shared state
+     * @param pluginId the ID of the provider plugin whose content is read
+     * @param operation what's being read
+     * @param read the read
+     * @param isHit whether the read's result counts as a hit
+     * @return the result of the read
+     */
+    private <T> T readCache(Run run, String pluginId, String operation, Supplier<T> read,
+        Predicate<? super T> isHit
+    ) {
+        return tracer.trace("cache.read",
+            Map.of("onefeed.plugin", pluginId, "onefeed.operation", operation), run.span(),
+            () -> metrics.timeCacheRead(pluginId, operation, read, isHit));
+    }
+
+    /**
+     * Writes to the cache, timing the write and tracing it as part of the aggregation.
+     *
+     * @param run the aggregation's shared state
+     * @param pluginId the ID of the provider plugin whose content is written
+     * @param operation what's being written
+     * @param write the write
+     */
+    private void writeCache(Run run, String pluginId, String operation, Runnable write) {
+        tracer.trace("cache.write",
+            Map.of("onefeed.plugin", pluginId, "onefeed.operation", operation), run.span(),
+            () -> metrics.timeCacheWrite(pluginId, operation, write));
+    }
+
+    /**
+     * A piece of content ranked among every feed's content of an aggregation
+     *
+     * @param rank the content's rank, 0 being the newest
+     * @param feedId the ID string of the feed the content came from
+     * @param content the content, raw or already normalized
+     */
+    private record Ranked(long rank, String feedId, Content content) {
+    }
+
+    /**
+     * The state shared by every feed of a single aggregation
+     *
+     * @param cursors the reference point to start fetching each feed's content from, if any
+     * @param paging whether the aggregation continues an earlier one, whose leftovers it may be
+     *               served from
+     * @param projection the fields of the content actually needed
+     * @param span the span of the request the aggregation is part of, if it's traced
+     * @param validators the validators of feeds whose heads were fetched, waiting to be cached
+     *                   once the content they vouch for is
+     */
+    private record Run(
+        Map<FeedIdentifier, ? extends PlatformCursor> cursors,
+        boolean paging,
+        FieldProjection projection,
+        @Nullable Span span,
+        Map<FeedIdentifier, FeedValidator> validators
+    ) {
+        private Run(Map<FeedIdentifier, ? extends PlatformCursor> cursors, boolean paging,
+            FieldProjection projection, @Nullable Span span
+        ) {
+            this(cursors, paging, projection, span, new ConcurrentHashMap<>());
         }
     }
 }
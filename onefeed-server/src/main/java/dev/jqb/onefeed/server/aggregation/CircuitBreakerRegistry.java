@@ -0,0 +1,94 @@
+package dev.jqb.onefeed.server.aggregation;
+
+import dev.jqb.onefeed.core.author.PlatformAuthor;
+import dev.jqb.onefeed.core.content.PlatformContent;
+import dev.jqb.onefeed.core.provider.CircuitBreaker;
+import dev.jqb.onefeed.core.provider.CircuitBreakerConfig;
+import dev.jqb.onefeed.core.provider.CircuitBreakingProvider;
+import dev.jqb.onefeed.core.provider.OneFeedProviderPlugin;
+import dev.jqb.onefeed.core.provider.Provider;
+import dev.jqb.onefeed.core.provider.ProviderConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import org.pf4j.PluginWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * A registry of the {@link CircuitBreaker} of each provider plugin, exposing their state as metrics
+ */
+@Component
+public class CircuitBreakerRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreakerRegistry.class);
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, List<Meter>> pluginIdToMeters =
+        new ConcurrentHashMap<>();
+
+    @Autowired
+    public CircuitBreakerRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Wraps a provider plugin's provider in a circuit breaker, if its configuration enables one.
+     *
+     * @param wrapper the wrapper of the provider plugin whose provider to guard
+     * @param plugin the provider plugin instance
+     * @param provider the provider to guard, which may already be wrapped
+     * @return the guarded provider, or {@code provider} itself if it isn't guarded
+     */
+    public Provider<? extends PlatformContent, ? extends PlatformAuthor> registerBreakerFor(
+        PluginWrapper wrapper, OneFeedProviderPlugin plugin,
+        Provider<? extends PlatformContent, ? extends PlatformAuthor> provider
+    ) {
+        ProviderConfig providerConfig = plugin.getProviderConfig();
+        if (providerConfig == null || !providerConfig.getCircuitBreaker().isEnabled()) {
+            return provider;
+        }
+
+        String pluginId = wrapper.getPluginId();
+        CircuitBreakerConfig config = providerConfig.getCircuitBreaker();
+        logger.debug("Guarding plugin '{}' with a circuit breaker opening at a {} failure rate",
+            pluginId, config.getFailureRateThreshold());
+
+        CircuitBreaker breaker = new CircuitBreaker(config);
+        Tags tags = Tags.of("plugin", pluginId);
+        pluginIdToMeters.put(pluginId, List.of(
+            Gauge.builder("onefeed.provider.circuit.state", breaker, b -> b.getState().ordinal())
+                .description("State of the provider's circuit (0 closed, 1 open, 2 half-open)")
+                .tags(tags)
+                .register(meterRegistry),
+            Gauge.builder("onefeed.provider.circuit.failure.rate", breaker,
+                    CircuitBreaker::getFailureRate)
+                .description("Fraction of the provider's recent calls that failed")
+                .tags(tags)
+                .register(meterRegistry),
+            FunctionCounter.builder("onefeed.provider.circuit.opened", breaker,
+                    CircuitBreaker::getOpenCount)
+                .description("Times the provider's circuit has opened")
+                .tags(tags)
+                .register(meterRegistry)
+        ));
+
+        return new CircuitBreakingProvider<>(provider, breaker, config.getCallTimeout());
+    }
+
+    /**
+     * Removes the metrics of a provider plugin's circuit breaker, if it has one.
+     * @param wrapper the wrapper of the provider plugin whose circuit breaker to deregister
+     */
+    public void deregisterBreakerFor(PluginWrapper wrapper) {
+        List<Meter> meters = pluginIdToMeters.remove(wrapper.getPluginId());
+        if (meters != null) {
+            meters.forEach(meterRegistry::remove);
+        }
+    }
+}
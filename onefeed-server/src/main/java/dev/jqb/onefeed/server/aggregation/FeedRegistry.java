@@ -6,26 +6,49 @@ import dev.jqb.onefeed.core.feed.Feed;
 import dev.jqb.onefeed.core.feed.FeedIdentifier;
 import dev.jqb.onefeed.core.feed.UnknownFeedIdException;
 import dev.jqb.onefeed.core.provider.Provider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
 import org.pf4j.PluginWrapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
  * A registry of feed names to their providers
+ * </br></br>
+ * Lookups read an immutable snapshot of the registry and never block, returning {@link Feed}s built
+ * once, around their interned {@link FeedIdentifier}, when their plugin was registered.
+ * Registrations are far rarer, so each builds and publishes a new snapshot, with every change a
+ * single registration makes becoming visible at once.
+ * </br></br>
+ * The number of registered feeds and plugins providing them are exposed as metrics.
  */
 @Component
 public class FeedRegistry {
     private static final Logger logger = LoggerFactory.getLogger(FeedRegistry.class);
 
-    private final ConcurrentHashMap<
-        FeedIdentifier,
-        Provider<? extends PlatformContent, ? extends PlatformAuthor>
-        > feedIdToProvider = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, List<String>> pluginIdToFeedNames = new ConcurrentHashMap<>();
+    /**
+     * The current snapshot of the registry
+     */
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of());
+
+    @Autowired
+    public FeedRegistry(MeterRegistry meterRegistry) {
+        Gauge.builder("onefeed.feeds.registered", this,
+                registry -> registry.snapshot.feeds().size())
+            .description("Feeds registered to be aggregated")
+            .register(meterRegistry);
+        Gauge.builder("onefeed.feeds.providers", this,
+                registry -> registry.snapshot.pluginIdToFeeds().size())
+            .description("Provider plugins with registered feeds")
+            .register(meterRegistry);
+    }
 
     /**
      * Register all feeds that a provider plugin is responsible for.
@@ -39,17 +62,32 @@ public class FeedRegistry {
         Provider<? extends PlatformContent, ? extends PlatformAuthor> provider,
         List<String> feedNames
     ) {
-        String pluginId = wrapper.getPluginId();
         logger.debug("Associating feed names with provider instance '{}'...",
-            pluginId);
-
-        for (String feedName : feedNames) {
-            FeedIdentifier id = new FeedIdentifier(pluginId, feedName);
-            feedIdToProvider.put(id, provider);
-            pluginIdToFeedNames.computeIfAbsent(pluginId, k -> new ArrayList<>())
-                .add(feedName);
-            logger.trace("Associated feed '{}'", feedName);
-        }
+            wrapper.getPluginId());
+        publishFeedsFor(wrapper.getPluginId(), provider, feedNames);
+    }
+
+    /**
+     * Swaps the provider of every feed a provider plugin is responsible for over to a new version
+     * of the plugin.
+     * </br></br>
+     * The plugin's feeds are swapped over and any feed the new version no longer serves is dropped
+     * in a single step, so lookups never miss a feed both versions serve.
+     *
+     * @param wrapper the wrapper of the new version of the provider plugin
+     * @param provider the new version's provider
+     * @param feedNames the names of the feeds that the new version is responsible for
+     * @return the provider the plugin's feeds were registered with before, or {@code null} if none
+     * were
+     */
+    public @Nullable Provider<? extends PlatformContent, ? extends PlatformAuthor> swapFeedsFor(
+        PluginWrapper wrapper,
+        Provider<? extends PlatformContent, ? extends PlatformAuthor> provider,
+        List<String> feedNames
+    ) {
+        logger.debug("Swapping feeds of plugin '{}' over to its new provider instance...",
+            wrapper.getPluginId());
+        return publishFeedsFor(wrapper.getPluginId(), provider, feedNames);
     }
 
     /**
@@ -59,14 +97,7 @@ public class FeedRegistry {
     public void deregisterFeedsFor(PluginWrapper wrapper) {
         String pluginId = wrapper.getPluginId();
         logger.debug("Unregistering feeds for plugin '{}'", pluginId);
-        List<String> feedNames = pluginIdToFeedNames.remove(pluginId);
-        if (feedNames != null) {
-            for (String feedName : feedNames) {
-                FeedIdentifier id = new FeedIdentifier(pluginId, feedName);
-                feedIdToProvider.remove(id);
-                logger.trace("Unregistered feed '{}'", feedName);
-            }
-        }
+        publishFeedsFor(pluginId, null, List.of());
     }
 
     /**
@@ -79,24 +110,124 @@ public class FeedRegistry {
     public Provider<? extends PlatformContent, ? extends PlatformAuthor> getProvider(
         FeedIdentifier feedId
     ) {
-        return feedIdToProvider.get(feedId);
+        Feed<? extends PlatformContent, ? extends PlatformAuthor> feed =
+            snapshot.feeds().get(feedId);
+        return feed == null ? null : feed.getProvider();
+    }
+
+    /**
+     * Gets the provider of the given provider plugin.
+     * @param pluginId the ID of the provider plugin whose provider to retrieve
+     * @return the plugin's provider or {@code null} if the plugin has no registered feeds
+     */
+    public Provider<? extends PlatformContent, ? extends PlatformAuthor> getProviderFor(
+        String pluginId
+    ) {
+        List<Feed<? extends PlatformContent, ? extends PlatformAuthor>> feeds =
+            snapshot.pluginIdToFeeds().get(pluginId);
+        if (feeds == null || feeds.isEmpty()) {
+            return null;
+        }
+
+        return feeds.getFirst().getProvider();
     }
 
     /**
      * Gets the feed for the given feed ID.
      * @param feedId the ID of the feed whose provider to retrieve
-     * @return the feed for the given feed ID or {@code null} if no such feed exists
+     * @return the feed for the given feed ID
+     * @throws UnknownFeedIdException if no such feed exists
      *
      * @see FeedIdentifier#toIdString()
      */
     public Feed<? extends PlatformContent, ? extends PlatformAuthor> getFeed(
         FeedIdentifier feedId
     ) {
-        Provider<? extends PlatformContent, ? extends PlatformAuthor> provider = getProvider(feedId);
-        if (provider == null) {
+        Feed<? extends PlatformContent, ? extends PlatformAuthor> feed =
+            snapshot.feeds().get(feedId);
+        if (feed == null) {
             throw new UnknownFeedIdException(feedId);
         }
 
-        return new Feed<>(feedId, getProvider(feedId));
+        return feed;
+    }
+
+    /**
+     * Gets every registered feed.
+     * @return an unmodifiable list of every registered feed, in no specific order
+     */
+    public List<Feed<? extends PlatformContent, ? extends PlatformAuthor>> getFeeds() {
+        return snapshot.allFeeds();
+    }
+
+    /**
+     * Publishes a new snapshot in which a provider plugin's feeds are exactly those given, all
+     * provided by the given provider.
+     *
+     * @param pluginId the ID of the provider plugin
+     * @param provider the provider of the plugin's feeds, or {@code null} to drop them all
+     * @param feedNames the names of the plugin's feeds
+     * @return the provider the plugin's feeds were registered with before, or {@code null} if none
+     * were
+     */
+    private synchronized @Nullable Provider<? extends PlatformContent, ? extends PlatformAuthor>
+    publishFeedsFor(String pluginId,
+        @Nullable Provider<? extends PlatformContent, ? extends PlatformAuthor> provider,
+        List<String> feedNames
+    ) {
+        Snapshot current = snapshot;
+        Map<FeedIdentifier, Feed<? extends PlatformContent, ? extends PlatformAuthor>> feeds =
+            new HashMap<>(current.feeds());
+        Map<String, List<Feed<? extends PlatformContent, ? extends PlatformAuthor>>>
+            pluginIdToFeeds = new HashMap<>(current.pluginIdToFeeds());
+
+        List<Feed<? extends PlatformContent, ? extends PlatformAuthor>> previous =
+            pluginIdToFeeds.remove(pluginId);
+        if (previous != null) {
+            for (Feed<? extends PlatformContent, ? extends PlatformAuthor> feed : previous) {
+                feeds.remove(feed.getId());
+                logger.trace("Unregistered feed '{}'", feed.getId().getFeedName());
+            }
+        }
+
+        if (provider != null && !feedNames.isEmpty()) {
+            List<Feed<? extends PlatformContent, ? extends PlatformAuthor>> pluginFeeds =
+                new ArrayList<>(feedNames.size());
+            for (String feedName : feedNames) {
+                // Every identifier of the feed and its content shares the interned ID's strings
+                FeedIdentifier id = FeedIdentifier.intern(pluginId, feedName);
+                Feed<? extends PlatformContent, ? extends PlatformAuthor> feed =
+                    new Feed<>(id, provider);
+                feeds.put(id, feed);
+                pluginFeeds.add(feed);
+                logger.trace("Associated feed '{}'", feedName);
+            }
+            pluginIdToFeeds.put(pluginId, List.copyOf(pluginFeeds));
+        }
+
+        snapshot = new Snapshot(feeds, pluginIdToFeeds);
+        return previous == null || previous.isEmpty() ? null : previous.getFirst().getProvider();
+    }
+
+    /**
+     * An immutable state of the registry
+     *
+     * @param feeds every registered feed, indexed by its ID
+     * @param pluginIdToFeeds the feeds of each provider plugin, indexed by the plugin's ID
+     * @param allFeeds every registered feed
+     */
+    private record Snapshot(
+        Map<FeedIdentifier, Feed<? extends PlatformContent, ? extends PlatformAuthor>> feeds,
+        Map<String, List<Feed<? extends PlatformContent, ? extends PlatformAuthor>>>
+            pluginIdToFeeds,
+        List<Feed<? extends PlatformContent, ? extends PlatformAuthor>> allFeeds
+    ) {
+        private Snapshot(
+            Map<FeedIdentifier, Feed<? extends PlatformContent, ? extends PlatformAuthor>> feeds,
+            Map<String, List<Feed<? extends PlatformContent, ? extends PlatformAuthor>>>
+                pluginIdToFeeds
+        ) {
+            this(Map.copyOf(feeds), Map.copyOf(pluginIdToFeeds), List.copyOf(feeds.values()));
+        }
     }
 }
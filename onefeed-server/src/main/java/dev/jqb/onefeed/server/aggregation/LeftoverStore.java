@@ -0,0 +1,204 @@
+package dev.jqb.onefeed.server.aggregation;
+
+import dev.jqb.onefeed.core.caching.ExpiryWheel;
+import dev.jqb.onefeed.core.content.PlatformContent;
+import dev.jqb.onefeed.core.feed.FeedIdentifier;
+import dev.jqb.onefeed.core.provider.Provider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A short-lived store of the raw content an aggregation fetched but cut, kept so the next page of
+ * the aggregation can be served without fetching it again
+ * </br></br>
+ * Leftovers are kept exactly as their provider returned them, so content that's never asked for is
+ * never normalized. Each feed's leftovers are stored under the content they directly follow, being
+ * the oldest content of the feed that made the cut, or the feed's cursor if none did. They're taken
+ * back only by a page that starts right where they begin and can be served by them alone, since
+ * otherwise the feed has to be fetched anyway.
+ * </br></br>
+ * The store holds at most a fixed number of feeds' leftovers, dropping the oldest first, and each
+ * expires after a fixed time so stale content isn't served as a later page.
+ * </br></br>
+ * Leftovers are made of their provider plugin's classes, so they're only taken back through the
+ * same provider they were fetched through. Once a plugin is reloaded, its leftovers are dropped.
+ */
+public class LeftoverStore {
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final ExpiryWheel<Key> expiry;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    /**
+     * Constructs a new {@code LeftoverStore}.
+     *
+     * @param maxEntries the most feeds' leftovers to hold at once
+     * @param ttl how long leftovers may be held before they're considered stale
+     * @param tickDuration the resolution of leftover expiry
+     * @param meterRegistry the registry to report the store's metrics to
+     */
+    public LeftoverStore(int maxEntries, Duration ttl, Duration tickDuration,
+        MeterRegistry meterRegistry
+    ) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Max entries must be at least 1");
+        }
+
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.expiry = new ExpiryWheel<>(tickDuration, Instant.now());
+
+        Gauge.builder("onefeed.aggregation.leftovers", this, LeftoverStore::size)
+            .description("Feeds with fetched but unserved content held for their next page")
+            .register(meterRegistry);
+        this.hitCounter = lookupCounter(meterRegistry, "hit");
+        this.missCounter = lookupCounter(meterRegistry, "miss");
+    }
+
+    /**
+     * Stores a feed's leftovers, replacing any already stored after the same content.
+     *
+     * @param feedId the ID of the feed the leftovers came from
+     * @param afterIdOnPlatform the platform ID of the content the leftovers directly follow, or
+     *                          {@code null} if they start at the head of the feed
+     * @param content the leftovers, in the order their provider returned them
+     * @param provider the provider the leftovers were fetched through
+     */
+    public void put(FeedIdentifier feedId, @Nullable String afterIdOnPlatform,
+        List<? extends PlatformContent> content, Provider<?, ?> provider
+    ) {
+        if (content.isEmpty()) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        synchronized (this) {
+            evictExpired(now);
+            store(new Key(feedId.toIdString(), afterIdOnPlatform),
+                new Entry(feedId.getProviderId(), List.copyOf(content), now.plus(ttl), provider));
+        }
+    }
+
+    /**
+     * Takes the given {@code amount} of a feed's leftovers, if enough are stored after the given
+     * content. Whatever leftovers remain are kept for the page after.
+     *
+     * @param feedId the ID of the feed whose leftovers to take
+     * @param afterIdOnPlatform the platform ID of the content the page starts after, or
+     *                          {@code null} if it starts at the head of the feed
+     * @param amount the amount of content the page needs
+     * @param provider the provider the page would otherwise be fetched through
+     * @return the raw content to serve, or {@code null} if not enough is stored through the same
+     * provider
+     */
+    public @Nullable List<PlatformContent> take(FeedIdentifier feedId,
+        @Nullable String afterIdOnPlatform, int amount, Provider<?, ?> provider
+    ) {
+        Key key = new Key(feedId.toIdString(), afterIdOnPlatform);
+
+        synchronized (this) {
+            evictExpired(Instant.now());
+            Entry entry = entries.remove(key);
+            if (entry != null) {
+                expiry.cancel(key);
+            }
+
+            // Another version of the plugin can't make sense of these, and too few leftovers means
+            // the feed has to be fetched anyway, refetching these with it
+            if (entry == null || entry.provider() != provider || entry.content().size() < amount) {
+                missCounter.increment();
+                return null;
+            }
+
+            List<PlatformContent> taken = entry.content().subList(0, amount);
+            if (entry.content().size() > amount) {
+                String lastId = taken.getLast().getSource().getIdOnPlatform();
+                store(new Key(key.feedId(), lastId), new Entry(entry.pluginId(),
+                    entry.content().subList(amount, entry.content().size()), entry.expireOn(),
+                    provider));
+            }
+
+            hitCounter.increment();
+            return taken;
+        }
+    }
+
+    /**
+     * Drops every leftover of the given provider plugin's feeds.
+     * @param pluginId the ID of the provider plugin whose leftovers to drop
+     */
+    public synchronized void dropLeftoversOf(String pluginId) {
+        Iterator<Map.Entry<Key, Entry>> stored = entries.entrySet().iterator();
+        while (stored.hasNext()) {
+            Map.Entry<Key, Entry> entry = stored.next();
+            if (entry.getValue().pluginId().equals(pluginId)) {
+                expiry.cancel(entry.getKey());
+                stored.remove();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of feeds with leftovers stored.
+     * @return the number of feeds with leftovers stored
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void store(Key key, Entry entry) {
+        entries.put(key, entry);
+        expiry.schedule(key, entry.expireOn());
+
+        Iterator<Key> eldest = entries.keySet().iterator();
+        while (entries.size() > maxEntries) {
+            expiry.cancel(eldest.next());
+            eldest.remove();
+        }
+    }
+
+    private void evictExpired(Instant now) {
+        for (Key expired : expiry.advanceTo(now)) {
+            entries.remove(expired);
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("onefeed.aggregation.leftovers.lookups")
+            .description("Attempts to serve a page of a feed from its leftovers, by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Where a feed's leftovers begin
+     *
+     * @param feedId the ID string of the feed the leftovers came from
+     * @param afterIdOnPlatform the platform ID of the content the leftovers directly follow, or
+     *                          {@code null} if they start at the head of the feed
+     */
+    private record Key(String feedId, @Nullable String afterIdOnPlatform) {}
+
+    /**
+     * A feed's leftovers
+     *
+     * @param pluginId the ID of the provider plugin the leftovers came from
+     * @param content the leftovers, in the order their provider returned them
+     * @param expireOn when the leftovers become stale
+     * @param provider the provider the leftovers were fetched through
+     */
+    private record Entry(String pluginId, List<PlatformContent> content, Instant expireOn,
+        Provider<?, ?> provider) {}
+}
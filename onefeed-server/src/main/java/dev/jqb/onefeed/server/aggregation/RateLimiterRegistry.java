@@ -0,0 +1,104 @@
+package dev.jqb.onefeed.server.aggregation;
+
+import dev.jqb.onefeed.core.author.PlatformAuthor;
+import dev.jqb.onefeed.core.content.PlatformContent;
+import dev.jqb.onefeed.core.provider.OneFeedProviderPlugin;
+import dev.jqb.onefeed.core.provider.Provider;
+import dev.jqb.onefeed.core.provider.ProviderConfig;
+import dev.jqb.onefeed.core.provider.RateLimitConfig;
+import dev.jqb.onefeed.core.provider.RateLimitedProvider;
+import dev.jqb.onefeed.core.provider.RateLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import org.pf4j.PluginWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * A registry of the {@link RateLimiter} of each provider plugin, exposing their state as metrics
+ */
+@Component
+public class RateLimiterRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiterRegistry.class);
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, List<Meter>> pluginIdToMeters =
+        new ConcurrentHashMap<>();
+
+    @Autowired
+    public RateLimiterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Wraps a provider plugin's provider in a rate limiter, if its configuration enables one.
+     *
+     * @param wrapper the wrapper of the provider plugin whose provider to limit
+     * @param plugin the provider plugin instance
+     * @return the rate-limited provider, or the plugin's provider itself if it isn't rate limited
+     */
+    public Provider<? extends PlatformContent, ? extends PlatformAuthor> registerLimiterFor(
+        PluginWrapper wrapper, OneFeedProviderPlugin plugin
+    ) {
+        Provider<? extends PlatformContent, ? extends PlatformAuthor> provider = plugin.getProvider();
+        ProviderConfig providerConfig = plugin.getProviderConfig();
+        if (providerConfig == null || !providerConfig.getRateLimit().isEnabled()) {
+            return provider;
+        }
+
+        String pluginId = wrapper.getPluginId();
+        RateLimitConfig config = providerConfig.getRateLimit();
+        logger.debug("Limiting requests of plugin '{}' to {}/s (burst {})", pluginId,
+            config.getRequestsPerSecond(), config.getBurst());
+
+        RateLimiter limiter = new RateLimiter(config);
+        Tags tags = Tags.of("plugin", pluginId);
+        pluginIdToMeters.put(pluginId, List.of(
+            Gauge.builder("onefeed.provider.rate.limit", limiter, RateLimiter::getRate)
+                .description("Requests per second currently allowed to the provider")
+                .tags(tags)
+                .register(meterRegistry),
+            Gauge.builder("onefeed.provider.rate.limit.tokens", limiter,
+                    RateLimiter::getAvailableTokens)
+                .description("Requests that may be made to the provider without waiting")
+                .tags(tags)
+                .register(meterRegistry),
+            Gauge.builder("onefeed.provider.rate.limit.queue.delay", limiter,
+                    l -> l.getQueueDelay().toNanos() / 1e9)
+                .description("How long a request to the provider would currently wait its turn")
+                .baseUnit("seconds")
+                .tags(tags)
+                .register(meterRegistry),
+            FunctionCounter.builder("onefeed.provider.rate.limit.shed", limiter,
+                    RateLimiter::getShedCount)
+                .description("Requests shed in favor of cached content for waiting too long")
+                .tags(tags)
+                .register(meterRegistry),
+            FunctionCounter.builder("onefeed.provider.rate.limit.throttled", limiter,
+                    RateLimiter::getThrottleCount)
+                .description("Times the provider reported being rate limited upstream")
+                .tags(tags)
+                .register(meterRegistry)
+        ));
+
+        return new RateLimitedProvider<>(provider, limiter, config.getMaxQueueWait());
+    }
+
+    /**
+     * Removes the metrics of a provider plugin's rate limiter, if it has one.
+     * @param wrapper the wrapper of the provider plugin whose rate limiter to deregister
+     */
+    public void deregisterLimiterFor(PluginWrapper wrapper) {
+        List<Meter> meters = pluginIdToMeters.remove(wrapper.getPluginId());
+        if (meters != null) {
+            meters.forEach(meterRegistry::remove);
+        }
+    }
+}
@@ -3,20 +3,35 @@ package dev.jqb.onefeed.server.author;
 import dev.jqb.onefeed.core.author.AuthorNormalizer;
 import dev.jqb.onefeed.core.author.PlatformAuthor;
 import dev.jqb.onefeed.core.caching.Cacher;
+import dev.jqb.onefeed.core.caching.NegativeCache;
 import dev.jqb.onefeed.core.author.Author;
 import dev.jqb.onefeed.core.content.PlatformContent;
 import dev.jqb.onefeed.core.feed.Feed;
+import dev.jqb.onefeed.core.feed.FeedIdentifier;
 import dev.jqb.onefeed.core.impl.OneFeedAuthor;
+import dev.jqb.onefeed.core.provider.CircuitOpenException;
+import dev.jqb.onefeed.core.provider.DrainableProvider;
 import dev.jqb.onefeed.core.provider.Provider;
+import dev.jqb.onefeed.core.provider.RateLimitedException;
+import dev.jqb.onefeed.server.aggregation.AggregationMetrics;
+import dev.jqb.onefeed.server.normalization.NormalizationStage;
+import dev.jqb.onefeed.server.tracing.Span;
+import dev.jqb.onefeed.server.tracing.Tracer;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import lombok.Getter;
 import lombok.Setter;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Responsible for retrieving author data from {@link Provider}s
@@ -34,6 +49,44 @@ public class AuthorService {
     @Getter
     private Cacher cache;
 
+    /**
+     * The record of feeds whose author fetches have recently failed
+     */
+    private final NegativeCache<FeedIdentifier> authorFailureCache;
+
+    /**
+     * The stage that normalizes authors as they arrive from providers
+     */
+    private final NormalizationStage normalizationStage;
+
+    /**
+     * The scheduler the cache's blocking calls are made on, off the threads delivering authors
+     */
+    private final Scheduler cacheScheduler;
+
+    /**
+     * The metrics recorded along the aggregation path, authors included
+     */
+    private final AggregationMetrics metrics;
+
+    /**
+     * The tracer recording spans around the provider and cache calls for authors
+     */
+    private final Tracer tracer;
+
+    @Autowired
+    public AuthorService(
+        @Qualifier("authorFailureCache") NegativeCache<FeedIdentifier> authorFailureCache,
+        NormalizationStage normalizationStage, Scheduler cacheScheduler,
+        AggregationMetrics metrics, Tracer tracer
+    ) {
+        this.authorFailureCache = authorFailureCache;
+        this.normalizationStage = normalizationStage;
+        this.cacheScheduler = cacheScheduler;
+        this.metrics = metrics;
+        this.tracer = tracer;
+    }
+
     /**
      * Gets the authors of the given feeds.
      * @param feeds the {@link Feed}s whose authors to retrieve
@@ -46,31 +99,99 @@ public class AuthorService {
         List<Mono<? extends OneFeedAuthor>> normalizedAuthorMonos = new ArrayList<>(feeds.size());
 
         for (Feed<? extends PlatformContent, ? extends PlatformAuthor> feed : feeds) {
+            FeedIdentifier feedId = feed.getId();
+            if (authorFailureCache.isNegative(feedId)) {
+                logger.debug("Skipping recently failing feed '{}', serving author from cache",
+                    feedId.toIdString());
+                normalizedAuthorMonos.add(fetchFromCache(feedId));
+                continue;
+            }
+
             Provider<? extends PlatformContent, ? extends PlatformAuthor> provider = feed.getProvider();
-            Mono<? extends PlatformAuthor> authorMono = provider.fetchAuthor(feed.getId().getFeedName());
+            Mono<? extends PlatformAuthor> authorMono = metrics.timeFetch(feedId,
+                tracer.trace("provider.fetchAuthor", spanAttributes(feedId),
+                    provider.fetchAuthor(feedId.getFeedName())));
             AuthorNormalizer<PlatformAuthor, OneFeedAuthor> authorNormalizer =
                 (AuthorNormalizer<PlatformAuthor, OneFeedAuthor>) provider.getAuthorNormalizer();
 
-            normalizedAuthorMonos.add(
-                authorMono
-                    .map(authorNormalizer::normalize)
-                    .doOnError(err -> logger.warn(
-                        "Error fetching author from feed '{}': {}", feed.getId().getFeedName(),
-                        err.getStackTrace()))
-                    .onErrorComplete()
-            );
+            Mono<? extends OneFeedAuthor> normalizedAuthorMono =
+                normalizationStage.normalize(authorMono, authorNormalizer, feedId.getProviderId())
+                    .publishOn(cacheScheduler)
+                    .doOnEach(signal -> {
+                        if (signal.isOnNext()) {
+                            cacheIfAble(signal.get(), Tracer.current(signal.getContextView()));
+                        }
+                    })
+                    .doOnSuccess(author -> authorFailureCache.recordSuccess(feedId))
+                    .onErrorResume(CircuitOpenException.class, err -> {
+                        logger.debug("Circuit for feed '{}' is open, serving author from cache",
+                            feedId.toIdString());
+                        return fetchFromCache(feedId);
+                    })
+                    .onErrorResume(RateLimitedException.class, err -> {
+                        logger.debug("Feed '{}' is over its rate limit, serving author from cache",
+                            feedId.toIdString());
+                        return fetchFromCache(feedId);
+                    })
+                    .doOnError(err -> {
+                        Duration backoff = authorFailureCache.recordFailure(feedId);
+                        logger.warn("Error fetching author from feed '{}', backing off for {}: {}",
+                            feedId.getFeedName(), backoff, err.getStackTrace());
+                    })
+                    .onErrorComplete();
+
+            // The author is normalized with the provider's plugin after its fetch finishes
+            DrainableProvider<?, ?> drainable = provider.unwrap(DrainableProvider.class);
+            normalizedAuthorMonos.add(drainable == null
+                ? normalizedAuthorMono
+                : drainable.hold(normalizedAuthorMono));
         }
 
-        return Flux.merge(normalizedAuthorMonos).doOnNext(this::cacheIfAble);
+        return Flux.merge(normalizedAuthorMonos);
+    }
+
+    /**
+     * Gets the given feed's author from the cache, if the cache is set.
+     * @param feedId the ID of the feed whose author to get
+     * @return the cached author, empty if there is no cache or it has no such author
+     */
+    private Mono<OneFeedAuthor> fetchFromCache(FeedIdentifier feedId) {
+        if (cache == null) {
+            return Mono.empty();
+        }
+
+        Cacher<?, ?> authorCache = cache;
+        return Mono.deferContextual(context -> Mono.justOrEmpty(tracer.trace("cache.read",
+                spanAttributes(feedId), Tracer.current(context),
+                () -> metrics.timeCacheRead(feedId.getProviderId(), "author",
+                    () -> (OneFeedAuthor) authorCache.fetchAuthor(feedId),
+                    found -> found != null))))
+            .subscribeOn(cacheScheduler);
     }
 
     /**
      * Caches the given author if the cache is set.
+     *
      * @param author the {@link Author} to cache if the cache is set
+     * @param span the span of the request the author is fetched for, if it's traced
      */
-    private void cacheIfAble(OneFeedAuthor author) {
+    private void cacheIfAble(OneFeedAuthor author, @Nullable Span span) {
         if (cache != null) {
-            cache.cacheContent(List.of(author));
+            Cacher<?, OneFeedAuthor> authorCache = (Cacher<?, OneFeedAuthor>) cache;
+            FeedIdentifier feedId = author.getFeedIdentifier();
+            tracer.trace("cache.write", spanAttributes(feedId), span,
+                () -> metrics.timeCacheWrite(feedId.getProviderId(), "author",
+                    () -> authorCache.cacheAuthors(List.of(author))));
         }
     }
+
+    /**
+     * Gets the attributes describing an operation on a feed's author, for its span.
+     * @param feedId the ID of the feed whose author is operated on
+     * @return the span attributes
+     */
+    private static Map<String, Object> spanAttributes(FeedIdentifier feedId) {
+        return Map.of("onefeed.plugin", feedId.getProviderId(), "onefeed.feed",
+            feedId.toIdString(), "onefeed.operation", "author");
+    }
 }
@@ -0,0 +1,186 @@
+package dev.jqb.onefeed.server.caching;
+
+import dev.jqb.onefeed.core.aggregation.AggregationOptions;
+import dev.jqb.onefeed.core.author.PlatformAuthor;
+import dev.jqb.onefeed.core.content.PlatformContent;
+import dev.jqb.onefeed.core.feed.Feed;
+import dev.jqb.onefeed.core.feed.FeedIdentifier;
+import dev.jqb.onefeed.core.feed.MalformedFeedIdException;
+import dev.jqb.onefeed.core.feed.UnknownFeedIdException;
+import dev.jqb.onefeed.server.aggregation.AggregationService;
+import dev.jqb.onefeed.server.aggregation.FeedRegistry;
+import dev.jqb.onefeed.server.author.AuthorService;
+import dev.jqb.onefeed.server.config.CacheWarmupConfig;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Prefetches the most recent content and authors of hot feeds into the cache at startup, so the
+ * first requests after a deploy don't all miss the cache and hit upstream APIs at once
+ * </br></br>
+ * Feeds are warmed in parallel, with a bounded number in flight per provider. Warming either holds
+ * up startup until done or runs in the background, in which case this reports the application as
+ * out of service to the readiness probe until done. It's left out of the overall health, since a
+ * warm-up says nothing of whether the application is healthy.
+ */
+@Component
+public class CacheWarmer implements HealthIndicator {
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmer.class);
+
+    private final CacheWarmupConfig config;
+    private final FeedRegistry feedRegistry;
+    private final CacherRegistry cacherRegistry;
+    private final AggregationService aggregationService;
+    private final AuthorService authorService;
+
+    /**
+     * Whether a warm-up is currently in progress
+     */
+    private volatile boolean warming = false;
+
+    @Autowired
+    public CacheWarmer(CacheWarmupConfig config, FeedRegistry feedRegistry,
+        CacherRegistry cacherRegistry, AggregationService aggregationService,
+        AuthorService authorService
+    ) {
+        this.config = config;
+        this.feedRegistry = feedRegistry;
+        this.cacherRegistry = cacherRegistry;
+        this.aggregationService = aggregationService;
+        this.authorService = authorService;
+    }
+
+    /**
+     * Warms the cache as configured, either blocking until done or kicking it off in the
+     * background.
+     */
+    public void warmUp() {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        if (cacherRegistry.getCacher() == null) {
+            logger.warn("Cache warm-up is enabled, but no cacher is registered. Skipping.");
+            return;
+        }
+
+        List<Feed<? extends PlatformContent, ? extends PlatformAuthor>> feeds = findFeedsToWarm();
+        logger.info("Warming the cache for {} feeds{}...", feeds.size(),
+            config.isBackground() ? " in the background" : "");
+
+        AtomicInteger warmedFeeds = new AtomicInteger();
+        long startNanos = System.nanoTime();
+        Mono<Void> warmup = warmFeeds(feeds, warmedFeeds)
+            .timeout(config.getTimeout())
+            .doOnSubscribe(s -> warming = true)
+            .doOnError(err -> logger.warn("Cache warm-up stopped early: {}", err.toString()))
+            .onErrorComplete()
+            .doFinally(signal -> {
+                warming = false;
+                logger.info("Warmed the cache for {}/{} feeds in {}", warmedFeeds.get(),
+                    feeds.size(), Duration.ofNanos(System.nanoTime() - startNanos));
+            });
+
+        if (config.isBackground()) {
+            warming = true;
+            warmup.subscribe();
+        } else {
+            warmup.block();
+        }
+    }
+
+    @Override
+    public Health health() {
+        if (warming) {
+            return Health.outOfService().withDetail("reason", "Warming the cache").build();
+        }
+        return Health.up().build();
+    }
+
+    /**
+     * Warms each of the given feeds, with at most the configured amount in flight per provider.
+     *
+     * @param feeds the feeds to warm
+     * @param warmedFeeds a counter of the feeds warmed so far
+     * @return a {@link Mono} completing once every feed has been warmed
+     */
+    private Mono<Void> warmFeeds(
+        List<Feed<? extends PlatformContent, ? extends PlatformAuthor>> feeds,
+        AtomicInteger warmedFeeds
+    ) {
+        Map<String, List<Feed<? extends PlatformContent, ? extends PlatformAuthor>>> byProvider =
+            new LinkedHashMap<>();
+        for (Feed<? extends PlatformContent, ? extends PlatformAuthor> feed : feeds) {
+            byProvider.computeIfAbsent(feed.getId().getProviderId(), k -> new ArrayList<>())
+                .add(feed);
+        }
+
+        List<Flux<Void>> providerWarmups = new ArrayList<>(byProvider.size());
+        for (List<Feed<? extends PlatformContent, ? extends PlatformAuthor>> providerFeeds :
+            byProvider.values()
+        ) {
+            providerWarmups.add(
+                Flux.fromIterable(providerFeeds).flatMap(feed ->
+                    warmFeed(feed).doOnSuccess(v -> warmedFeeds.incrementAndGet()),
+                    config.getPerProviderConcurrency())
+            );
+        }
+
+        return Flux.merge(providerWarmups).then();
+    }
+
+    /**
+     * Warms a single feed, fetching its recent content and optionally its author. Both are cached
+     * by their services as they arrive.
+     *
+     * @param feed the feed to warm
+     * @return a {@link Mono} completing once the feed has been warmed
+     */
+    private Mono<Void> warmFeed(Feed<? extends PlatformContent, ? extends PlatformAuthor> feed) {
+        AggregationOptions options = new AggregationOptions(Map.of(feed.getId(), 1));
+        Mono<Void> content = aggregationService
+            .aggregate(config.getContentPerFeed(), List.of(feed), options)
+            .then();
+
+        if (!config.isIncludeAuthors()) {
+            return content;
+        }
+
+        return Mono.when(content, authorService.getAuthors(List.of(feed)).then());
+    }
+
+    /**
+     * Finds the feeds to warm, being the configured hot feeds or, if there are none, every
+     * registered feed.
+     *
+     * @return the feeds to warm
+     */
+    private List<Feed<? extends PlatformContent, ? extends PlatformAuthor>> findFeedsToWarm() {
+        if (config.getHotFeeds().isEmpty()) {
+            return feedRegistry.getFeeds();
+        }
+
+        List<Feed<? extends PlatformContent, ? extends PlatformAuthor>> feeds = new ArrayList<>();
+        for (String feedId : config.getHotFeeds()) {
+            try {
+                feeds.add(feedRegistry.getFeed(FeedIdentifier.fromIdString(feedId)));
+            } catch (MalformedFeedIdException | UnknownFeedIdException e) {
+                logger.warn("Skipping warm-up of hot feed: {}", e.getMessage());
+            }
+        }
+
+        return feeds;
+    }
+}
@@ -0,0 +1,121 @@
+package dev.jqb.onefeed.server.caching;
+
+import dev.jqb.onefeed.core.author.NormalizedAuthor;
+import dev.jqb.onefeed.core.caching.Cacher;
+import dev.jqb.onefeed.core.caching.OneFeedCacherPlugin;
+import dev.jqb.onefeed.core.caching.ShardedCacher;
+import dev.jqb.onefeed.core.content.NormalizedContent;
+import dev.jqb.onefeed.server.config.CacheCompressionConfig;
+import dev.jqb.onefeed.server.config.NegativeCachingConfig;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jspecify.annotations.Nullable;
+import org.pf4j.PluginWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * A registry of the cachers each cacher plugin provides, every one of which serves as a shard of
+ * OneFeed's cache
+ */
+@Component
+public class CacherRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(CacherRegistry.class);
+
+    private final ShardedCacher<NormalizedContent, NormalizedAuthor> shardedCacher;
+    private final NegativeCachingConfig negativeCachingConfig;
+    private final CacheCompressionConfig cacheCompressionConfig;
+    private final ConcurrentHashMap<String, List<String>> pluginIdToShardIds =
+        new ConcurrentHashMap<>();
+
+    @Autowired
+    public CacherRegistry(ShardedCacher<NormalizedContent, NormalizedAuthor> shardedCacher,
+        NegativeCachingConfig negativeCachingConfig, CacheCompressionConfig cacheCompressionConfig
+    ) {
+        this.shardedCacher = shardedCacher;
+        this.negativeCachingConfig = negativeCachingConfig;
+        this.cacheCompressionConfig = cacheCompressionConfig;
+    }
+
+    /**
+     * Register every cacher a cacher plugin provides as a shard.
+     *
+     * @param wrapper the wrapper of the cacher plugin whose cachers to register
+     * @param plugin the cacher plugin instance
+     */
+    public void registerCachersFor(PluginWrapper wrapper, OneFeedCacherPlugin plugin) {
+        String pluginId = wrapper.getPluginId();
+        List<? extends Cacher<? extends NormalizedContent, ? extends NormalizedAuthor>> cachers =
+            plugin.getCachers();
+        logger.debug("Registering {} cacher shard(s) for plugin '{}'...", cachers.size(),
+            pluginId);
+
+        List<String> shardIds = new ArrayList<>(cachers.size());
+        for (int i = 0; i < cachers.size(); i++) {
+            // Shard IDs decide ring placement, so they must be stable across restarts
+            String shardId = cachers.size() == 1 ? pluginId : pluginId + "#" + i;
+            Cacher<NormalizedContent, NormalizedAuthor> shard =
+                (Cacher<NormalizedContent, NormalizedAuthor>) cachers.get(i);
+
+            shardedCacher.addShard(shardId,
+                negativeCachingConfig.guard(cacheCompressionConfig.compress(shard)));
+            shardIds.add(shardId);
+            logger.trace("Registered cacher shard '{}'", shardId);
+        }
+
+        pluginIdToShardIds.put(pluginId, shardIds);
+    }
+
+    /**
+     * Replaces the cacher shards a cacher plugin registered with those of a new version of the
+     * plugin.
+     * </br></br>
+     * Shards keep their IDs across versions, so each of the new version's shards takes over its
+     * predecessor's place on the hash ring in a single step. Only shards the new version no longer
+     * provides are removed.
+     *
+     * @param wrapper the wrapper of the new version of the cacher plugin
+     * @param plugin the new version's cacher plugin instance
+     */
+    public void replaceCachersFor(PluginWrapper wrapper, OneFeedCacherPlugin plugin) {
+        List<String> previousShardIds = pluginIdToShardIds.get(wrapper.getPluginId());
+        registerCachersFor(wrapper, plugin);
+
+        if (previousShardIds != null) {
+            List<String> shardIds = pluginIdToShardIds.get(wrapper.getPluginId());
+            for (String shardId : previousShardIds) {
+                if (!shardIds.contains(shardId)) {
+                    shardedCacher.removeShard(shardId);
+                    logger.trace("Deregistered cacher shard '{}'", shardId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deregister every cacher shard a cacher plugin provided.
+     * @param wrapper the wrapper of the cacher plugin whose cachers to deregister
+     */
+    public void deregisterCachersFor(PluginWrapper wrapper) {
+        String pluginId = wrapper.getPluginId();
+        logger.debug("Deregistering cacher shards for plugin '{}'", pluginId);
+        List<String> shardIds = pluginIdToShardIds.remove(pluginId);
+        if (shardIds != null) {
+            for (String shardId : shardIds) {
+                shardedCacher.removeShard(shardId);
+                logger.trace("Deregistered cacher shard '{}'", shardId);
+            }
+        }
+    }
+
+    /**
+     * Gets the cacher spanning every registered shard.
+     * @return the cacher spanning every registered shard, or {@code null} if there are none
+     */
+    public @Nullable Cacher<NormalizedContent, NormalizedAuthor> getCacher() {
+        return shardedCacher.isEmpty() ? null : shardedCacher;
+    }
+}
@@ -0,0 +1,27 @@
+package dev.jqb.onefeed.server.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures when aggregations whose feeds' target amounts add up to more than was asked for are
+ * cut down to the amount asked for
+ * </br></br>
+ * Cutting means ranking the feeds' content against each other before any of it is passed on, so
+ * the first piece of content waits on every feed to return some. That's only worth it when the
+ * content saved from normalization is a real share of the aggregation.
+ */
+@Configuration
+@ConfigurationProperties("onefeed.aggregation.cut")
+@Getter
+@Setter
+public class AggregationCutConfig {
+
+    /**
+     * The least overshoot, as a share of the amount asked for, worth cutting an aggregation for.
+     * Smaller overshoots are streamed as they arrive and returned along with the rest.
+     */
+    private double minOvershoot = 0.25;
+}
@@ -0,0 +1,39 @@
+package dev.jqb.onefeed.server.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures the metrics recorded along the aggregation path, and how many meters they may make
+ */
+@Configuration
+@ConfigurationProperties("onefeed.metrics.aggregation")
+@Getter
+@Setter
+public class AggregationMetricsConfig {
+
+    /**
+     * The most feeds whose fetches are tagged with their own ID. Fetches of feeds beyond the first
+     * this many are tagged as {@code other}, so deployments with thousands of feeds don't make
+     * thousands of meters.
+     */
+    private int maxTaggedFeeds = 100;
+
+    /**
+     * Whether timers publish histograms, from which percentiles can be computed across instances
+     */
+    private boolean histograms = true;
+
+    /**
+     * The shortest duration histograms have a bucket for
+     */
+    private Duration minExpectedDuration = Duration.ofMillis(1);
+
+    /**
+     * The longest duration histograms have a bucket for
+     */
+    private Duration maxExpectedDuration = Duration.ofSeconds(30);
+}
@@ -0,0 +1,60 @@
+package dev.jqb.onefeed.server.config;
+
+import dev.jqb.onefeed.core.author.NormalizedAuthor;
+import dev.jqb.onefeed.core.caching.Cacher;
+import dev.jqb.onefeed.core.caching.compression.CompressingCacher;
+import dev.jqb.onefeed.core.caching.compression.FeedDictionaries;
+import dev.jqb.onefeed.core.content.NormalizedContent;
+import java.util.concurrent.Executors;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Controls the compression of cached content against per-feed dictionaries, trading a little CPU
+ * on each read for a smaller memory footprint per cached item
+ */
+@Configuration
+@ConfigurationProperties("onefeed.caching.compression")
+@Getter
+@Setter
+public class CacheCompressionConfig {
+
+    /**
+     * Whether to compress cached content at all. Only worthwhile with cachers that hold content in
+     * memory.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The number of samples (titles, bodies, and media URLs) to train each feed's dictionary from
+     */
+    private int samplesPerDictionary = 64;
+
+    /**
+     * The largest each feed's dictionary may be, in bytes
+     */
+    private int maxDictionarySize = 16 * 1024;
+
+    @Bean
+    public FeedDictionaries feedDictionaries() {
+        // Dictionaries are trained rarely, once per feed, so each gets a thread of its own
+        return new FeedDictionaries(samplesPerDictionary, maxDictionarySize,
+            Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("onefeed-dictionary-trainer-", 0).factory()));
+    }
+
+    /**
+     * Wraps the given {@code cacher} so content is compressed before being cached, if enabled.
+     *
+     * @param cacher the cacher to wrap
+     * @return the wrapped cacher, or {@code cacher} itself if compression is disabled
+     */
+    public Cacher<NormalizedContent, NormalizedAuthor> compress(
+        Cacher<NormalizedContent, NormalizedAuthor> cacher
+    ) {
+        return enabled ? new CompressingCacher<>(cacher, feedDictionaries()) : cacher;
+    }
+}
@@ -0,0 +1,31 @@
+package dev.jqb.onefeed.server.config;
+
+import dev.jqb.onefeed.core.author.NormalizedAuthor;
+import dev.jqb.onefeed.core.caching.ShardedCacher;
+import dev.jqb.onefeed.core.content.NormalizedContent;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the sharded cacher that spreads cached data across every registered cacher plugin
+ */
+@Configuration
+@ConfigurationProperties("onefeed.caching.sharding")
+@Getter
+@Setter
+public class CacheShardingConfig {
+
+    /**
+     * The number of points each cacher shard is placed at on the consistent-hash ring. More points
+     * spread feeds more evenly at the cost of slightly slower shard changes.
+     */
+    private int virtualNodesPerShard = 160;
+
+    @Bean
+    public ShardedCacher<NormalizedContent, NormalizedAuthor> shardedCacher() {
+        return new ShardedCacher<>(virtualNodesPerShard);
+    }
+}
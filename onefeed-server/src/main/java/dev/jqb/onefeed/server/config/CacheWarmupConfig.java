@@ -0,0 +1,134 @@
+package dev.jqb.onefeed.server.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.SecurityContext;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.health.actuate.endpoint.AdditionalHealthEndpointPath;
+import org.springframework.boot.health.actuate.endpoint.HealthEndpointGroup;
+import org.springframework.boot.health.actuate.endpoint.HealthEndpointGroups;
+import org.springframework.boot.health.actuate.endpoint.HealthEndpointGroupsPostProcessor;
+import org.springframework.boot.health.actuate.endpoint.HttpCodeStatusMapper;
+import org.springframework.boot.health.actuate.endpoint.StatusAggregator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Controls the optional warm-up of the cache at startup
+ *
+ * @see dev.jqb.onefeed.server.caching.CacheWarmer
+ */
+@Configuration
+@ConfigurationProperties("onefeed.caching.warmup")
+@Getter
+@Setter
+public class CacheWarmupConfig {
+
+    /**
+     * The name the cache warmer's health is reported under
+     */
+    private static final String HEALTH_CONTRIBUTOR = "cacheWarmer";
+
+    /**
+     * Whether to warm the cache at startup at all
+     */
+    private boolean enabled = false;
+
+    /**
+     * The amount of each feed's most recent content to prefetch
+     */
+    private int contentPerFeed = 20;
+
+    /**
+     * Whether to prefetch each feed's author too
+     */
+    private boolean includeAuthors = true;
+
+    /**
+     * The IDs of the feeds to warm. Every registered feed is warmed if empty.
+     *
+     * @see dev.jqb.onefeed.core.feed.FeedIdentifier#toIdString()
+     */
+    private List<String> hotFeeds = List.of();
+
+    /**
+     * The most feeds of a single provider to warm at once, to keep from bursting its upstream API
+     */
+    private int perProviderConcurrency = 2;
+
+    /**
+     * Whether to warm in the background, with the readiness probe reporting out of service until
+     * done, rather than holding up startup until done
+     */
+    private boolean background = false;
+
+    /**
+     * The longest to spend warming before giving up on whatever is left
+     */
+    private Duration timeout = Duration.ofMinutes(2);
+
+    /**
+     * Leaves the cache warmer out of the overall health, so a background warm-up only holds back
+     * the readiness probe, which includes it, rather than reporting the whole application as out
+     * of service.
+     *
+     * @return the post-processor leaving the cache warmer out of the overall health
+     */
+    @Bean
+    public HealthEndpointGroupsPostProcessor cacheWarmerReadinessOnly() {
+        return groups -> {
+            Map<String, HealthEndpointGroup> named = new LinkedHashMap<>();
+            for (String name : groups.getNames()) {
+                named.put(name, groups.get(name));
+            }
+            return HealthEndpointGroups.of(new ExcludingGroup(groups.getPrimary(),
+                HEALTH_CONTRIBUTOR), named);
+        };
+    }
+
+    /**
+     * A health group leaving out one of its delegate's members
+     *
+     * @param delegate the group to leave the member out of
+     * @param excluded the name of the member to leave out
+     */
+    private record ExcludingGroup(HealthEndpointGroup delegate, String excluded)
+        implements HealthEndpointGroup
+    {
+
+        @Override
+        public boolean isMember(String name) {
+            return !name.equals(excluded) && delegate.isMember(name);
+        }
+
+        @Override
+        public boolean showComponents(SecurityContext securityContext) {
+            return delegate.showComponents(securityContext);
+        }
+
+        @Override
+        public boolean showDetails(SecurityContext securityContext) {
+            return delegate.showDetails(securityContext);
+        }
+
+        @Override
+        public StatusAggregator getStatusAggregator() {
+            return delegate.getStatusAggregator();
+        }
+
+        @Override
+        public HttpCodeStatusMapper getHttpCodeStatusMapper() {
+            return delegate.getHttpCodeStatusMapper();
+        }
+
+        @Override
+        public @Nullable AdditionalHealthEndpointPath getAdditionalPath() {
+            return delegate.getAdditionalPath();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package dev.jqb.onefeed.server.config;
+
+import dev.jqb.onefeed.server.aggregation.LeftoverStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the store of content aggregations fetched but cut, held raw for their next pages
+ */
+@Configuration
+@ConfigurationProperties("onefeed.aggregation.leftovers")
+@Getter
+@Setter
+public class LeftoverStoreConfig {
+
+    /**
+     * The most feeds' leftovers to hold at once
+     */
+    private int maxEntries = 1024;
+
+    /**
+     * How long leftovers are held before they're considered too stale to serve as a later page
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * The resolution of leftover expiry
+     */
+    private Duration tickDuration = Duration.ofSeconds(1);
+
+    @Bean
+    public LeftoverStore leftoverStore(MeterRegistry meterRegistry) {
+        return new LeftoverStore(maxEntries, ttl, tickDuration, meterRegistry);
+    }
+}
@@ -0,0 +1,42 @@
+package dev.jqb.onefeed.server.config;
+
+import dev.jqb.onefeed.server.live.LiveFeedHub;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the hub that fans new content out to live subscribers
+ */
+@Configuration
+@ConfigurationProperties("onefeed.live")
+@Getter
+@Setter
+public class LiveStreamConfig {
+
+    /**
+     * The most content a live subscriber may fall behind by before being evicted
+     */
+    private int subscriberBufferSize = 256;
+
+    /**
+     * The number of most recent content IDs remembered per feed, so refetched content isn't pushed
+     * to subscribers twice
+     */
+    private int dedupeWindow = 1024;
+
+    /**
+     * How long before a feed's first subscription its content may have been published and still be
+     * pushed to subscribers
+     */
+    private Duration lookback = Duration.ofMinutes(1);
+
+    @Bean
+    public LiveFeedHub liveFeedHub(MeterRegistry meterRegistry) {
+        return new LiveFeedHub(subscriberBufferSize, dedupeWindow, lookback, meterRegistry);
+    }
+}
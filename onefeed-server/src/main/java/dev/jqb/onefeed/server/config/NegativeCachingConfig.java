@@ -0,0 +1,94 @@
+package dev.jqb.onefeed.server.config;
+
+import dev.jqb.onefeed.core.author.NormalizedAuthor;
+import dev.jqb.onefeed.core.caching.Cacher;
+import dev.jqb.onefeed.core.caching.GuardedCacher;
+import dev.jqb.onefeed.core.caching.NegativeCache;
+import dev.jqb.onefeed.core.content.NormalizedContent;
+import dev.jqb.onefeed.core.feed.FeedIdentifier;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the negative caches that keep failing feeds and missing content from costing a full
+ * upstream or cache round trip on every request
+ */
+@Configuration
+@ConfigurationProperties("onefeed.caching.negative")
+@Getter
+@Setter
+public class NegativeCachingConfig {
+
+    /**
+     * How long a feed's content or author is skipped for after its first consecutive fetch failure
+     */
+    private Duration feedFailureBaseTtl = Duration.ofSeconds(5);
+
+    /**
+     * The longest a feed may be skipped for, no matter how many times it has failed
+     */
+    private Duration feedFailureMaxTtl = Duration.ofMinutes(5);
+
+    /**
+     * How long an unknown content ID is remembered as missing after its first miss
+     */
+    private Duration contentMissBaseTtl = Duration.ofSeconds(30);
+
+    /**
+     * The longest an unknown content ID may be remembered as missing
+     */
+    private Duration contentMissMaxTtl = Duration.ofMinutes(10);
+
+    /**
+     * The number of missing content IDs to remember before forgetting expired ones
+     */
+    private int contentMissMaxEntries = 100_000;
+
+    /**
+     * The amount of content the cache is expected to hold, for sizing its Bloom filter
+     */
+    private long expectedCachedContent = 1_000_000;
+
+    /**
+     * The acceptable rate at which the Bloom filter lets uncached content IDs through to the cache
+     */
+    private double bloomFalsePositiveRate = 0.01;
+
+    /**
+     * Provides the record of feeds whose content fetches have recently failed.
+     * @return the record of failing content fetches
+     */
+    @Bean
+    public NegativeCache<FeedIdentifier> feedFailureCache() {
+        return new NegativeCache<>(feedFailureBaseTtl, feedFailureMaxTtl, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Provides the record of feeds whose author fetches have recently failed, kept apart from
+     * content fetches since the two are often served by different upstream endpoints.
+     * @return the record of failing author fetches
+     */
+    @Bean
+    public NegativeCache<FeedIdentifier> authorFailureCache() {
+        return new NegativeCache<>(feedFailureBaseTtl, feedFailureMaxTtl, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Wraps the given {@code cacher} so lookups for content it doesn't hold are answered without
+     * reaching its backing store.
+     *
+     * @param cacher the cacher to guard
+     * @return the guarded cacher
+     */
+    public <C extends NormalizedContent, A extends NormalizedAuthor> GuardedCacher<C, A> guard(
+        Cacher<C, A> cacher
+    ) {
+        NegativeCache<String> misses = new NegativeCache<>(contentMissBaseTtl, contentMissMaxTtl,
+            contentMissMaxEntries);
+        return new GuardedCacher<>(cacher, misses, expectedCachedContent, bloomFalsePositiveRate);
+    }
+}
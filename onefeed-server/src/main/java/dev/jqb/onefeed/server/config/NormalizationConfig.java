@@ -0,0 +1,48 @@
+package dev.jqb.onefeed.server.config;
+
+import dev.jqb.onefeed.server.normalization.NormalizationStage;
+import dev.jqb.onefeed.server.tracing.Tracer;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the stage that normalizes provider data, optionally in parallel off the I/O threads
+ */
+@Configuration
+@ConfigurationProperties("onefeed.normalization")
+@Getter
+@Setter
+public class NormalizationConfig {
+
+    /**
+     * Whether content is normalized in batches on dedicated CPU-bound threads rather than inline on
+     * the threads delivering upstream responses
+     */
+    private boolean parallel = false;
+
+    /**
+     * The most content normalized together in parallel mode
+     */
+    private int batchSize = 16;
+
+    /**
+     * The longest content waits for its batch to fill in parallel mode
+     */
+    private Duration maxBatchDelay = Duration.ofMillis(5);
+
+    /**
+     * The number of normalization threads, and the most batches in flight per stream
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    @Bean(destroyMethod = "close")
+    public NormalizationStage normalizationStage(MeterRegistry meterRegistry, Tracer tracer) {
+        return new NormalizationStage(parallel, batchSize, maxBatchDelay, parallelism,
+            meterRegistry, tracer);
+    }
+}
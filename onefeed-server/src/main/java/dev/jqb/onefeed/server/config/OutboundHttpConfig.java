@@ -0,0 +1,21 @@
+package dev.jqb.onefeed.server.config;
+
+import dev.jqb.onefeed.core.http.HttpClientConfig;
+import dev.jqb.onefeed.core.http.HttpClientFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the HTTP client factory provider plugins share, owning every outbound connection the
+ * server makes on their behalf
+ */
+@Configuration
+@ConfigurationProperties("onefeed.http")
+public class OutboundHttpConfig extends HttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public HttpClientFactory httpClientFactory() {
+        return new HttpClientFactory(this);
+    }
+}
@@ -0,0 +1,29 @@
+package dev.jqb.onefeed.server.config;
+
+import dev.jqb.onefeed.core.caching.ContiguityIndex;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the index that lets later pages of a feed be served from the cache
+ */
+@Configuration
+@ConfigurationProperties("onefeed.aggregation.pagination")
+@Getter
+@Setter
+public class PaginationConfig {
+
+    /**
+     * The most links between consecutive pieces of content remembered per feed, bounding how deep
+     * into a feed pages may be served from the cache
+     */
+    private int maxLinksPerFeed = 2048;
+
+    @Bean
+    public ContiguityIndex contiguityIndex() {
+        return new ContiguityIndex(maxLinksPerFeed);
+    }
+}
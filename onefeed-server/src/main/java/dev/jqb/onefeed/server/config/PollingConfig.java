@@ -0,0 +1,77 @@
+package dev.jqb.onefeed.server.config;
+
+import dev.jqb.onefeed.core.feed.PollingPolicy;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the policy by which feeds are polled in the background, keeping their freshest content
+ * cached ahead of requests
+ */
+@Configuration
+@ConfigurationProperties("onefeed.polling")
+@Getter
+@Setter
+public class PollingConfig {
+
+    /**
+     * Whether feeds are polled in the background at all
+     */
+    private boolean enabled = false;
+
+    /**
+     * The amount of most recent content fetched per poll
+     */
+    private int contentPerPoll = 20;
+
+    /**
+     * The shortest a feed may wait between polls
+     */
+    private Duration minInterval = Duration.ofSeconds(30);
+
+    /**
+     * The longest a feed may wait between polls
+     */
+    private Duration maxInterval = Duration.ofHours(1);
+
+    /**
+     * How long to wait before polling a newly registered feed, with first polls spread evenly
+     * across it
+     */
+    private Duration initialInterval = Duration.ofMinutes(5);
+
+    /**
+     * The most a poll interval may be randomly stretched or shrunk by, as a fraction of it
+     */
+    private double jitter = 0.2;
+
+    /**
+     * The weight of each poll's observations in a feed's average posting and read rates
+     */
+    private double smoothing = 0.3;
+
+    /**
+     * The most polls per second made to any one provider
+     */
+    private double pollsPerSecondPerProvider = 1.0;
+
+    /**
+     * The most of a rate-limited provider's requests per second that polls may use, leaving the
+     * rest for client requests
+     */
+    private double rateLimitShare = 0.5;
+
+    /**
+     * How often newly registered and deregistered feeds are picked up
+     */
+    private Duration reconcileInterval = Duration.ofMinutes(1);
+
+    @Bean
+    public PollingPolicy pollingPolicy() {
+        return new PollingPolicy(minInterval, maxInterval, initialInterval, jitter);
+    }
+}
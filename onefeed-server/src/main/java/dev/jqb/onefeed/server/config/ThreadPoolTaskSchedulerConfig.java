@@ -1,19 +1,53 @@
 package dev.jqb.onefeed.server.config;
 
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 /**
- * Provides the task scheduler bean, which is used to handle execution of
- * {@link dev.jqb.onefeed.core.plugin.ScheduledTask}s
+ * Provides the task scheduler bean, which is used to trigger
+ * {@link dev.jqb.onefeed.core.plugin.ScheduledTask}s when they come due
+ * </br></br>
+ * Plugin tasks are executed in per-plugin lanes rather than by the scheduler itself, so the
+ * scheduler's threads are only ever busy briefly. With virtual threads enabled, each trigger runs
+ * on a virtual thread of its own. Otherwise, triggers share a pool of platform threads.
  */
 @Configuration
+@ConfigurationProperties("onefeed.tasks")
+@Getter
+@Setter
 public class ThreadPoolTaskSchedulerConfig {
 
+    /**
+     * The number of platform threads the scheduler runs on when virtual threads are disabled
+     */
+    private int poolSize = 2;
+
+    /**
+     * The number of platform threads each plugin's tasks are executed by when virtual threads are
+     * disabled, and so the most of a plugin's tasks that may execute at once
+     */
+    private int laneThreads = 2;
+
     @Bean
-    public ThreadPoolTaskScheduler pluginThreadPoolTaskScheduler() {
+    public TaskScheduler pluginTaskScheduler(
+        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        if (virtualThreads) {
+            SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+            scheduler.setVirtualThreads(true);
+            scheduler.setThreadNamePrefix("onefeed-task-");
+            return scheduler;
+        }
+
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
         scheduler.setThreadNamePrefix("PluginThreadPoolTaskScheduler");
         return scheduler;
     }
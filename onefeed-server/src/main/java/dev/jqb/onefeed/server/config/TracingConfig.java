@@ -0,0 +1,44 @@
+package dev.jqb.onefeed.server.config;
+
+import dev.jqb.onefeed.server.tracing.Tracer;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the tracer that records spans across aggregations, keeping recent traces in memory
+ */
+@Configuration
+@ConfigurationProperties("onefeed.tracing")
+@Getter
+@Setter
+public class TracingConfig {
+
+    /**
+     * Whether aggregations are traced at all. Off by default, since recording spans costs
+     * allocations on the aggregation path.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The fraction of aggregations traced while tracing is enabled, between 0 and 1
+     */
+    private double sampleRatio = 0.1;
+
+    /**
+     * The most recent traces kept in memory
+     */
+    private int maxTraces = 100;
+
+    /**
+     * The most spans recorded per trace, past which spans are only counted
+     */
+    private int maxSpansPerTrace = 1000;
+
+    @Bean
+    public Tracer tracer() {
+        return new Tracer(enabled, sampleRatio, maxTraces, maxSpansPerTrace);
+    }
+}
@@ -0,0 +1,65 @@
+package dev.jqb.onefeed.server.config;
+
+import dev.jqb.onefeed.server.plugin.OneFeedPluginManager;
+import dev.jqb.onefeed.server.threads.PinnedThreadMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Provides what runs on virtual threads when {@code spring.threads.virtual.enabled} is set, which
+ * also has requests handled on virtual threads
+ * </br></br>
+ * Cachers are synchronous, so in virtual-thread mode their calls are made on virtual threads
+ * rather than on the threads delivering upstream responses or normalizing content. Otherwise, they
+ * are made inline as before.
+ */
+@Configuration
+@ConfigurationProperties("onefeed.threads.virtual")
+@Getter
+@Setter
+public class VirtualThreadConfig {
+
+    /**
+     * Whether virtual threads pinned to their carrier are reported, in virtual-thread mode
+     */
+    private boolean reportPinning = true;
+
+    /**
+     * The shortest pinning reported
+     */
+    private Duration pinningThreshold = Duration.ofMillis(20);
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler cacheScheduler(
+        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        if (!virtualThreads) {
+            return Schedulers.immediate();
+        }
+
+        return Schedulers.fromExecutorService(Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("onefeed-cache-", 0).factory()), "onefeed-cache");
+    }
+
+    @Bean(destroyMethod = "close")
+    public PinnedThreadMonitor pinnedThreadMonitor(
+        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+        OneFeedPluginManager pluginManager, MeterRegistry meterRegistry
+    ) {
+        PinnedThreadMonitor monitor = new PinnedThreadMonitor(pinningThreshold, pluginManager,
+            meterRegistry);
+        if (virtualThreads && reportPinning) {
+            monitor.start();
+        }
+        return monitor;
+    }
+}
@@ -0,0 +1,51 @@
+package dev.jqb.onefeed.server.config;
+
+import dev.jqb.onefeed.server.aggregation.AggregationService;
+import dev.jqb.onefeed.server.live.LiveFeedHub;
+import dev.jqb.onefeed.server.normalization.NormalizationStage;
+import dev.jqb.onefeed.server.webhook.WebhookPipeline;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the pipeline that applies webhook notifications to the cache
+ */
+@Configuration
+@ConfigurationProperties("onefeed.webhooks")
+@Getter
+@Setter
+public class WebhookConfig {
+
+    /**
+     * The most notifications that may be waiting to be processed before new ones are refused
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * The number of threads processing notifications
+     */
+    private int workers = 2;
+
+    /**
+     * The most notifications applied to the cache together
+     */
+    private int batchSize = 256;
+
+    /**
+     * How long to keep processing queued notifications for when shutting down
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    @Bean(destroyMethod = "close")
+    public WebhookPipeline webhookPipeline(AggregationService aggregationService,
+        LiveFeedHub liveFeedHub, NormalizationStage normalizationStage, MeterRegistry meterRegistry
+    ) {
+        return new WebhookPipeline(queueCapacity, workers, batchSize, shutdownTimeout,
+            aggregationService::getCache, liveFeedHub, normalizationStage, meterRegistry);
+    }
+}
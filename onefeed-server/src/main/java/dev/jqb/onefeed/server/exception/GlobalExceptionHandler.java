@@ -1,8 +1,10 @@
 package dev.jqb.onefeed.server.exception;
 
+import dev.jqb.onefeed.core.content.MalformedFieldProjectionException;
 import dev.jqb.onefeed.core.feed.MalformedFeedIdException;
 import dev.jqb.onefeed.core.feed.UnknownFeedIdException;
 import dev.jqb.onefeed.server.aggregation.MalformedAggregateCursorException;
+import dev.jqb.onefeed.server.webhook.UnknownWebhookException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.context.MessageSourceResolvable;
 import org.springframework.http.HttpStatus;
@@ -58,6 +60,32 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(MalformedFieldProjectionException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ProblemDetails handleMalformedFieldProjectionException(
+        MalformedFieldProjectionException e
+    ) {
+        return new ProblemDetails(
+            "https://github.com/justinquinnb/OneFeed/wiki",
+            "Malformed Field Projection",
+            400,
+            e.getMessage(),
+            null
+        );
+    }
+
+    @ExceptionHandler(UnknownWebhookException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ProblemDetails handleUnknownWebhookException(UnknownWebhookException e) {
+        return new ProblemDetails(
+            "https://github.com/justinquinnb/OneFeed/wiki",
+            "Unknown Webhook",
+            404,
+            e.getMessage(),
+            null
+        );
+    }
+
     @ExceptionHandler(HandlerMethodValidationException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ProblemDetails handleHandlerMethodValidationException(HandlerMethodValidationException e) {
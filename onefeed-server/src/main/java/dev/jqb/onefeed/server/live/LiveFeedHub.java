@@ -0,0 +1,229 @@
+package dev.jqb.onefeed.server.live;
+
+import dev.jqb.onefeed.core.caching.GuardedCacher;
+import dev.jqb.onefeed.core.feed.FeedIdentifier;
+import dev.jqb.onefeed.core.impl.OneFeedContent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+/**
+ * An in-memory fan-out of new content to live subscribers, with one channel per feed shared by
+ * every subscriber of that feed
+ * </br></br>
+ * Content is published as it enters the system, whether through a webhook or a fetch of a feed's
+ * most recent content. Each channel only passes along content it hasn't recently seen and that was
+ * published no earlier than shortly before the channel opened, so refetching a feed's head doesn't
+ * replay it. Feeds without subscribers have no channel, making publishing to them nearly free.
+ * </br></br>
+ * Each subscriber has its own bounded buffer. A subscriber that falls a full buffer behind is
+ * evicted, completing its stream, rather than holding up other subscribers or growing without
+ * bound.
+ */
+public class LiveFeedHub {
+    private static final Logger logger = LoggerFactory.getLogger(LiveFeedHub.class);
+
+    private final ConcurrentHashMap<FeedIdentifier, FeedChannel> channels =
+        new ConcurrentHashMap<>();
+    private final int subscriberBufferSize;
+    private final int dedupeWindow;
+    private final Duration lookback;
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter evictionCounter;
+
+    /**
+     * Constructs a new {@code LiveFeedHub}.
+     *
+     * @param subscriberBufferSize the most content a subscriber may fall behind by before being
+     *                             evicted
+     * @param dedupeWindow the number of most recent content IDs each channel remembers, so content
+     *                     that's published again isn't passed along twice
+     * @param lookback how long before a channel opens content may have been published and still be
+     *                 passed along, covering content fetched shortly after it was posted
+     * @param meterRegistry the registry to report the hub's metrics to
+     */
+    public LiveFeedHub(int subscriberBufferSize, int dedupeWindow, Duration lookback,
+        MeterRegistry meterRegistry
+    ) {
+        if (subscriberBufferSize < 1 || dedupeWindow < 1) {
+            throw new IllegalArgumentException(
+                "Subscriber buffer size and dedupe window must both be at least 1");
+        }
+
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.dedupeWindow = dedupeWindow;
+        this.lookback = lookback;
+
+        Gauge.builder("onefeed.live.subscribers", subscriberCount, AtomicInteger::get)
+            .description("Clients subscribed to live content")
+            .register(meterRegistry);
+        Gauge.builder("onefeed.live.channels", channels, Map::size)
+            .description("Feeds with at least one live subscriber")
+            .register(meterRegistry);
+        this.evictionCounter = Counter.builder("onefeed.live.evictions")
+            .description("Live subscribers evicted for falling too far behind")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Subscribes to the content published to the given feeds from now on.
+     *
+     * @param feeds the IDs of the feeds to subscribe to
+     * @return a stream of the feeds' new content, which completes if the subscriber falls too far
+     * behind
+     */
+    public Flux<OneFeedContent> subscribe(Collection<FeedIdentifier> feeds) {
+        List<FeedIdentifier> feedIds = List.copyOf(feeds);
+
+        return Flux.defer(() -> {
+            Subscriber subscriber = new Subscriber(subscriberBufferSize);
+            subscriberCount.incrementAndGet();
+
+            for (FeedIdentifier feedId : feedIds) {
+                channels.compute(feedId, (id, channel) -> {
+                    if (channel == null) {
+                        channel = new FeedChannel(Instant.now().minus(lookback), dedupeWindow);
+                    }
+                    channel.subscribers.add(subscriber);
+                    return channel;
+                });
+            }
+
+            return subscriber.asFlux().doFinally(signal -> {
+                subscriberCount.decrementAndGet();
+                for (FeedIdentifier feedId : feedIds) {
+                    channels.computeIfPresent(feedId, (id, channel) -> {
+                        channel.subscribers.remove(subscriber);
+                        return channel.subscribers.isEmpty() ? null : channel;
+                    });
+                }
+            });
+        });
+    }
+
+    /**
+     * Publishes a piece of content to its feed's subscribers, if it has any and the content is new
+     * to them.
+     *
+     * @param content the content that entered the system
+     */
+    public void publish(OneFeedContent content) {
+        FeedChannel channel = channels.get(content.getFeedIdentifier());
+        if (channel == null || !channel.admit(content)) {
+            return;
+        }
+
+        for (Subscriber subscriber : channel.subscribers) {
+            if (!subscriber.offer(content)) {
+                evictionCounter.increment();
+                logger.debug("Evicting live subscriber that fell {} items behind",
+                    subscriberBufferSize);
+            }
+        }
+    }
+
+    /**
+     * Checks whether anyone is subscribed to the given feed's new content.
+     * @param feedId the ID of the feed to check
+     * @return {@code true} if the feed has at least one live subscriber
+     */
+    public boolean hasSubscribers(FeedIdentifier feedId) {
+        return channels.containsKey(feedId);
+    }
+
+    /**
+     * Gets the number of clients subscribed to live content.
+     * @return the number of clients subscribed to live content
+     */
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * A single feed's subscribers, along with what's already been passed along to them
+     */
+    private static final class FeedChannel {
+        private final CopyOnWriteArraySet<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+        private final Instant publishedSince;
+        private final Map<String, Boolean> recentlySeen;
+
+        private FeedChannel(Instant publishedSince, int dedupeWindow) {
+            this.publishedSince = publishedSince;
+            this.recentlySeen = new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > dedupeWindow;
+                }
+            };
+        }
+
+        /**
+         * Checks whether the given content should be passed along, remembering it if so.
+         * </br></br>
+         * Content whose publish time is unknown can't be told apart from backfill, so it's passed
+         * along unless it's already been seen.
+         * @param content the published content
+         * @return {@code true} if the content is new to the channel's subscribers
+         */
+        private synchronized boolean admit(OneFeedContent content) {
+            Instant published = content.getPublished();
+            if (published != null && published.isBefore(publishedSince)) {
+                return false;
+            }
+            return recentlySeen.putIfAbsent(GuardedCacher.contentKey(content.getSource()), true)
+                == null;
+        }
+    }
+
+    /**
+     * A single live client, possibly subscribed to many feeds
+     */
+    private static final class Subscriber {
+        private final Sinks.Many<OneFeedContent> sink;
+
+        /**
+         * Signaled on eviction, ending the client's stream without waiting for it to drain
+         */
+        private final Sinks.Empty<Void> evicted = Sinks.empty();
+
+        private Subscriber(int bufferSize) {
+            this.sink = Sinks.many().unicast()
+                .onBackpressureBuffer(Queues.<OneFeedContent>get(bufferSize).get());
+        }
+
+        private Flux<OneFeedContent> asFlux() {
+            return sink.asFlux().takeUntilOther(evicted.asMono());
+        }
+
+        /**
+         * Buffers the given content for the subscriber, evicting the subscriber if its buffer is
+         * full.
+         *
+         * @param content the content to buffer
+         * @return {@code false} if the subscriber was evicted
+         */
+        private synchronized boolean offer(OneFeedContent content) {
+            Sinks.EmitResult result = sink.tryEmitNext(content);
+            if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+                evicted.tryEmitEmpty();
+                return false;
+            }
+            return true;
+        }
+    }
+}
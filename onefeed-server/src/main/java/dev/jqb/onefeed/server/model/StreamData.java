@@ -14,11 +14,14 @@ import lombok.Setter;
 @JsonSubTypes({
     @JsonSubTypes.Type(value = StreamedContent.class, name = "CONTENT"),
     @JsonSubTypes.Type(value = StreamedAuthor.class, name = "AUTHOR"),
-    @JsonSubTypes.Type(value = StreamedCursor.class, name = "CURSOR")
+    @JsonSubTypes.Type(value = StreamedCursor.class, name = "CURSOR"),
+    @JsonSubTypes.Type(value = StreamedDegradedFeed.class, name = "DEGRADED_FEED")
 })
 @Getter
 @Setter
-public sealed class StreamData permits StreamedAuthor, StreamedContent, StreamedCursor {
+public sealed class StreamData permits StreamedAuthor, StreamedContent, StreamedCursor,
+    StreamedDegradedFeed
+{
 
     /**
      * The time the data was sent to the client
@@ -0,0 +1,27 @@
+package dev.jqb.onefeed.server.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A notice sent to clients that a feed's content is being served only from the cache, because its
+ * provider has been failing, so it may be stale or incomplete
+ */
+@Getter
+@Setter
+public final class StreamedDegradedFeed extends StreamData {
+
+    /**
+     * The unique identifier of the degraded feed
+     */
+    private String feedId;
+
+    /**
+     * Constructs a new {@code StreamedDegradedFeed} for the given feed.
+     * @param feedId the unique identifier of the degraded feed
+     */
+    public StreamedDegradedFeed(String feedId) {
+        super();
+        this.feedId = feedId;
+    }
+}
@@ -0,0 +1,189 @@
+package dev.jqb.onefeed.server.normalization;
+
+import dev.jqb.onefeed.core.author.AuthorNormalizer;
+import dev.jqb.onefeed.core.author.NormalizedAuthor;
+import dev.jqb.onefeed.core.author.PlatformAuthor;
+import dev.jqb.onefeed.core.content.ContentNormalizer;
+import dev.jqb.onefeed.core.content.NormalizedContent;
+import dev.jqb.onefeed.core.content.PlatformContent;
+import dev.jqb.onefeed.server.tracing.Tracer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Normalizes content and authors as they arrive from providers, either inline or, for CPU-heavy
+ * normalizers, in batches on a dedicated CPU-bound scheduler
+ * </br></br>
+ * Normalizing inline runs each normalizer on whichever thread delivered the upstream response,
+ * holding up other I/O behind it. In parallel mode, content is instead gathered into small batches
+ * handed to {@link ContentNormalizer#normalizeAll} on the normalization scheduler, with several
+ * batches in flight at once. Batches are emitted in the order their content arrived, so each feed's
+ * content keeps its order.
+ * </br></br>
+ * Either way, the time spent normalizing and the amount normalized are recorded per plugin. For
+ * traced requests, each batch is wrapped in a span, or when normalizing inline, each feed's whole
+ * stream is, so spans are never opened per item.
+ */
+public class NormalizationStage implements AutoCloseable {
+
+    private final boolean parallel;
+    private final int batchSize;
+    private final Duration maxBatchDelay;
+    private final int parallelism;
+    private final Scheduler scheduler;
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, Meters> meters = new ConcurrentHashMap<>();
+    private final Tracer tracer;
+
+    /**
+     * Constructs a new {@code NormalizationStage}.
+     *
+     * @param parallel whether to normalize in batches on the normalization scheduler rather than
+     *                 inline
+     * @param batchSize the most content normalized together in parallel mode
+     * @param maxBatchDelay the longest content waits for its batch to fill in parallel mode
+     * @param parallelism the number of normalization threads, and the most batches in flight per
+     *                    stream
+     * @param meterRegistry the registry to report normalization metrics to
+     * @param tracer the tracer to record normalization spans with
+     */
+    public NormalizationStage(boolean parallel, int batchSize, Duration maxBatchDelay,
+        int parallelism, MeterRegistry meterRegistry, Tracer tracer
+    ) {
+        if (batchSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException(
+                "Batch size and parallelism must both be at least 1");
+        }
+
+        this.parallel = parallel;
+        this.batchSize = batchSize;
+        this.maxBatchDelay = maxBatchDelay;
+        this.parallelism = parallelism;
+        this.scheduler = parallel
+            ? Schedulers.newParallel("onefeed-normalize", parallelism, true)
+            : Schedulers.immediate();
+        this.meterRegistry = meterRegistry;
+        this.tracer = tracer;
+    }
+
+    /**
+     * Normalizes a stream of a provider plugin's content, preserving its order.
+     *
+     * @param content the content to normalize
+     * @param normalizer the plugin's content normalizer
+     * @param pluginId the ID of the plugin the content is from, for metrics
+     * @return the normalized content, in the order it arrived
+     */
+    public <In extends PlatformContent, Out extends NormalizedContent> Flux<Out> normalize(
+        Flux<? extends In> content, ContentNormalizer<In, Out> normalizer, String pluginId
+    ) {
+        Meters contentMeters = metersFor(pluginId, "content");
+        if (!parallel) {
+            // Inline, the span also covers waiting on the provider between items
+            return tracer.trace("normalize", Map.of("onefeed.plugin", pluginId, "onefeed.kind",
+                    "content", "onefeed.inline", true),
+                Flux.<In>from(content).map(item ->
+                    contentMeters.record(1, () -> normalizer.normalize(item))));
+        }
+
+        return Flux.<In>from(content)
+            .bufferTimeout(batchSize, maxBatchDelay)
+            .flatMapSequential(batch -> tracer.trace("normalize",
+                spanAttributes(pluginId, "content", batch.size()),
+                Mono.fromCallable(() ->
+                        contentMeters.record(batch.size(), () -> normalizer.normalizeAll(batch)))
+                    .subscribeOn(scheduler)), parallelism)
+            .flatMapIterable(normalized -> normalized);
+    }
+
+    /**
+     * Normalizes a provider plugin's author.
+     *
+     * @param author the author to normalize
+     * @param normalizer the plugin's author normalizer
+     * @param pluginId the ID of the plugin the author is from, for metrics
+     * @return the normalized author
+     */
+    public <In extends PlatformAuthor, Out extends NormalizedAuthor> Mono<Out> normalize(
+        Mono<? extends In> author, AuthorNormalizer<In, Out> normalizer, String pluginId
+    ) {
+        Meters authorMeters = metersFor(pluginId, "author");
+        Map<String, Object> spanAttributes = spanAttributes(pluginId, "author", 1);
+        Mono<Out> normalized = Mono.<In>from(author).<Out>handle((item, sink) -> sink.next(
+            tracer.trace("normalize", spanAttributes, Tracer.current(sink.contextView()),
+                () -> authorMeters.record(1, () -> normalizer.normalize(item)))));
+
+        return parallel ? normalized.publishOn(scheduler) : normalized;
+    }
+
+    /**
+     * Normalizes a batch of a provider plugin's content right away, on the calling thread.
+     *
+     * @param content the content to normalize
+     * @param normalizer the plugin's content normalizer
+     * @param pluginId the ID of the plugin the content is from, for metrics
+     * @return the normalized content, in the same order
+     */
+    public <In extends PlatformContent, Out extends NormalizedContent> List<Out> normalizeAll(
+        List<In> content, ContentNormalizer<In, Out> normalizer, String pluginId
+    ) {
+        if (content.isEmpty()) {
+            return List.of();
+        }
+        return metersFor(pluginId, "content")
+            .record(content.size(), () -> normalizer.normalizeAll(content));
+    }
+
+    /**
+     * Stops the normalization scheduler.
+     */
+    @Override
+    public void close() {
+        scheduler.dispose();
+    }
+
+    private static Map<String, Object> spanAttributes(String pluginId, String kind, int items) {
+        return Map.of("onefeed.plugin", pluginId, "onefeed.kind", kind, "onefeed.items", items);
+    }
+
+    private Meters metersFor(String pluginId, String kind) {
+        return meters.computeIfAbsent(pluginId + ":" + kind, key -> new Meters(
+            Timer.builder("onefeed.normalization.time")
+                .description("Time spent normalizing provider data")
+                .tag("plugin", pluginId)
+                .tag("kind", kind)
+                .register(meterRegistry),
+            Counter.builder("onefeed.normalization.items")
+                .description("Provider data normalized")
+                .tag("plugin", pluginId)
+                .tag("kind", kind)
+                .register(meterRegistry)
+        ));
+    }
+
+    /**
+     * The normalization metrics of a single plugin and kind of data
+     *
+     * @param time the time spent normalizing
+     * @param items the amount normalized
+     */
+    private record Meters(Timer time, Counter items) {
+
+        private <T> T record(int count, Supplier<T> normalization) {
+            T result = time.record(normalization);
+            items.increment(count);
+            return result;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package dev.jqb.onefeed.server.plugin;
 
+import dev.jqb.onefeed.core.http.HttpClientFactory;
 import dev.jqb.onefeed.core.provider.OneFeedProviderPlugin;
 import dev.jqb.onefeed.core.provider.ProviderConfig;
 import dev.jqb.onefeed.core.plugin.PluginConfigsFile;
@@ -22,9 +23,17 @@ public class OneFeedPluginFactory extends DefaultPluginFactory {
      */
     private final PluginConfigsFile pluginConfigsFile;
 
-    public OneFeedPluginFactory(PluginConfigsFile pluginConfigsFile) {
+    /**
+     * The factory of the HTTP clients provider plugins may share
+     */
+    private final HttpClientFactory httpClientFactory;
+
+    public OneFeedPluginFactory(PluginConfigsFile pluginConfigsFile,
+        HttpClientFactory httpClientFactory
+    ) {
         super();
         this.pluginConfigsFile = pluginConfigsFile;
+        this.httpClientFactory = httpClientFactory;
     }
 
     @Override
@@ -36,7 +45,10 @@ public class OneFeedPluginFactory extends DefaultPluginFactory {
                     .get(pluginWrapper.getPluginId());
 
                 Constructor<?> constructor = pluginClass.getConstructor(String.class, ProviderConfig.class);
-                return (Plugin) constructor.newInstance(pluginWrapper.getPluginId(), pluginEnv);
+                OneFeedProviderPlugin plugin = (OneFeedProviderPlugin) constructor.newInstance(
+                    pluginWrapper.getPluginId(), pluginEnv);
+                plugin.setHttpClientFactory(httpClientFactory);
+                return plugin;
             }
 
             Constructor<?> constructor = pluginClass.getConstructor(String.class);
@@ -1,24 +1,337 @@
 package dev.jqb.onefeed.server.plugin;
 
 import dev.jqb.onefeed.core.caching.OneFeedCacherPlugin;
+import dev.jqb.onefeed.core.http.HttpClientFactory;
 import dev.jqb.onefeed.core.provider.OneFeedProviderPlugin;
 import dev.jqb.onefeed.core.plugin.PluginConfigsFile;
+import java.io.Closeable;
+import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.jspecify.annotations.Nullable;
 import org.pf4j.DefaultPluginManager;
+import org.pf4j.PluginDependency;
+import org.pf4j.PluginDescriptor;
+import org.pf4j.PluginRuntimeException;
 import org.pf4j.PluginState;
+import org.pf4j.PluginStateEvent;
 import org.pf4j.PluginWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * OneFeed's custom plugin manager
+ * </br></br>
+ * Plugins are started in parallel, each as soon as the plugins it depends on have started, so
+ * startup takes about as long as the slowest chain of dependent plugins rather than every plugin
+ * combined. Started plugins can later be reloaded in place, without their feeds ever going
+ * unserved.
  */
 public class OneFeedPluginManager extends DefaultPluginManager {
+    private static final Logger logger = LoggerFactory.getLogger(OneFeedPluginManager.class);
 
-    public OneFeedPluginManager(Path pluginsPath, PluginConfigsFile pluginConfigsFile) {
+    /**
+     * How long a single plugin may take to start before it's considered failed
+     */
+    private final Duration startupTimeout;
+
+    /**
+     * The IDs of the plugins still starting
+     */
+    private final Set<String> pendingStarts = ConcurrentHashMap.newKeySet();
+
+    /**
+     * How long each plugin took to start, or to fail to
+     */
+    private final Map<String, Duration> startupTimes = new ConcurrentHashMap<>();
+
+    /**
+     * The IDs of the plugins being reloaded
+     */
+    private final Set<String> reloading = ConcurrentHashMap.newKeySet();
+
+    public OneFeedPluginManager(Path pluginsPath, PluginConfigsFile pluginConfigsFile,
+        HttpClientFactory httpClientFactory, Duration startupTimeout
+    ) {
         super(pluginsPath);
         Objects.requireNonNull(pluginConfigsFile, "pluginConfigsFile arg must not be null");
-        this.pluginFactory = new OneFeedPluginFactory(pluginConfigsFile);
+        this.pluginFactory = new OneFeedPluginFactory(pluginConfigsFile, httpClientFactory);
+        this.startupTimeout = startupTimeout;
+    }
+
+    /**
+     * Starts every resolved plugin that isn't disabled or already started, in parallel, returning
+     * once each has started or failed to.
+     * </br></br>
+     * Each plugin starts on its own thread once the plugins it requires have started. A plugin that
+     * doesn't start within the startup timeout is marked as failed, as is any plugin requiring a
+     * plugin that failed. State listeners hear of each plugin as soon as it finishes starting, so
+     * its feeds become available without waiting on slower plugins.
+     */
+    @Override
+    public void startPlugins() {
+        List<PluginWrapper> toStart = resolvedPlugins.stream()
+            .filter(p -> !p.getPluginState().isDisabled() && !p.getPluginState().isStarted())
+            .toList();
+        toStart.forEach(p -> pendingStarts.add(p.getPluginId()));
+
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofPlatform().name("onefeed-plugin-start-", 0).daemon().factory());
+        try {
+            // Resolved plugins are in dependency order, so dependencies are always scheduled first
+            Map<String, CompletableFuture<Boolean>> starts = new HashMap<>();
+            for (PluginWrapper plugin : toStart) {
+                starts.put(plugin.getPluginId(), scheduleStart(plugin, starts, executor));
+            }
+            CompletableFuture.allOf(starts.values().toArray(CompletableFuture[]::new)).join();
+        } finally {
+            // Interrupts any plugin still starting after timing out
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets the IDs of the plugins still starting.
+     * @return the IDs of the plugins still starting
+     */
+    public Set<String> getPendingStarts() {
+        return Set.copyOf(pendingStarts);
+    }
+
+    /**
+     * Gets how long the given plugin took to start, or to fail to.
+     * @param pluginId the ID of the plugin
+     * @return how long the plugin took to start, or {@code null} if it hasn't finished starting
+     */
+    public @Nullable Duration getStartupTime(String pluginId) {
+        return startupTimes.get(pluginId);
+    }
+
+    /**
+     * Schedules a plugin to start once the plugins it depends on have finished starting.
+     *
+     * @param plugin the plugin to start
+     * @param starts the starts already scheduled, by plugin ID
+     * @param executor the executor to start the plugin on
+     * @return a future completing with whether the plugin started
+     */
+    private CompletableFuture<Boolean> scheduleStart(PluginWrapper plugin,
+        Map<String, CompletableFuture<Boolean>> starts, ExecutorService executor
+    ) {
+        List<CompletableFuture<Boolean>> dependencies = new ArrayList<>();
+        for (PluginDependency dependency : plugin.getDescriptor().getDependencies()) {
+            CompletableFuture<Boolean> dependencyStart = starts.get(dependency.getPluginId());
+            if (dependencyStart != null) {
+                dependencies.add(dependencyStart.thenApply(started ->
+                    started || dependency.isOptional()));
+            }
+        }
+
+        return CompletableFuture.allOf(dependencies.toArray(CompletableFuture[]::new))
+            .thenCompose(ignored -> {
+                if (dependencies.stream().anyMatch(dependency -> !dependency.join())) {
+                    return CompletableFuture.completedFuture(finishStart(plugin,
+                        new PluginRuntimeException("A plugin it requires failed to start"),
+                        Duration.ZERO));
+                }
+
+                long startedAt = System.nanoTime();
+                return CompletableFuture.runAsync(() -> plugin.getPlugin().start(), executor)
+                    .orTimeout(startupTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .handle((result, failure) -> finishStart(plugin, failure,
+                        Duration.ofNanos(System.nanoTime() - startedAt)));
+            });
+    }
+
+    /**
+     * Records the outcome of a plugin's start and announces it to state listeners, one plugin at a
+     * time.
+     *
+     * @param plugin the plugin that finished starting
+     * @param failure why the plugin failed to start, or {@code null} if it started
+     * @param startupTime how long the plugin took to start, or to fail to
+     * @return {@code true} if the plugin started
+     */
+    private synchronized boolean finishStart(PluginWrapper plugin, @Nullable Throwable failure,
+        Duration startupTime
+    ) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        if (failure instanceof TimeoutException) {
+            failure = new PluginRuntimeException("Timed out starting after {}", startupTimeout);
+        }
+
+        PluginState previousState = plugin.getPluginState();
+        String label = getPluginLabel(plugin.getDescriptor());
+        if (failure == null) {
+            plugin.setPluginState(PluginState.STARTED);
+            plugin.setFailedException(null);
+            startedPlugins.add(plugin);
+            logger.info("Started plugin '{}' in {} ms", label, startupTime.toMillis());
+        } else {
+            plugin.setPluginState(PluginState.FAILED);
+            plugin.setFailedException(failure);
+            logger.error("Unable to start plugin '{}'", label, failure);
+        }
+
+        startupTimes.put(plugin.getPluginId(), startupTime);
+        pendingStarts.remove(plugin.getPluginId());
+        firePluginStateEvent(new PluginStateEvent(this, plugin, previousState));
+        return failure == null;
+    }
+
+    /**
+     * Reloads a started plugin from its path without taking it out of service.
+     * </br></br>
+     * The new version is loaded and started beside the old one, then takes its place and is
+     * announced to state listeners with a {@link PluginReloadEvent}, during which they swap their
+     * registrations over and let requests in flight on the old version finish. Only then is the old
+     * version stopped and unloaded. If the new version fails to load or start, it's discarded and
+     * the old version keeps serving.
+     * </br></br>
+     * Plugins that other started plugins depend on can't be reloaded, since their dependents have
+     * already linked against the old version's classes.
+     *
+     * @param pluginId the ID of the plugin to reload
+     * @return the new version of the plugin
+     * @throws PluginRuntimeException if the plugin can't be reloaded, or its new version fails to
+     * load or start
+     */
+    public PluginWrapper reloadPlugin(String pluginId) {
+        if (!reloading.add(pluginId)) {
+            throw new PluginRuntimeException("Plugin '{}' is already being reloaded", pluginId);
+        }
+
+        try {
+            PluginWrapper current = getPlugin(pluginId);
+            if (current == null || current.getPluginState() != PluginState.STARTED) {
+                throw new PluginRuntimeException("Plugin '{}' isn't started", pluginId);
+            }
+            for (PluginWrapper plugin : getStartedPlugins()) {
+                if (plugin.getDescriptor().getDependencies().stream()
+                    .anyMatch(dependency -> dependency.getPluginId().equals(pluginId))
+                ) {
+                    throw new PluginRuntimeException("Plugin '{}' is required by plugin '{}'",
+                        pluginId, plugin.getPluginId());
+                }
+            }
+
+            PluginWrapper replacement = startReplacement(current);
+            synchronized (this) {
+                plugins.put(pluginId, replacement);
+                pluginClassLoaders.put(pluginId, replacement.getPluginClassLoader());
+                resolvedPlugins.set(resolvedPlugins.indexOf(current), replacement);
+                startedPlugins.set(startedPlugins.indexOf(current), replacement);
+            }
+
+            // Listeners return once the old version is no longer in use
+            firePluginStateEvent(new PluginReloadEvent(this, replacement, current));
+
+            try {
+                current.getPlugin().stop();
+            } catch (Exception e) {
+                logger.warn("Unable to stop old version of plugin '{}'", pluginId, e);
+            }
+            current.setPluginState(PluginState.STOPPED);
+            closeClassLoader(current);
+            logger.info("Reloaded plugin '{}'", getPluginLabel(replacement.getDescriptor()));
+
+            return replacement;
+        } finally {
+            reloading.remove(pluginId);
+        }
+    }
+
+    /**
+     * Loads and starts a new version of a plugin from the path of its current version, without
+     * adding it to the plugin manager.
+     *
+     * @param current the current version of the plugin
+     * @return the new version of the plugin, started
+     * @throws PluginRuntimeException if the new version fails to load or start
+     */
+    private PluginWrapper startReplacement(PluginWrapper current) {
+        String pluginId = current.getPluginId();
+        Path pluginPath = current.getPluginPath();
+        PluginDescriptor descriptor = getPluginDescriptorFinder().find(pluginPath);
+        validatePluginDescriptor(descriptor);
+        if (!pluginId.equals(descriptor.getPluginId())) {
+            throw new PluginRuntimeException("Plugin at '{}' is now '{}' rather than '{}'",
+                pluginPath, descriptor.getPluginId(), pluginId);
+        }
+        for (PluginDependency dependency : descriptor.getDependencies()) {
+            PluginWrapper required = getPlugin(dependency.getPluginId());
+            if (!dependency.isOptional() &&
+                (required == null || required.getPluginState() != PluginState.STARTED)
+            ) {
+                throw new PluginRuntimeException("Plugin '{}' requires plugin '{}', which isn't "
+                    + "started", pluginId, dependency.getPluginId());
+            }
+        }
+
+        ClassLoader classLoader = getPluginLoader().loadPlugin(pluginPath, descriptor);
+        PluginWrapper replacement = createPluginWrapper(descriptor, pluginPath, classLoader);
+        replacement.setPluginState(PluginState.RESOLVED);
+
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofPlatform().name("onefeed-plugin-reload-" + pluginId).daemon().factory());
+        long startedAt = System.nanoTime();
+        try {
+            executor.submit(() -> replacement.getPlugin().start())
+                .get(startupTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            closeClassLoader(replacement);
+            throw new PluginRuntimeException(e.getCause(), "Unable to start new version of "
+                + "plugin '{}'", pluginId);
+        } catch (TimeoutException e) {
+            closeClassLoader(replacement);
+            throw new PluginRuntimeException("Timed out starting new version of plugin '{}' after "
+                + "{}", pluginId, startupTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closeClassLoader(replacement);
+            throw new PluginRuntimeException(e, "Interrupted starting new version of plugin '{}'",
+                pluginId);
+        } finally {
+            // Interrupts the new version if it's still starting after timing out
+            executor.shutdownNow();
+        }
+
+        Duration startupTime = Duration.ofNanos(System.nanoTime() - startedAt);
+        replacement.setPluginState(PluginState.STARTED);
+        startupTimes.put(pluginId, startupTime);
+        logger.info("Started new version of plugin '{}' in {} ms",
+            getPluginLabel(descriptor), startupTime.toMillis());
+        return replacement;
+    }
+
+    /**
+     * Closes the class loader of a plugin no longer in use, if it can be closed.
+     * @param plugin the plugin whose class loader to close
+     */
+    private void closeClassLoader(PluginWrapper plugin) {
+        if (plugin.getPluginClassLoader() instanceof Closeable classLoader) {
+            try {
+                classLoader.close();
+            } catch (IOException e) {
+                logger.warn("Unable to close class loader of plugin '{}'", plugin.getPluginId(), e);
+            }
+        }
     }
 
     /**
@@ -31,14 +344,11 @@ public class OneFeedPluginManager extends DefaultPluginManager {
     }
 
     /**
-     * Gets the first {@link PluginState#RESOLVED} {@link OneFeedCacherPlugin} found in the plugin
-     * manager.
-     * @return the first {@link PluginState#RESOLVED} {@link OneFeedCacherPlugin} found in the
-     * plugin manager
+     * Gets a list of all {@link PluginState#RESOLVED} {@link OneFeedCacherPlugin}s.
+     * @return a list of all {@link PluginState#RESOLVED} {@link OneFeedCacherPlugin}s
      */
-    public PluginWrapper getCacher() {
+    public List<PluginWrapper> getCachers() {
         return getPlugins().stream()
-            .filter(p -> p.getPlugin() instanceof OneFeedCacherPlugin)
-            .toList().getFirst();
+            .filter(p -> p.getPlugin() instanceof OneFeedCacherPlugin).toList();
     }
 }
@@ -1,15 +1,28 @@
 package dev.jqb.onefeed.server.plugin;
 
+import dev.jqb.onefeed.core.author.PlatformAuthor;
+import dev.jqb.onefeed.core.caching.Cacher;
 import dev.jqb.onefeed.core.caching.OneFeedCacherPlugin;
+import dev.jqb.onefeed.core.content.PlatformContent;
+import dev.jqb.onefeed.core.provider.DrainableProvider;
 import dev.jqb.onefeed.core.provider.OneFeedProviderPlugin;
+import dev.jqb.onefeed.core.provider.Provider;
 import dev.jqb.onefeed.server.aggregation.AggregationService;
+import dev.jqb.onefeed.server.aggregation.CircuitBreakerRegistry;
 import dev.jqb.onefeed.server.aggregation.FeedRegistry;
+import dev.jqb.onefeed.server.aggregation.LeftoverStore;
+import dev.jqb.onefeed.server.aggregation.RateLimiterRegistry;
 import dev.jqb.onefeed.server.author.AuthorService;
+import dev.jqb.onefeed.server.caching.CacherRegistry;
 import dev.jqb.onefeed.server.tasks.TaskRegistry;
+import java.time.Duration;
+import org.jspecify.annotations.Nullable;
 import org.pf4j.PluginState;
 import org.pf4j.PluginStateEvent;
 import org.pf4j.PluginStateListener;
 import org.pf4j.PluginWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -18,22 +31,36 @@ import org.springframework.stereotype.Component;
  */
 @Component
 public class OneFeedPluginStateListener implements PluginStateListener {
+    private static final Logger logger = LoggerFactory.getLogger(OneFeedPluginStateListener.class);
+
     private final PluginTypeRegistry typeRegistry;
     private final FeedRegistry feedRegistry;
     private final TaskRegistry taskRegistry;
     private final AggregationService aggregationService;
     private final AuthorService authorService;
+    private final CacherRegistry cacherRegistry;
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final LeftoverStore leftoverStore;
+    private final PluginConfig pluginConfig;
 
     @Autowired
     public OneFeedPluginStateListener(PluginTypeRegistry typeRegistry, FeedRegistry feedRegistry,
         TaskRegistry taskRegistry, AggregationService aggregationService,
-        AuthorService authorService
+        AuthorService authorService, CacherRegistry cacherRegistry,
+        RateLimiterRegistry rateLimiterRegistry, CircuitBreakerRegistry circuitBreakerRegistry,
+        LeftoverStore leftoverStore, PluginConfig pluginConfig
     ) {
         this.typeRegistry = typeRegistry;
         this.feedRegistry = feedRegistry;
         this.taskRegistry = taskRegistry;
         this.aggregationService = aggregationService;
         this.authorService = authorService;
+        this.cacherRegistry = cacherRegistry;
+        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.leftoverStore = leftoverStore;
+        this.pluginConfig = pluginConfig;
     }
 
     @Override
@@ -41,21 +68,20 @@ public class OneFeedPluginStateListener implements PluginStateListener {
         // Only register types when the plugin is actually ready
         PluginState state = event.getPluginState();
         PluginWrapper wrapper = event.getPlugin();
-        if (state == PluginState.STARTED) {
+        if (event instanceof PluginReloadEvent reload) {
+            swapPlugin(wrapper, reload.getReplaced());
+        } else if (state == PluginState.STARTED) {
             typeRegistry.registerTypesFrom(wrapper);
 
             Class<?> pluginClass = wrapper.getPlugin().getClass();
             if (OneFeedProviderPlugin.class.isAssignableFrom(pluginClass)) {
                 OneFeedProviderPlugin plugin = (OneFeedProviderPlugin) wrapper.getPlugin();
-                feedRegistry.registerFeedsFor(wrapper, plugin.getProvider(), plugin.getFeedNames());
+                feedRegistry.registerFeedsFor(wrapper, guardProvider(wrapper, plugin),
+                    plugin.getFeedNames());
             } else if (OneFeedCacherPlugin.class.isAssignableFrom(pluginClass)) {
-                if (aggregationService.getCache() != null) {
-                    throw new IllegalStateException("Cannot register multiple cachers");
-                }
-
                 OneFeedCacherPlugin plugin = (OneFeedCacherPlugin) wrapper.getPlugin();
-                aggregationService.setCache(plugin.getCacher());
-                authorService.setCache(plugin.getCacher());
+                cacherRegistry.registerCachersFor(wrapper, plugin);
+                useRegisteredCachers();
             }
         } else if (state == PluginState.STOPPED || state == PluginState.DISABLED ||
             state == PluginState.UNLOADED
@@ -66,10 +92,132 @@ public class OneFeedPluginStateListener implements PluginStateListener {
             Class<?> pluginClass = wrapper.getPlugin().getClass();
             if (OneFeedProviderPlugin.class.isAssignableFrom(pluginClass)) {
                 feedRegistry.deregisterFeedsFor(wrapper);
+                rateLimiterRegistry.deregisterLimiterFor(wrapper);
+                circuitBreakerRegistry.deregisterBreakerFor(wrapper);
+                leftoverStore.dropLeftoversOf(wrapper.getPluginId());
             } else if (OneFeedCacherPlugin.class.isAssignableFrom(pluginClass)) {
-                aggregationService.setCache(null);
-                authorService.setCache(null);
+                cacherRegistry.deregisterCachersFor(wrapper);
+                useRegisteredCachers();
+            }
+        } else if (state == PluginState.FAILED) {
+            deregisterFailedPlugin(wrapper);
+        }
+    }
+
+    /**
+     * Deregisters everything a plugin that failed to start may have registered.
+     * </br></br>
+     * A plugin can fail after it started, or while still stuck starting past its startup timeout,
+     * and may not even have an instance to inspect, so everything is deregistered whatever kind of
+     * plugin it is. Deregistering what was never registered does nothing.
+     *
+     * @param wrapper the wrapper of the failed plugin
+     */
+    private void deregisterFailedPlugin(PluginWrapper wrapper) {
+        String pluginId = wrapper.getPluginId();
+        logger.debug("Deregistering everything for failed plugin '{}'", pluginId);
+        taskRegistry.deregisterPluginTasks(pluginId);
+        typeRegistry.deregisterTypesFrom(pluginId);
+        feedRegistry.deregisterFeedsFor(wrapper);
+        rateLimiterRegistry.deregisterLimiterFor(wrapper);
+        circuitBreakerRegistry.deregisterBreakerFor(wrapper);
+        leftoverStore.dropLeftoversOf(pluginId);
+        cacherRegistry.deregisterCachersFor(wrapper);
+        useRegisteredCachers();
+    }
+
+    /**
+     * Moves everything registered for the old version of a reloaded plugin over to its new version,
+     * returning once requests in flight on the old version have finished or the drain timeout has
+     * elapsed.
+     * </br></br>
+     * The plugin's feeds and cacher shards are swapped over rather than deregistered and registered
+     * again, so aggregations including them never find them missing. Leftovers fetched through the
+     * old version are dropped once it's drained, since the new version can't make sense of them.
+     *
+     * @param wrapper the wrapper of the new version of the plugin
+     * @param replaced the wrapper of the old version of the plugin
+     */
+    private void swapPlugin(PluginWrapper wrapper, PluginWrapper replaced) {
+        String pluginId = wrapper.getPluginId();
+        typeRegistry.replaceTypesFrom(wrapper);
+        taskRegistry.deregisterPluginTasks(pluginId);
+
+        Class<?> pluginClass = wrapper.getPlugin().getClass();
+        if (OneFeedProviderPlugin.class.isAssignableFrom(pluginClass)) {
+            OneFeedProviderPlugin plugin = (OneFeedProviderPlugin) wrapper.getPlugin();
+
+            // The old version's limiter and breaker keep guarding its own requests as they drain
+            rateLimiterRegistry.deregisterLimiterFor(replaced);
+            circuitBreakerRegistry.deregisterBreakerFor(replaced);
+            Provider<? extends PlatformContent, ? extends PlatformAuthor> previous =
+                feedRegistry.swapFeedsFor(wrapper, guardProvider(wrapper, plugin),
+                    plugin.getFeedNames());
+            awaitDrained(pluginId, previous);
+            leftoverStore.dropLeftoversOf(pluginId);
+        } else if (OneFeedCacherPlugin.class.isAssignableFrom(pluginClass)) {
+            OneFeedCacherPlugin plugin = (OneFeedCacherPlugin) wrapper.getPlugin();
+            cacherRegistry.replaceCachersFor(wrapper, plugin);
+            useRegisteredCachers();
+        }
+
+        taskRegistry.schedulePluginTasks(wrapper);
+    }
+
+    /**
+     * Wraps a provider plugin's provider in its rate limiter and circuit breaker, if it's configured
+     * with them, and in a {@link DrainableProvider} so it can later be retired gracefully.
+     *
+     * @param wrapper the wrapper of the provider plugin
+     * @param plugin the provider plugin instance
+     * @return the plugin's wrapped provider
+     */
+    private Provider<? extends PlatformContent, ? extends PlatformAuthor> guardProvider(
+        PluginWrapper wrapper, OneFeedProviderPlugin plugin
+    ) {
+        // The breaker goes outermost so open circuits don't spend rate limit tokens
+        Provider<? extends PlatformContent, ? extends PlatformAuthor> provider =
+            rateLimiterRegistry.registerLimiterFor(wrapper, plugin);
+        provider = circuitBreakerRegistry.registerBreakerFor(wrapper, plugin, provider);
+        return new DrainableProvider<>(provider);
+    }
+
+    /**
+     * Waits for the requests in flight on a provider plugin's old provider to finish, up to the
+     * drain timeout.
+     *
+     * @param pluginId the ID of the provider plugin
+     * @param previous the provider the plugin's feeds were registered with before being swapped
+     */
+    private void awaitDrained(String pluginId,
+        @Nullable Provider<? extends PlatformContent, ? extends PlatformAuthor> previous
+    ) {
+        DrainableProvider<?, ?> drainable = previous == null
+            ? null
+            : previous.unwrap(DrainableProvider.class);
+        if (drainable == null) {
+            return;
+        }
+
+        Duration drainTimeout = pluginConfig.getDrainTimeout();
+        try {
+            if (!drainable.awaitDrained(drainTimeout)) {
+                logger.warn("{} requests still in flight on old version of plugin '{}' after {}",
+                    drainable.getInFlight(), pluginId, drainTimeout);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted draining old version of plugin '{}'", pluginId);
         }
     }
+
+    /**
+     * Points the services at the cacher spanning every registered cacher shard, or at no cacher if
+     * there are none left.
+     */
+    private void useRegisteredCachers() {
+        Cacher<?, ?> cacher = cacherRegistry.getCacher();
+        aggregationService.setCache(cacher);
+        authorService.setCache(cacher);
+    }
 }
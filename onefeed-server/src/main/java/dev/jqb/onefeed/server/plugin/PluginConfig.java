@@ -1,10 +1,12 @@
 package dev.jqb.onefeed.server.plugin;
 
+import dev.jqb.onefeed.core.http.HttpClientFactory;
 import dev.jqb.onefeed.core.plugin.PluginConfigsFile;
 import dev.jqb.onefeed.server.aggregation.FeedRegistry;
 import io.github.cdimascio.dotenv.Dotenv;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Objects;
 import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
@@ -27,6 +29,17 @@ public class PluginConfig {
     private String directoryPath;
     private String pluginConfigPath;
 
+    /**
+     * How long a single plugin may take to start before it's considered failed
+     */
+    private Duration startupTimeout = Duration.ofSeconds(30);
+
+    /**
+     * How long the old version of a reloaded plugin is given to finish its requests in flight
+     * before it's unloaded regardless
+     */
+    private Duration drainTimeout = Duration.ofSeconds(30);
+
     private static final Logger logger = LoggerFactory.getLogger(PluginConfig.class);
 
     @Bean
@@ -53,10 +66,10 @@ public class PluginConfig {
     @Bean
     public OneFeedPluginManager oneFeedPluginManager(PluginConfigsFile pluginConfigsFile,
         PluginTypeRegistry pluginTypeRegistry, FeedRegistry feedRegistry,
-        PluginStateListener pluginStateListener
+        PluginStateListener pluginStateListener, HttpClientFactory httpClientFactory
     ) {
         OneFeedPluginManager pluginManager = new OneFeedPluginManager(Path.of(directoryPath),
-            pluginConfigsFile);
+            pluginConfigsFile, httpClientFactory, startupTimeout);
 
         // Register the listener with the plugin manager
         pluginManager.addPluginStateListener(pluginStateListener);
@@ -0,0 +1,58 @@
+package dev.jqb.onefeed.server.plugin;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.pf4j.PluginRuntimeException;
+import org.pf4j.PluginWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Management endpoint for reloading started plugins in place, such as after replacing a plugin's
+ * JAR with a new version
+ * </br></br>
+ * Like other management endpoints, it's only reachable once exposed through
+ * {@code management.endpoints.web.exposure.include}.
+ *
+ * @see OneFeedPluginManager#reloadPlugin(String)
+ */
+@Component
+@Endpoint(id = "pluginReload")
+public class PluginReloadEndpoint {
+    private static final Logger logger = LoggerFactory.getLogger(PluginReloadEndpoint.class);
+
+    private final OneFeedPluginManager pluginManager;
+
+    @Autowired
+    public PluginReloadEndpoint(OneFeedPluginManager pluginManager) {
+        this.pluginManager = pluginManager;
+    }
+
+    /**
+     * Reloads a started plugin, returning once its old version has been unloaded.
+     *
+     * @param pluginId the ID of the plugin to reload
+     * @return the outcome of the reload, with the reason it failed if it did
+     */
+    @WriteOperation
+    public Map<String, Object> reload(@Selector String pluginId) {
+        Map<String, Object> outcome = new LinkedHashMap<>();
+        outcome.put("pluginId", pluginId);
+        try {
+            PluginWrapper plugin = pluginManager.reloadPlugin(pluginId);
+            outcome.put("reloaded", true);
+            outcome.put("version", plugin.getDescriptor().getVersion());
+        } catch (PluginRuntimeException e) {
+            logger.error("Unable to reload plugin '{}'", pluginId, e);
+            outcome.put("reloaded", false);
+            outcome.put("failure", e.getMessage());
+        }
+
+        return outcome;
+    }
+}
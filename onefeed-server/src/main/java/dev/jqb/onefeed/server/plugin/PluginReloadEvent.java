@@ -0,0 +1,42 @@
+package dev.jqb.onefeed.server.plugin;
+
+import org.pf4j.PluginManager;
+import org.pf4j.PluginState;
+import org.pf4j.PluginStateEvent;
+import org.pf4j.PluginWrapper;
+
+/**
+ * A {@link PluginStateEvent} announcing that a new version of a started plugin has started beside
+ * the old one and taken its place in the plugin manager
+ * </br></br>
+ * Listeners should move whatever they registered for the old version over to the new one without
+ * deregistering the plugin in between, then return once the old version is no longer in use. The
+ * old version is stopped and unloaded as soon as every listener has returned.
+ */
+public class PluginReloadEvent extends PluginStateEvent {
+
+    /**
+     * The old version of the plugin
+     */
+    private final PluginWrapper replaced;
+
+    /**
+     * Constructs a new {@code PluginReloadEvent}.
+     *
+     * @param source the plugin manager that reloaded the plugin
+     * @param plugin the new version of the plugin
+     * @param replaced the old version of the plugin
+     */
+    public PluginReloadEvent(PluginManager source, PluginWrapper plugin, PluginWrapper replaced) {
+        super(source, plugin, PluginState.STARTED);
+        this.replaced = replaced;
+    }
+
+    /**
+     * Gets the old version of the plugin.
+     * @return the old version of the plugin
+     */
+    public PluginWrapper getReplaced() {
+        return replaced;
+    }
+}
@@ -0,0 +1,53 @@
+package dev.jqb.onefeed.server.plugin;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.pf4j.PluginWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports whether plugins are still starting, along with how each plugin's start went
+ * </br></br>
+ * OneFeed is out of service while any plugin is starting. Plugins that failed to start don't hold
+ * it back, since every other plugin's feeds can still be served, but are listed with the reason
+ * they failed.
+ */
+@Component
+public class PluginStartupHealthIndicator implements HealthIndicator {
+    private final OneFeedPluginManager pluginManager;
+
+    @Autowired
+    public PluginStartupHealthIndicator(OneFeedPluginManager pluginManager) {
+        this.pluginManager = pluginManager;
+    }
+
+    @Override
+    public Health health() {
+        Set<String> pending = pluginManager.getPendingStarts();
+        Health.Builder health = pending.isEmpty()
+            ? Health.up()
+            : Health.outOfService().withDetail("pending", pending);
+
+        Map<String, Object> plugins = new LinkedHashMap<>();
+        for (PluginWrapper plugin : pluginManager.getPlugins()) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("state", plugin.getPluginState().toString());
+
+            Duration startupTime = pluginManager.getStartupTime(plugin.getPluginId());
+            if (startupTime != null) {
+                details.put("startupMillis", startupTime.toMillis());
+            }
+            if (plugin.getFailedException() != null) {
+                details.put("failure", plugin.getFailedException().getMessage());
+            }
+            plugins.put(plugin.getPluginId(), details);
+        }
+
+        return health.withDetail("plugins", plugins).build();
+    }
+}
@@ -45,6 +45,29 @@ public class PluginTypeRegistry {
         }
     }
 
+    /**
+     * Replaces the types a plugin registered with those of a new version of the plugin.
+     * </br></br>
+     * The new version's types are registered before any the new version no longer has are
+     * deregistered, so types both versions have can be resolved throughout.
+     *
+     * @param wrapper the wrapper of the new version of the plugin
+     */
+    public void replaceTypesFrom(PluginWrapper wrapper) {
+        List<String> previousFqns = pluginIdToFqns.remove(wrapper.getPluginId());
+        registerTypesFrom(wrapper);
+
+        if (previousFqns != null) {
+            List<String> fqns = pluginIdToFqns.getOrDefault(wrapper.getPluginId(), List.of());
+            for (String fqn : previousFqns) {
+                if (!fqns.contains(fqn)) {
+                    fqnToTypes.remove(fqn);
+                    logger.trace("Deregistered type '{}'", fqn);
+                }
+            }
+        }
+    }
+
     /**
      * Deregister all types that a plugin may have needed to deserialize from JSON strings.
      * @param pluginId the ID of the plugin whose types to deregister
@@ -0,0 +1,49 @@
+package dev.jqb.onefeed.server.polling;
+
+import dev.jqb.onefeed.core.feed.FeedActivity;
+import dev.jqb.onefeed.core.feed.FeedIdentifier;
+import dev.jqb.onefeed.server.config.PollingConfig;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * A registry of the observed {@link FeedActivity} of each feed, recording reads as clients make
+ * them so polling can follow what's actually being read
+ */
+@Component
+public class FeedActivityTracker {
+    private final ConcurrentHashMap<FeedIdentifier, FeedActivity> feedIdToActivity =
+        new ConcurrentHashMap<>();
+    private final double smoothing;
+
+    @Autowired
+    public FeedActivityTracker(PollingConfig config) {
+        this.smoothing = config.getSmoothing();
+    }
+
+    /**
+     * Records that a client read the given feed.
+     * @param feedId the ID of the feed that was read
+     */
+    public void recordRead(FeedIdentifier feedId) {
+        getActivity(feedId).recordRead();
+    }
+
+    /**
+     * Gets the activity of the given feed, starting to track it if it isn't already.
+     * @param feedId the ID of the feed whose activity to get
+     * @return the feed's activity
+     */
+    public FeedActivity getActivity(FeedIdentifier feedId) {
+        return feedIdToActivity.computeIfAbsent(feedId, id -> new FeedActivity(smoothing));
+    }
+
+    /**
+     * Stops tracking the activity of the given feed, such as when it's deregistered.
+     * @param feedId the ID of the feed to stop tracking
+     */
+    public void forget(FeedIdentifier feedId) {
+        feedIdToActivity.remove(feedId);
+    }
+}
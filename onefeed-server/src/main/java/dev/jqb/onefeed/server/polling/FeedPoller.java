@@ -0,0 +1,237 @@
+package dev.jqb.onefeed.server.polling;
+
+import dev.jqb.onefeed.core.aggregation.AggregationOptions;
+import dev.jqb.onefeed.core.author.PlatformAuthor;
+import dev.jqb.onefeed.core.content.PlatformContent;
+import dev.jqb.onefeed.core.feed.Feed;
+import dev.jqb.onefeed.core.feed.FeedActivity;
+import dev.jqb.onefeed.core.feed.FeedIdentifier;
+import dev.jqb.onefeed.core.feed.PollingPolicy;
+import dev.jqb.onefeed.core.provider.RateLimitedProvider;
+import dev.jqb.onefeed.server.aggregation.AggregationService;
+import dev.jqb.onefeed.server.aggregation.FeedRegistry;
+import dev.jqb.onefeed.server.config.PollingConfig;
+import dev.jqb.onefeed.server.live.LiveFeedHub;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Polls every registered feed in the background on an adaptive interval, so fresh content is
+ * cached (and pushed to live subscribers) before anyone asks for it
+ * </br></br>
+ * Each feed's next poll is decided by the {@link PollingPolicy} from its {@link FeedActivity}, so
+ * busy, popular feeds are polled often while dormant or unread ones back off. Polls to the same
+ * provider are spaced out to stay within its polling budget, which for rate-limited providers is
+ * further capped to a share of their rate limit. Newly registered feeds have their first polls
+ * spread across the initial interval rather than all made at once.
+ */
+@Component
+public class FeedPoller {
+    private static final Logger logger = LoggerFactory.getLogger(FeedPoller.class);
+
+    private final PollingConfig config;
+    private final PollingPolicy policy;
+    private final FeedRegistry feedRegistry;
+    private final FeedActivityTracker activityTracker;
+    private final AggregationService aggregationService;
+    private final LiveFeedHub liveFeedHub;
+    private final TaskScheduler scheduler;
+
+    private final ConcurrentHashMap<FeedIdentifier, PolledFeed> polledFeeds =
+        new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ProviderBudget> providerBudgets =
+        new ConcurrentHashMap<>();
+    private final Counter pollCounter;
+
+    @Autowired
+    public FeedPoller(PollingConfig config, PollingPolicy policy, FeedRegistry feedRegistry,
+        FeedActivityTracker activityTracker, AggregationService aggregationService,
+        LiveFeedHub liveFeedHub, TaskScheduler scheduler, MeterRegistry meterRegistry
+    ) {
+        this.config = config;
+        this.policy = policy;
+        this.feedRegistry = feedRegistry;
+        this.activityTracker = activityTracker;
+        this.aggregationService = aggregationService;
+        this.liveFeedHub = liveFeedHub;
+        this.scheduler = scheduler;
+
+        Gauge.builder("onefeed.polling.feeds", polledFeeds, Map::size)
+            .description("Feeds being polled in the background")
+            .register(meterRegistry);
+        this.pollCounter = Counter.builder("onefeed.polling.polls")
+            .description("Background polls made")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Starts polling every registered feed, if polling is enabled, periodically picking up feeds
+     * registered or deregistered since.
+     */
+    public void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        logger.info("Polling feeds in the background every {} to {}", config.getMinInterval(),
+            config.getMaxInterval());
+        scheduler.scheduleWithFixedDelay(this::reconcile, config.getReconcileInterval());
+    }
+
+    /**
+     * Starts polling newly registered feeds and stops polling deregistered ones.
+     */
+    private void reconcile() {
+        Set<FeedIdentifier> registered = new HashSet<>();
+        Set<String> providers = new HashSet<>();
+
+        for (Feed<? extends PlatformContent, ? extends PlatformAuthor> feed :
+            feedRegistry.getFeeds()
+        ) {
+            registered.add(feed.getId());
+            providers.add(feed.getId().getProviderId());
+
+            PolledFeed polled = new PolledFeed(feed);
+            PolledFeed existing = polledFeeds.putIfAbsent(feed.getId(), polled);
+            if (existing == null) {
+                long spreadNanos = config.getInitialInterval().toNanos();
+                schedule(polled, Duration.ofNanos(
+                    ThreadLocalRandom.current().nextLong(Math.max(1, spreadNanos))));
+            } else {
+                // Reloaded plugins register new provider instances under the same feed IDs
+                existing.feed = feed;
+            }
+        }
+
+        polledFeeds.entrySet().removeIf(entry -> {
+            if (registered.contains(entry.getKey())) {
+                return false;
+            }
+
+            ScheduledFuture<?> next = entry.getValue().next;
+            if (next != null) {
+                next.cancel(false);
+            }
+            activityTracker.forget(entry.getKey());
+            logger.debug("Stopped polling deregistered feed '{}'", entry.getKey().toIdString());
+            return true;
+        });
+        providerBudgets.keySet().retainAll(providers);
+    }
+
+    /**
+     * Schedules the next poll of a feed after the given delay, or later if its provider's polling
+     * budget is already spoken for.
+     *
+     * @param polled the feed to poll
+     * @param delay how long to wait before polling, at the earliest
+     */
+    private void schedule(PolledFeed polled, Duration delay) {
+        Feed<? extends PlatformContent, ? extends PlatformAuthor> feed = polled.feed;
+        ProviderBudget budget = providerBudgets.computeIfAbsent(feed.getId().getProviderId(),
+            id -> new ProviderBudget());
+
+        Instant slot = budget.reserve(Instant.now().plus(delay), pollSpacingFor(feed));
+        polled.next = scheduler.schedule(() -> poll(polled), slot);
+    }
+
+    /**
+     * Polls a feed through the aggregation service, caching whatever is new, then schedules its
+     * next poll based on what was found.
+     *
+     * @param polled the feed to poll
+     */
+    private void poll(PolledFeed polled) {
+        Feed<? extends PlatformContent, ? extends PlatformAuthor> feed = polled.feed;
+        FeedIdentifier feedId = feed.getId();
+        if (polledFeeds.get(feedId) != polled) {
+            return;
+        }
+
+        FeedActivity activity = activityTracker.getActivity(feedId);
+        AggregationOptions options = new AggregationOptions(Map.of(feedId, 1));
+
+        aggregationService.aggregate(config.getContentPerPoll(), List.of(feed), options)
+            .collectList()
+            .doOnNext(content -> {
+                int newContent = activity.recordPoll(content, Instant.now());
+                logger.trace("Polled feed '{}', finding {} new", feedId.toIdString(), newContent);
+            })
+            .doFinally(signal -> {
+                pollCounter.increment();
+                if (polledFeeds.get(feedId) == polled) {
+                    schedule(polled, policy.nextInterval(activity,
+                        liveFeedHub.hasSubscribers(feedId), ThreadLocalRandom.current()));
+                }
+            })
+            .subscribe();
+    }
+
+    /**
+     * Gets the least time between polls to the given feed's provider.
+     * @param feed the feed whose provider to space polls to
+     * @return the least time between polls to the feed's provider
+     */
+    private Duration pollSpacingFor(
+        Feed<? extends PlatformContent, ? extends PlatformAuthor> feed
+    ) {
+        double pollsPerSecond = config.getPollsPerSecondPerProvider();
+
+        RateLimitedProvider<?, ?> limited = feed.getProvider().unwrap(RateLimitedProvider.class);
+        if (limited != null) {
+            pollsPerSecond = Math.min(pollsPerSecond,
+                limited.getLimiter().getRate() * config.getRateLimitShare());
+        }
+
+        return pollsPerSecond > 0
+            ? Duration.ofNanos((long) (1e9 / pollsPerSecond))
+            : config.getMaxInterval();
+    }
+
+    /**
+     * A feed being polled, along with its next scheduled poll
+     */
+    private static final class PolledFeed {
+        private volatile Feed<? extends PlatformContent, ? extends PlatformAuthor> feed;
+        private volatile ScheduledFuture<?> next;
+
+        private PolledFeed(Feed<? extends PlatformContent, ? extends PlatformAuthor> feed) {
+            this.feed = feed;
+        }
+    }
+
+    /**
+     * The next time a provider may be polled without exceeding its polling budget
+     */
+    private static final class ProviderBudget {
+        private Instant nextFree = Instant.MIN;
+
+        /**
+         * Reserves the first slot at or after the desired time.
+         *
+         * @param desired the time the poll would ideally be made
+         * @param spacing the least time between polls to the provider
+         * @return the time the poll may be made
+         */
+        private synchronized Instant reserve(Instant desired, Duration spacing) {
+            Instant slot = desired.isBefore(nextFree) ? nextFree : desired;
+            nextFree = slot.plus(spacing);
+            return slot;
+        }
+    }
+}
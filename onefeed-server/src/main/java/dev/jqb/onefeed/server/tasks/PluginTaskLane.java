@@ -0,0 +1,287 @@
+package dev.jqb.onefeed.server.tasks;
+
+import dev.jqb.onefeed.core.plugin.CronTask;
+import dev.jqb.onefeed.core.plugin.FixedDelayTask;
+import dev.jqb.onefeed.core.plugin.ScheduledTask;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.CronExpression;
+
+/**
+ * The tasks of a single plugin, executed apart from every other plugin's
+ * </br></br>
+ * The shared scheduler only decides when each task is due. Tasks are executed by the lane's own
+ * executor, so a plugin whose tasks run long or block only ever holds up its own tasks. No task is
+ * ever executed twice at once: {@link FixedDelayTask}s wait out their delay after each execution
+ * ends, and {@link CronTask} executions that come due while the last is still running are skipped.
+ * </br></br>
+ * Each task's execution time, start lag (how long after it came due it actually started), skipped
+ * executions and failures are recorded as metrics tagged with the plugin and task.
+ */
+class PluginTaskLane implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(PluginTaskLane.class);
+
+    private final String pluginId;
+
+    /**
+     * The scheduler that triggers the lane's tasks when they come due
+     */
+    private final TaskScheduler scheduler;
+
+    /**
+     * The executor the lane's tasks are executed by
+     */
+    private final ExecutorService executor;
+
+    private final MeterRegistry meterRegistry;
+    private final List<LaneTask> tasks = new ArrayList<>();
+    private final List<Meter> meters = new ArrayList<>();
+    private volatile boolean closed = false;
+
+    /**
+     * Constructs a new, empty {@code PluginTaskLane}.
+     *
+     * @param pluginId the ID of the plugin whose tasks the lane executes
+     * @param scheduler the scheduler that triggers the lane's tasks when they come due
+     * @param executor the executor the lane's tasks are executed by, which the lane takes
+     *                 ownership of
+     * @param meterRegistry the registry the lane's task metrics are registered in
+     */
+    PluginTaskLane(String pluginId, TaskScheduler scheduler, ExecutorService executor,
+        MeterRegistry meterRegistry
+    ) {
+        this.pluginId = pluginId;
+        this.scheduler = scheduler;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Schedules a task to execute in the lane until the lane is closed.
+     *
+     * @param task the task to schedule
+     * @return {@code true} if the task was scheduled, or {@code false} if its type isn't supported
+     * @throws IllegalArgumentException if the task is a {@link CronTask} with an invalid cron
+     * expression
+     */
+    synchronized boolean schedule(ScheduledTask task) {
+        LaneTask laneTask;
+        if (task instanceof FixedDelayTask fixedDelayTask) {
+            laneTask = new LaneTask(task, null, fixedDelayTask.getDelay(), Duration.ZERO);
+        } else if (task instanceof CronTask cronTask) {
+            laneTask = new LaneTask(task, CronExpression.parse(cronTask.getCronExpression()),
+                Duration.ZERO, cronTask.getJitter());
+        } else {
+            return false;
+        }
+
+        tasks.add(laneTask);
+        laneTask.start();
+        return true;
+    }
+
+    /**
+     * Gets every task scheduled in the lane.
+     * @return the tasks scheduled in the lane, in the order they were scheduled
+     */
+    synchronized List<ScheduledTask> getTasks() {
+        List<ScheduledTask> scheduled = new ArrayList<>(tasks.size());
+        for (LaneTask laneTask : tasks) {
+            scheduled.add(laneTask.task);
+        }
+        return scheduled;
+    }
+
+    /**
+     * Cancels every task in the lane, interrupting those executing, and removes their metrics.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        for (LaneTask laneTask : tasks) {
+            ScheduledFuture<?> next = laneTask.next;
+            if (next != null) {
+                next.cancel(false);
+            }
+        }
+
+        executor.shutdownNow();
+        meters.forEach(meterRegistry::remove);
+        meters.clear();
+    }
+
+    /**
+     * A task scheduled in the lane, along with its metrics
+     */
+    private class LaneTask {
+        private final ScheduledTask task;
+
+        /**
+         * The task's cron schedule, or {@code null} if it executes at a fixed delay
+         */
+        private final @Nullable CronExpression cron;
+
+        private final Duration delay;
+        private final Duration jitter;
+
+        /**
+         * Whether the task is queued or executing
+         */
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        /**
+         * The trigger of the task's next execution, if one is scheduled
+         */
+        private volatile @Nullable ScheduledFuture<?> next;
+
+        private final Timer executionTimer;
+        private final Timer lagTimer;
+        private final Counter skipCounter;
+        private final Counter failureCounter;
+
+        private LaneTask(ScheduledTask task, @Nullable CronExpression cron, Duration delay,
+            Duration jitter
+        ) {
+            this.task = task;
+            this.cron = cron;
+            this.delay = delay;
+            this.jitter = jitter;
+
+            Tags tags = Tags.of("plugin", pluginId, "task", task.getName());
+            this.executionTimer = register(Timer.builder("onefeed.tasks.execution")
+                .description("Time plugin tasks spent executing")
+                .tags(tags)
+                .register(meterRegistry));
+            this.lagTimer = register(Timer.builder("onefeed.tasks.start.lag")
+                .description("How long after coming due plugin tasks started executing")
+                .tags(tags)
+                .register(meterRegistry));
+            this.skipCounter = register(Counter.builder("onefeed.tasks.skipped")
+                .description("Plugin task executions skipped for the last still running")
+                .tags(tags)
+                .register(meterRegistry));
+            this.failureCounter = register(Counter.builder("onefeed.tasks.failures")
+                .description("Plugin task executions that threw")
+                .tags(tags)
+                .register(meterRegistry));
+        }
+
+        /**
+         * Schedules the task's first execution.
+         */
+        private void start() {
+            if (cron == null) {
+                trigger(Instant.now());
+            } else {
+                triggerAfter(ZonedDateTime.now(ZoneId.systemDefault()));
+            }
+        }
+
+        /**
+         * Schedules the task's next execution for the given time.
+         * @param due when the task is next due
+         */
+        private void trigger(Instant due) {
+            if (!closed) {
+                next = scheduler.schedule(() -> dispatch(due), due);
+            }
+        }
+
+        /**
+         * Schedules the task's next execution for the first time its cron schedule matches after
+         * the given time, delayed by a random amount up to its jitter.
+         * @param after the time to find the next match after
+         */
+        private void triggerAfter(ZonedDateTime after) {
+            ZonedDateTime scheduled = cron.next(after);
+            if (scheduled == null || closed) {
+                return;
+            }
+
+            Instant due = scheduled.toInstant();
+            if (jitter.isPositive()) {
+                due = due.plusNanos(ThreadLocalRandom.current().nextLong(jitter.toNanos()));
+            }
+
+            Instant dueAt = due;
+            next = scheduler.schedule(() -> {
+                triggerAfter(scheduled);
+                dispatch(dueAt);
+            }, dueAt);
+        }
+
+        /**
+         * Hands the task to the lane's executor, unless it's still running from last time.
+         * @param due when the task came due
+         */
+        private void dispatch(Instant due) {
+            if (!running.compareAndSet(false, true)) {
+                skipCounter.increment();
+                logger.debug("Skipping task {} of '{}', which is still running", task.getName(),
+                    pluginId);
+                return;
+            }
+
+            try {
+                executor.execute(() -> execute(due));
+            } catch (RejectedExecutionException e) {
+                // The lane has been closed
+                running.set(false);
+            }
+        }
+
+        /**
+         * Executes the task, recording its metrics, then schedules its next execution if it
+         * executes at a fixed delay.
+         * </br></br>
+         * Like the scheduler's own error handling, anything the task throws is logged and
+         * suppressed, errors from a plugin's class loader included, so a failed execution never
+         * stops the next one from being scheduled.
+         * @param due when the task came due
+         */
+        private void execute(Instant due) {
+            lagTimer.record(Duration.between(due, Instant.now()));
+            long startedAt = System.nanoTime();
+            try {
+                task.run();
+            } catch (Throwable e) {
+                failureCounter.increment();
+                logger.warn("Task {} of '{}' failed", task.getName(), pluginId, e);
+            } finally {
+                executionTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+                running.set(false);
+                if (cron == null) {
+                    trigger(Instant.now().plus(delay));
+                }
+            }
+        }
+    }
+
+    /**
+     * Keeps track of a meter so it can be removed when the lane is closed.
+     * @param meter the meter to keep track of
+     * @return the same meter
+     */
+    private <M extends Meter> M register(M meter) {
+        meters.add(meter);
+        return meter;
+    }
+}
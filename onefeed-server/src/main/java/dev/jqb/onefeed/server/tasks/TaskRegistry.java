@@ -1,32 +1,114 @@
 package dev.jqb.onefeed.server.tasks;
 
+import dev.jqb.onefeed.core.plugin.CronTask;
+import dev.jqb.onefeed.core.plugin.FixedDelayTask;
+import dev.jqb.onefeed.core.plugin.ScheduledTask;
+import dev.jqb.onefeed.core.plugin.ScheduledTasks;
+import dev.jqb.onefeed.server.config.ThreadPoolTaskSchedulerConfig;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.pf4j.Plugin;
+import org.pf4j.PluginWrapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Component;
 
 /**
  * A registry of the tasks associated with each plugin
+ * </br></br>
+ * Each plugin's tasks are executed in a lane of their own, apart from every other plugin's. With
+ * virtual threads enabled, every execution runs on a virtual thread of its own. Otherwise, each
+ * lane has its own few platform threads.
  */
 @Component
 public class TaskRegistry {
     private static final Logger logger = LoggerFactory.getLogger(TaskRegistry.class);
 
     /**
-     * A mapping of plugin IDs to their associated tasks (if any)
+     * The scheduler that triggers plugin tasks when they come due
      */
-    private ConcurrentHashMap<String, List<ScheduledFuture<?>>> pluginIdToTasks =
+    private final TaskScheduler pluginTaskScheduler;
+
+    private final ThreadPoolTaskSchedulerConfig config;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Whether plugin tasks are executed on virtual threads
+     */
+    private final boolean virtualThreads;
+
+    /**
+     * A mapping of plugin IDs to the lanes their tasks are executed in (if any)
+     */
+    private final ConcurrentHashMap<String, PluginTaskLane> pluginIdToLanes =
         new ConcurrentHashMap<>();
 
+    @Autowired
+    public TaskRegistry(TaskScheduler pluginTaskScheduler, ThreadPoolTaskSchedulerConfig config,
+        MeterRegistry meterRegistry,
+        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.pluginTaskScheduler = pluginTaskScheduler;
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.virtualThreads = virtualThreads;
+    }
+
     /**
-     * Register all tasks associated with a plugin ID
-     * @param pluginId the ID of the plugin whose tasks to register
-     * @param tasks the tasks to register
+     * Schedules every task a plugin desires scheduling for in a lane of its own, registered with
+     * its ID.
+     *
+     * @param pluginWrapper the wrapper of the plugin whose tasks to schedule
+     * @return the number of tasks scheduled
      */
-    public void registerPluginTasks(String pluginId, List<ScheduledFuture<?>> tasks) {
-        pluginIdToTasks.put(pluginId, tasks);
+    public int schedulePluginTasks(PluginWrapper pluginWrapper) {
+        Plugin plugin = pluginWrapper.getPlugin();
+        if (!(plugin instanceof ScheduledTasks)) {
+            return 0;
+        }
+
+        String pluginId = pluginWrapper.getPluginId();
+        PluginTaskLane lane = new PluginTaskLane(pluginId, pluginTaskScheduler,
+            laneExecutor(pluginId), meterRegistry);
+        int scheduled = 0;
+        for (ScheduledTask task : ((ScheduledTasks) plugin).getScheduledTasks()) {
+            task.setRequester(pluginWrapper);
+            logger.debug("Found task for '{}': {}", pluginId, task.getName());
+
+            // Determine the type of scheduling it requires
+            String humanTriggerName;
+            if (task instanceof FixedDelayTask fixedDelayTask) {
+                humanTriggerName = fixedDelayTask.getDelay().toString();
+            } else if (task instanceof CronTask cronTask) {
+                humanTriggerName = cronTask.getCronExpression();
+            } else {
+                logger.warn("Skipping unsupported task type: {}", task.getClass().getSimpleName());
+                continue;
+            }
+
+            try {
+                lane.schedule(task);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Skipping task {} of '{}' with invalid trigger '{}': {}",
+                    task.getName(), pluginId, humanTriggerName, e.getMessage());
+                continue;
+            }
+
+            scheduled++;
+            logger.debug("Scheduled task {} with trigger '{}'", task.getName(), humanTriggerName);
+        }
+
+        PluginTaskLane previous = pluginIdToLanes.put(pluginId, lane);
+        if (previous != null) {
+            previous.close();
+        }
+        return scheduled;
     }
 
     /**
@@ -35,8 +117,9 @@ public class TaskRegistry {
      * @return the tasks associated with the given plugin ID, or an empty list if none are
      * registered
      */
-    public List<ScheduledFuture<?>> getPluginTasks(String pluginId) {
-        return pluginIdToTasks.get(pluginId);
+    public List<ScheduledTask> getPluginTasks(String pluginId) {
+        PluginTaskLane lane = pluginIdToLanes.get(pluginId);
+        return lane == null ? List.of() : lane.getTasks();
     }
 
     /**
@@ -45,8 +128,24 @@ public class TaskRegistry {
      */
     public void deregisterPluginTasks(String pluginId) {
         logger.debug("Cancelling tasks for plugin '{}'", pluginId);
-        for (ScheduledFuture<?> task : pluginIdToTasks.remove(pluginId)) {
-            task.cancel(true);
+        PluginTaskLane lane = pluginIdToLanes.remove(pluginId);
+        if (lane != null) {
+            lane.close();
         }
     }
+
+    /**
+     * Creates the executor of a plugin's task lane.
+     * @param pluginId the ID of the plugin whose tasks the executor is to execute
+     * @return a new executor for the plugin's tasks alone
+     */
+    private ExecutorService laneExecutor(String pluginId) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("onefeed-task-" + pluginId + "-", 0).factory());
+        }
+
+        return Executors.newFixedThreadPool(config.getLaneThreads(),
+            Thread.ofPlatform().name("onefeed-task-" + pluginId + "-", 0).daemon().factory());
+    }
 }
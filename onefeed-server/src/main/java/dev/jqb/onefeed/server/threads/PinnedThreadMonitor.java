@@ -0,0 +1,180 @@
+package dev.jqb.onefeed.server.threads;
+
+import dev.jqb.onefeed.server.plugin.OneFeedPluginManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.jspecify.annotations.Nullable;
+import org.pf4j.PluginWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, and the plugins responsible
+ * </br></br>
+ * A virtual thread that blocks while pinned holds on to its carrier, a scarce platform thread, as
+ * if it weren't virtual at all. Blocking in native code or in a class initializer still pins, so
+ * plugins that do either defeat virtual threads. Each pinning that lasts at least the threshold is
+ * logged with its stack, and timed under the plugin whose code is innermost in the stack, if any.
+ * </br></br>
+ * Pinnings are watched for with a JFR event stream that records nothing but pinnings of at least
+ * the threshold, so watching costs next to nothing while nothing is pinned.
+ */
+public class PinnedThreadMonitor implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+
+    /**
+     * The JFR event recorded when a virtual thread blocks while pinned
+     */
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    /**
+     * The most frames of a pinned thread's stack logged
+     */
+    private static final int LOGGED_FRAMES = 24;
+
+    /**
+     * The shortest pinning reported
+     */
+    private final Duration threshold;
+
+    private final OneFeedPluginManager pluginManager;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * The stream of pinning events, or {@code null} until started
+     */
+    private @Nullable RecordingStream stream;
+
+    /**
+     * Constructs a new {@code PinnedThreadMonitor}.
+     *
+     * @param threshold the shortest pinning to report
+     * @param pluginManager the manager of the plugins pinnings are attributed to
+     * @param meterRegistry the registry pinnings are timed in
+     */
+    public PinnedThreadMonitor(Duration threshold, OneFeedPluginManager pluginManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.threshold = threshold;
+        this.pluginManager = pluginManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Starts watching for pinned virtual threads in the background.
+     */
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        logger.info("Reporting virtual threads pinned for {} or longer", threshold);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    /**
+     * Logs and times a single pinning.
+     * @param event the pinning event
+     */
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+        String pluginId = attribute(frames);
+
+        Timer.builder("onefeed.threads.virtual.pinned")
+            .description("Time virtual threads spent blocked while pinned to their carrier")
+            .tag("plugin", pluginId == null ? "none" : pluginId)
+            .register(meterRegistry)
+            .record(event.getDuration());
+
+        String reason = event.hasField("pinnedReason") ? event.getString("pinnedReason") : null;
+        logger.warn("Virtual thread pinned for {} ms{}{}:{}", event.getDuration().toMillis(),
+            pluginId == null ? "" : " in plugin '" + pluginId + "'",
+            reason == null ? "" : " (" + reason + ")", formatFrames(frames));
+    }
+
+    /**
+     * Finds the plugin whose code is innermost in a pinned thread's stack.
+     *
+     * @param frames the pinned thread's stack, innermost frame first
+     * @return the ID of the plugin, or {@code null} if none of the stack is plugin code
+     */
+    private @Nullable String attribute(List<RecordedFrame> frames) {
+        List<PluginWrapper> plugins = pluginManager.getPlugins();
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod() == null) {
+                continue;
+            }
+
+            String className = frame.getMethod().getType().getName();
+            for (PluginWrapper plugin : plugins) {
+                String pluginPackage = packageOf(plugin.getDescriptor().getPluginClass());
+                if (pluginPackage != null && className.startsWith(pluginPackage)) {
+                    return plugin.getPluginId();
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the package a plugin's code lives in from the name of its plugin class.
+     *
+     * @param pluginClass the fully qualified name of the plugin class, if any
+     * @return the package, with a trailing {@code .}, or {@code null} if the plugin has no plugin
+     * class of its own
+     */
+    private static @Nullable String packageOf(@Nullable String pluginClass) {
+        // Plugins without a plugin class of their own are described with PF4J's
+        if (pluginClass == null || pluginClass.startsWith("org.pf4j.")) {
+            return null;
+        }
+
+        int packageEnd = pluginClass.lastIndexOf('.');
+        return packageEnd < 0 ? null : pluginClass.substring(0, packageEnd + 1);
+    }
+
+    /**
+     * Formats the innermost frames of a stack the way a thread dump would.
+     * @param frames the stack, innermost frame first
+     * @return the formatted frames, one per line
+     */
+    private static String formatFrames(List<RecordedFrame> frames) {
+        StringBuilder formatted = new StringBuilder();
+        for (RecordedFrame frame : frames.subList(0, Math.min(LOGGED_FRAMES, frames.size()))) {
+            if (frame.getMethod() == null) {
+                continue;
+            }
+
+            formatted.append("\n\tat ").append(frame.getMethod().getType().getName())
+                .append('.').append(frame.getMethod().getName());
+            if (frame.getLineNumber() > 0) {
+                formatted.append(':').append(frame.getLineNumber());
+            }
+        }
+
+        if (frames.size() > LOGGED_FRAMES) {
+            formatted.append("\n\t... ").append(frames.size() - LOGGED_FRAMES).append(" more");
+        }
+        return formatted.toString();
+    }
+}
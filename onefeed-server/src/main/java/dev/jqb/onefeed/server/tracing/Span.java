@@ -0,0 +1,195 @@
+package dev.jqb.onefeed.server.tracing;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.SignalType;
+
+/**
+ * A single timed operation within a {@link Trace}, such as a provider fetch or a cache read
+ * </br></br>
+ * Modeled on OpenTelemetry spans: each has a name, a parent (unless it's the root of its trace),
+ * attributes describing the operation, and a status once it ends.
+ */
+@Getter
+public class Span {
+
+    /**
+     * How a span ended
+     */
+    public enum Status {
+        /**
+         * The span hasn't ended yet
+         */
+        UNSET,
+
+        /**
+         * The operation completed
+         */
+        OK,
+
+        /**
+         * The operation failed
+         */
+        ERROR,
+
+        /**
+         * The operation was cancelled before it completed
+         */
+        CANCELLED
+    }
+
+    /**
+     * The trace the span belongs to
+     */
+    @Getter(AccessLevel.NONE)
+    private final Trace trace;
+
+    private final String spanId;
+
+    /**
+     * The ID of the span's parent, or {@code null} if it's the root of its trace
+     */
+    private final @Nullable String parentId;
+
+    private final String name;
+
+    /**
+     * The attributes describing the operation, in the order they were set
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Object> attributes = Collections.synchronizedMap(
+        new LinkedHashMap<>());
+
+    private final Instant start;
+
+    @Getter(AccessLevel.NONE)
+    private final long startNanos;
+
+    @Getter(AccessLevel.NONE)
+    private volatile long endNanos = -1;
+
+    private volatile Status status = Status.UNSET;
+
+    /**
+     * The error the operation failed with, if it failed
+     */
+    private volatile @Nullable String error;
+
+    Span(Trace trace, String spanId, @Nullable String parentId, String name,
+        Map<String, ?> attributes
+    ) {
+        this.trace = trace;
+        this.spanId = spanId;
+        this.parentId = parentId;
+        this.name = name;
+        this.attributes.putAll(attributes);
+        this.start = Instant.now();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Gets the ID of the trace the span belongs to.
+     * @return the span's trace ID
+     */
+    public String getTraceId() {
+        return trace.getTraceId();
+    }
+
+    /**
+     * Gets the attributes describing the operation.
+     * @return a copy of the span's attributes, in the order they were set
+     */
+    public Map<String, Object> getAttributes() {
+        synchronized (attributes) {
+            return new LinkedHashMap<>(attributes);
+        }
+    }
+
+    /**
+     * Sets an attribute describing the operation.
+     *
+     * @param key the attribute's key
+     * @param value the attribute's value
+     */
+    public void setAttribute(String key, Object value) {
+        attributes.put(key, value);
+    }
+
+    /**
+     * Checks whether the span has ended.
+     * @return {@code true} if the span has ended
+     */
+    public boolean isEnded() {
+        return endNanos >= 0;
+    }
+
+    /**
+     * Gets how long the span has lasted.
+     * @return the duration of the span, or how long it's lasted so far if it hasn't ended
+     */
+    public Duration getDuration() {
+        long end = endNanos;
+        return Duration.ofNanos((end < 0 ? System.nanoTime() : end) - startNanos);
+    }
+
+    /**
+     * Gets how long after another span this span started.
+     *
+     * @param other the span to measure from
+     * @return the time between the other span's start and this span's
+     */
+    public Duration getOffsetFrom(Span other) {
+        return Duration.ofNanos(startNanos - other.startNanos);
+    }
+
+    /**
+     * Gets the point at which the span ended, comparable only with that of other spans.
+     * @return the span's end in {@link System#nanoTime()} terms, or the current time if it hasn't
+     * ended
+     */
+    long getEndNanos() {
+        long end = endNanos;
+        return end < 0 ? System.nanoTime() : end;
+    }
+
+    /**
+     * Records the error the operation failed with.
+     * @param error the error
+     */
+    void recordError(Throwable error) {
+        this.error = error.getClass().getSimpleName() + ": " + error.getMessage();
+    }
+
+    /**
+     * Ends the span with the given status, unless it's already ended.
+     * @param status how the operation ended
+     */
+    void end(Status status) {
+        if (endNanos < 0) {
+            this.status = status;
+            this.endNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Ends the span according to the signal that ended its publisher, unless it's already ended.
+     * @param signal the signal that ended the span's publisher
+     */
+    void end(SignalType signal) {
+        end(switch (signal) {
+            case ON_ERROR -> Status.ERROR;
+            case CANCEL -> Status.CANCELLED;
+            default -> Status.OK;
+        });
+    }
+
+    Trace getTrace() {
+        return trace;
+    }
+}
@@ -0,0 +1,114 @@
+package dev.jqb.onefeed.server.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+
+/**
+ * The spans of a single traced request, such as one aggregation, held in memory
+ * </br></br>
+ * A trace holds at most a set number of spans, so a request that fans out to a great many feeds
+ * can't hold on to unbounded memory. Spans started past the limit aren't recorded, only counted.
+ */
+public class Trace {
+
+    @Getter
+    private final String traceId;
+
+    /**
+     * The most spans the trace holds
+     */
+    private final int maxSpans;
+
+    /**
+     * The trace's spans, in the order they started, starting with its root
+     */
+    private final List<Span> spans = new ArrayList<>();
+
+    /**
+     * The number of spans started past the limit
+     */
+    private final AtomicInteger dropped = new AtomicInteger();
+
+    Trace(String traceId, int maxSpans) {
+        this.traceId = traceId;
+        this.maxSpans = maxSpans;
+    }
+
+    /**
+     * Gets the root span of the trace.
+     * @return the trace's root span
+     */
+    public Span getRoot() {
+        synchronized (spans) {
+            return spans.getFirst();
+        }
+    }
+
+    /**
+     * Gets every span of the trace recorded so far.
+     * @return a copy of the trace's spans, in the order they started
+     */
+    public List<Span> getSpans() {
+        synchronized (spans) {
+            return new ArrayList<>(spans);
+        }
+    }
+
+    /**
+     * Gets the number of spans started past the limit, which weren't recorded.
+     * @return the number of spans dropped
+     */
+    public int getDroppedSpans() {
+        return dropped.get();
+    }
+
+    /**
+     * Gets the trace's critical path, being the chain of spans from its root that held it up the
+     * longest.
+     * </br></br>
+     * Starting from the root, each step follows the child that ended last, since the parent
+     * couldn't end before it did.
+     *
+     * @return the spans on the critical path, starting with the root
+     */
+    public List<Span> getCriticalPath() {
+        List<Span> snapshot = getSpans();
+        List<Span> path = new ArrayList<>();
+        Span current = snapshot.getFirst();
+        while (current != null) {
+            path.add(current);
+
+            Span latest = null;
+            for (Span span : snapshot) {
+                if (current.getSpanId().equals(span.getParentId())
+                    && (latest == null || span.getEndNanos() > latest.getEndNanos())
+                ) {
+                    latest = span;
+                }
+            }
+            current = latest;
+        }
+
+        return path;
+    }
+
+    /**
+     * Records a newly started span, if the trace has room for it.
+     *
+     * @param span the span to record
+     * @return {@code true} if the span was recorded, or {@code false} if the trace is full
+     */
+    boolean add(Span span) {
+        synchronized (spans) {
+            if (spans.size() >= maxSpans) {
+                dropped.incrementAndGet();
+                return false;
+            }
+
+            spans.add(span);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package dev.jqb.onefeed.server.tracing;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Management endpoint summarizing the most recent traces kept in memory by the {@link Tracer}
+ * </br></br>
+ * Listing traces summarizes each one by its critical path and the time spent in each kind of span.
+ * Selecting a trace by its ID lists every one of its spans as well.
+ * </br></br>
+ * Like other management endpoints, it's only reachable once exposed through
+ * {@code management.endpoints.web.exposure.include}.
+ */
+@Component
+@Endpoint(id = "traces")
+public class TraceEndpoint {
+
+    private final Tracer tracer;
+
+    @Autowired
+    public TraceEndpoint(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * Summarizes the most recent traces.
+     * @return a summary of each trace kept in memory, newest first
+     */
+    @ReadOperation
+    public List<Map<String, Object>> traces() {
+        List<Map<String, Object>> summaries = new ArrayList<>();
+        for (Trace trace : tracer.getTraces()) {
+            summaries.add(summarize(trace));
+        }
+        return summaries;
+    }
+
+    /**
+     * Details a single recent trace, span by span.
+     *
+     * @param traceId the ID of the trace
+     * @return the trace's summary and spans, or {@code null} if it isn't kept in memory
+     */
+    @ReadOperation
+    public @Nullable Map<String, Object> trace(@Selector String traceId) {
+        Trace trace = tracer.getTrace(traceId);
+        if (trace == null) {
+            return null;
+        }
+
+        Span root = trace.getRoot();
+        List<Map<String, Object>> spans = new ArrayList<>();
+        for (Span span : trace.getSpans()) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("spanId", span.getSpanId());
+            details.put("parentId", span.getParentId());
+            details.put("name", span.getName());
+            details.put("offsetMs", millis(span.getOffsetFrom(root).toNanos()));
+            details.put("durationMs", millis(span.getDuration().toNanos()));
+            details.put("status", span.getStatus());
+            if (span.getError() != null) {
+                details.put("error", span.getError());
+            }
+            details.put("attributes", span.getAttributes());
+            spans.add(details);
+        }
+
+        Map<String, Object> details = summarize(trace);
+        details.put("spans", spans);
+        return details;
+    }
+
+    /**
+     * Summarizes a trace by its critical path and the time spent in each kind of span.
+     * @param trace the trace to summarize
+     * @return the trace's summary
+     */
+    private static Map<String, Object> summarize(Trace trace) {
+        Span root = trace.getRoot();
+        List<Span> spans = trace.getSpans();
+
+        List<Map<String, Object>> criticalPath = new ArrayList<>();
+        for (Span span : trace.getCriticalPath()) {
+            Map<String, Object> step = new LinkedHashMap<>();
+            step.put("name", span.getName());
+            step.put("offsetMs", millis(span.getOffsetFrom(root).toNanos()));
+            step.put("durationMs", millis(span.getDuration().toNanos()));
+            step.put("attributes", span.getAttributes());
+            criticalPath.add(step);
+        }
+
+        Map<String, long[]> byName = new TreeMap<>();
+        for (Span span : spans) {
+            // Count, total nanos, longest nanos
+            long[] stats = byName.computeIfAbsent(span.getName(), name -> new long[3]);
+            long nanos = span.getDuration().toNanos();
+            stats[0]++;
+            stats[1] += nanos;
+            stats[2] = Math.max(stats[2], nanos);
+        }
+
+        Map<String, Object> stages = new LinkedHashMap<>();
+        byName.forEach((name, stats) -> {
+            Map<String, Object> stage = new LinkedHashMap<>();
+            stage.put("count", stats[0]);
+            stage.put("totalMs", millis(stats[1]));
+            stage.put("maxMs", millis(stats[2]));
+            stages.put(name, stage);
+        });
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("traceId", trace.getTraceId());
+        summary.put("name", root.getName());
+        summary.put("start", root.getStart());
+        summary.put("durationMs", millis(root.getDuration().toNanos()));
+        summary.put("status", root.getStatus());
+        summary.put("attributes", root.getAttributes());
+        summary.put("spanCount", spans.size());
+        summary.put("droppedSpans", trace.getDroppedSpans());
+        summary.put("criticalPath", criticalPath);
+        summary.put("stages", stages);
+        return summary;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,266 @@
+package dev.jqb.onefeed.server.tracing;
+
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+/**
+ * Records spans around the operations of traced requests, exporting their traces to memory
+ * </br></br>
+ * A request is traced by wrapping its stream in a root span with
+ * {@link #traceRoot(String, Map, Flux)}. The current span travels down the stream in its Reactor
+ * context, so streams wrapped in spans anywhere upstream, on any thread, become its children.
+ * Synchronous operations, such as cache calls, are wrapped in spans under an explicit parent, as
+ * found with {@link #current(ContextView)}. Operations outside any traced request aren't traced.
+ * </br></br>
+ * Only a sample of requests is traced, so that the cost of recording spans is only paid on a
+ * fraction of them. Requests left out carry no span, so nothing upstream of them is traced either.
+ * </br></br>
+ * The most recent traces are kept in memory for the {@link TraceEndpoint} to summarize, so tracing
+ * works without an external collector.
+ */
+public class Tracer {
+
+    /**
+     * The key of the current span in a Reactor context
+     */
+    private static final Class<Span> SPAN_KEY = Span.class;
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final boolean enabled;
+
+    /**
+     * The fraction of requests traced, between 0 and 1
+     */
+    private final double sampleRatio;
+
+    private final int maxTraces;
+    private final int maxSpansPerTrace;
+
+    /**
+     * The most recent traces, by ID, oldest first
+     */
+    private final LinkedHashMap<String, Trace> traces = new LinkedHashMap<>();
+
+    /**
+     * Constructs a new {@code Tracer}.
+     *
+     * @param enabled whether requests are traced at all
+     * @param sampleRatio the fraction of requests traced, between 0 and 1
+     * @param maxTraces the most recent traces kept in memory
+     * @param maxSpansPerTrace the most spans recorded per trace
+     */
+    public Tracer(boolean enabled, double sampleRatio, int maxTraces, int maxSpansPerTrace) {
+        if (!(sampleRatio >= 0 && sampleRatio <= 1)) {
+            throw new IllegalArgumentException("Sample ratio must be in [0, 1]");
+        }
+        if (maxTraces < 1 || maxSpansPerTrace < 1) {
+            throw new IllegalArgumentException(
+                "Max traces and max spans per trace must both be at least 1");
+        }
+
+        this.enabled = enabled && sampleRatio > 0;
+        this.sampleRatio = sampleRatio;
+        this.maxTraces = maxTraces;
+        this.maxSpansPerTrace = maxSpansPerTrace;
+    }
+
+    /**
+     * Gets the current span from a Reactor context.
+     *
+     * @param context the context to get the span from
+     * @return the current span, or {@code null} if the context isn't part of a traced request
+     */
+    public static @Nullable Span current(ContextView context) {
+        return context.getOrDefault(SPAN_KEY, null);
+    }
+
+    /**
+     * Traces a request, if it's sampled, wrapping its stream in the root span of a new trace.
+     *
+     * @param name the name of the root span
+     * @param attributes the attributes describing the request
+     * @param request the stream of the request
+     * @return the same stream, sampled and traced anew on each subscription
+     */
+    public <T> Flux<T> traceRoot(String name, Map<String, ?> attributes, Flux<T> request) {
+        if (!enabled) {
+            return request;
+        }
+
+        return Flux.defer(() -> {
+            if (sampleRatio < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRatio) {
+                return request;
+            }
+
+            Trace trace = new Trace(HEX.toHexDigits(ThreadLocalRandom.current().nextLong())
+                + HEX.toHexDigits(ThreadLocalRandom.current().nextLong()), maxSpansPerTrace);
+            Span root = new Span(trace, newSpanId(), null, name, attributes);
+            trace.add(root);
+            store(trace);
+            return traced(root, request);
+        });
+    }
+
+    /**
+     * Wraps a stream in a span under the current span, if it's part of a traced request.
+     *
+     * @param name the name of the span
+     * @param attributes the attributes describing the operation
+     * @param operation the stream of the operation
+     * @return the same stream, traced on each subscription
+     */
+    public <T> Flux<T> trace(String name, Map<String, ?> attributes, Flux<T> operation) {
+        if (!enabled) {
+            return operation;
+        }
+
+        return Flux.deferContextual(context -> {
+            Span span = start(name, attributes, current(context));
+            return span == null ? operation : traced(span, operation);
+        });
+    }
+
+    /**
+     * Wraps a single-valued stream in a span under the current span, if it's part of a traced
+     * request.
+     *
+     * @param name the name of the span
+     * @param attributes the attributes describing the operation
+     * @param operation the stream of the operation
+     * @return the same stream, traced on each subscription
+     */
+    public <T> Mono<T> trace(String name, Map<String, ?> attributes, Mono<T> operation) {
+        if (!enabled) {
+            return operation;
+        }
+
+        return Mono.deferContextual(context -> {
+            Span span = start(name, attributes, current(context));
+            if (span == null) {
+                return operation;
+            }
+
+            return operation
+                .doOnError(span::recordError)
+                .doFinally(span::end)
+                .contextWrite(inner -> inner.put(SPAN_KEY, span));
+        });
+    }
+
+    /**
+     * Wraps a synchronous operation in a span under the given parent, if there is one.
+     *
+     * @param name the name of the span
+     * @param attributes the attributes describing the operation
+     * @param parent the span to wrap the operation's span in, if any
+     * @param operation the operation
+     * @return the result of the operation
+     */
+    public <T> T trace(String name, Map<String, ?> attributes, @Nullable Span parent,
+        Supplier<T> operation
+    ) {
+        Span span = start(name, attributes, parent);
+        if (span == null) {
+            return operation.get();
+        }
+
+        try {
+            T result = operation.get();
+            span.end(Span.Status.OK);
+            return result;
+        } catch (RuntimeException e) {
+            span.recordError(e);
+            span.end(Span.Status.ERROR);
+            throw e;
+        }
+    }
+
+    /**
+     * Wraps a synchronous operation in a span under the given parent, if there is one.
+     *
+     * @param name the name of the span
+     * @param attributes the attributes describing the operation
+     * @param parent the span to wrap the operation's span in, if any
+     * @param operation the operation
+     */
+    public void trace(String name, Map<String, ?> attributes, @Nullable Span parent,
+        Runnable operation
+    ) {
+        trace(name, attributes, parent, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Gets the most recent traces.
+     * @return the traces kept in memory, newest first
+     */
+    public List<Trace> getTraces() {
+        List<Trace> recent;
+        synchronized (traces) {
+            recent = new ArrayList<>(traces.values());
+        }
+        return recent.reversed();
+    }
+
+    /**
+     * Gets a recent trace by its ID.
+     *
+     * @param traceId the ID of the trace
+     * @return the trace, or {@code null} if it isn't kept in memory
+     */
+    public @Nullable Trace getTrace(String traceId) {
+        synchronized (traces) {
+            return traces.get(traceId);
+        }
+    }
+
+    /**
+     * Starts a span under the given parent, if there is one and its trace has room for it.
+     *
+     * @param name the name of the span
+     * @param attributes the attributes describing the operation
+     * @param parent the parent of the span, if any
+     * @return the started span, or {@code null} if none was started
+     */
+    private @Nullable Span start(String name, Map<String, ?> attributes, @Nullable Span parent) {
+        if (parent == null) {
+            return null;
+        }
+
+        Trace trace = parent.getTrace();
+        Span span = new Span(trace, newSpanId(), parent.getSpanId(), name, attributes);
+        return trace.add(span) ? span : null;
+    }
+
+    private <T> Flux<T> traced(Span span, Flux<T> operation) {
+        return operation
+            .doOnError(span::recordError)
+            .doFinally(span::end)
+            .contextWrite(context -> context.put(SPAN_KEY, span));
+    }
+
+    private void store(Trace trace) {
+        synchronized (traces) {
+            traces.put(trace.getTraceId(), trace);
+            if (traces.size() > maxTraces) {
+                traces.pollFirstEntry();
+            }
+        }
+    }
+
+    private static String newSpanId() {
+        return HEX.toHexDigits(ThreadLocalRandom.current().nextLong());
+    }
+}
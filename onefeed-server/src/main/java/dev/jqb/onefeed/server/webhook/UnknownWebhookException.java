@@ -0,0 +1,16 @@
+package dev.jqb.onefeed.server.webhook;
+
+/**
+ * Thrown when a webhook notification is sent to a plugin that doesn't exist or can't handle
+ * webhooks
+ */
+public class UnknownWebhookException extends RuntimeException {
+
+    /**
+     * Creates a new {@code UnknownWebhookException}
+     * @param pluginId the ID of the plugin the notification was sent to
+     */
+    public UnknownWebhookException(String pluginId) {
+        super("No provider plugin with ID '" + pluginId + "' accepts webhook notifications.");
+    }
+}
@@ -0,0 +1,69 @@
+package dev.jqb.onefeed.server.webhook;
+
+import dev.jqb.onefeed.core.provider.AutoProvider;
+import dev.jqb.onefeed.core.provider.Provider;
+import dev.jqb.onefeed.server.aggregation.FeedRegistry;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Endpoints for platforms to notify OneFeed of feed updates via webhooks
+ */
+@RestController
+@Validated
+@RequestMapping("/webhook")
+@Tag(name = "Webhook", description = "Endpoints for receiving platforms' webhook notifications")
+public class WebhookController {
+
+    /**
+     * How long platforms are asked to wait before retrying a refused notification, in seconds
+     */
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final FeedRegistry feedRegistry;
+    private final WebhookPipeline webhookPipeline;
+
+    @Autowired
+    public WebhookController(FeedRegistry feedRegistry, WebhookPipeline webhookPipeline) {
+        this.feedRegistry = feedRegistry;
+        this.webhookPipeline = webhookPipeline;
+    }
+
+    /**
+     * Accepts a webhook notification for a provider plugin, queueing it to be processed
+     * asynchronously.
+     *
+     * @param pluginId the ID of the provider plugin the notification is for
+     * @param payload the body of the notification, passed to the plugin as-is
+     *
+     * @return {@code 202 Accepted} once the notification is queued, or
+     * {@code 503 Service Unavailable} if too many notifications are already waiting
+     */
+    @PostMapping("/{pluginId}")
+    public ResponseEntity<Void> receiveNotification(
+        @PathVariable String pluginId,
+        @RequestBody String payload
+    ) {
+        Provider<?, ?> provider = feedRegistry.getProviderFor(pluginId);
+        if (provider == null || provider.unwrap(AutoProvider.class) == null) {
+            throw new UnknownWebhookException(pluginId);
+        }
+
+        if (!webhookPipeline.submit(pluginId, provider, payload)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .build();
+        }
+
+        return ResponseEntity.accepted().build();
+    }
+}
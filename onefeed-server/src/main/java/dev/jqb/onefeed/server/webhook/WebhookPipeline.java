@@ -0,0 +1,382 @@
+package dev.jqb.onefeed.server.webhook;
+
+import dev.jqb.onefeed.core.author.AuthorNormalizer;
+import dev.jqb.onefeed.core.author.PlatformAuthor;
+import dev.jqb.onefeed.core.caching.Cacher;
+import dev.jqb.onefeed.core.caching.GuardedCacher;
+import dev.jqb.onefeed.core.content.ContentIdentifier;
+import dev.jqb.onefeed.core.content.ContentNormalizer;
+import dev.jqb.onefeed.core.content.PlatformContent;
+import dev.jqb.onefeed.core.feed.FeedIdentifier;
+import dev.jqb.onefeed.core.feed.FeedUpdate;
+import dev.jqb.onefeed.core.impl.OneFeedAuthor;
+import dev.jqb.onefeed.core.impl.OneFeedContent;
+import dev.jqb.onefeed.core.provider.AutoProvider;
+import dev.jqb.onefeed.core.provider.DrainableProvider;
+import dev.jqb.onefeed.core.provider.Provider;
+import dev.jqb.onefeed.server.live.LiveFeedHub;
+import dev.jqb.onefeed.server.normalization.NormalizationStage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded, asynchronous pipeline that turns webhook notifications into cache updates
+ * </br></br>
+ * Notifications are queued as they arrive so the request that delivered them can be acknowledged
+ * right away. A small pool of workers drains the queue in batches, has each notification's
+ * {@link AutoProvider} make sense of it off the request thread, and applies the resulting
+ * {@link FeedUpdate}s to the cache together. Within a batch, later changes to the same piece of
+ * content win, so content that's added and then removed never reaches the cache at all. Content
+ * that's new once the batch is applied is then pushed to live subscribers.
+ * </br></br>
+ * When the queue is full, new notifications are refused rather than waited on, leaving the
+ * platform to retry them later.
+ * </br></br>
+ * A notification holds its provider in flight from when it's queued until its batch is applied, so
+ * a plugin reloaded in the meantime isn't retired while its notifications are still waiting.
+ */
+public class WebhookPipeline implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(WebhookPipeline.class);
+
+    /**
+     * How long an idle worker waits for a notification before checking whether it should stop
+     */
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final BlockingQueue<Notification> queue;
+    private final Supplier<@Nullable Cacher> cacheSupplier;
+    private final LiveFeedHub liveFeedHub;
+    private final NormalizationStage normalizationStage;
+    private final int batchSize;
+    private final Duration shutdownTimeout;
+    private final List<Thread> workers;
+    private volatile boolean running = true;
+
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private final Counter processedCounter;
+    private final Counter failedCounter;
+    private final DistributionSummary batchSizes;
+
+    /**
+     * Constructs a new {@code WebhookPipeline}, starting its workers.
+     *
+     * @param queueCapacity the most notifications that may be waiting to be processed at once
+     * @param workerCount the number of threads processing notifications
+     * @param batchSize the most notifications applied to the cache together
+     * @param shutdownTimeout how long to wait for queued notifications to be processed when closed
+     * @param cacheSupplier supplies the cache to apply updates to, which may change as cacher
+     *                      plugins come and go
+     * @param liveFeedHub the hub to push new content to live subscribers through
+     * @param normalizationStage the stage to normalize each notification's content in batches with
+     * @param meterRegistry the registry to report the pipeline's metrics to
+     */
+    public WebhookPipeline(int queueCapacity, int workerCount, int batchSize,
+        Duration shutdownTimeout, Supplier<@Nullable Cacher> cacheSupplier,
+        LiveFeedHub liveFeedHub, NormalizationStage normalizationStage,
+        MeterRegistry meterRegistry
+    ) {
+        if (queueCapacity < 1 || workerCount < 1 || batchSize < 1) {
+            throw new IllegalArgumentException(
+                "Queue capacity, worker count, and batch size must all be at least 1");
+        }
+
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.cacheSupplier = cacheSupplier;
+        this.liveFeedHub = liveFeedHub;
+        this.normalizationStage = normalizationStage;
+        this.batchSize = batchSize;
+        this.shutdownTimeout = shutdownTimeout;
+
+        Gauge.builder("onefeed.webhook.queue.size", queue, BlockingQueue::size)
+            .description("Webhook notifications waiting to be processed")
+            .register(meterRegistry);
+        this.acceptedCounter = notificationCounter(meterRegistry, "accepted");
+        this.rejectedCounter = notificationCounter(meterRegistry, "rejected");
+        this.processedCounter = notificationCounter(meterRegistry, "processed");
+        this.failedCounter = notificationCounter(meterRegistry, "failed");
+        this.batchSizes = DistributionSummary.builder("onefeed.webhook.batch.size")
+            .description("Webhook notifications applied to the cache together")
+            .register(meterRegistry);
+
+        this.workers = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofPlatform()
+                .name("onefeed-webhook-" + i)
+                .daemon()
+                .start(this::work));
+        }
+    }
+
+    /**
+     * Queues a webhook notification to be processed, without waiting for room in the queue.
+     *
+     * @param pluginId the ID of the provider plugin the notification was sent to
+     * @param provider the provider registered for the plugin, which must be or wrap an
+     *                 {@link AutoProvider} to make sense of the notification
+     * @param payload the body of the notification
+     * @return {@code true} if the notification was queued, or {@code false} if the queue is full or
+     * the pipeline is closed
+     * @throws IllegalArgumentException if the provider can't make sense of webhook notifications
+     */
+    public boolean submit(String pluginId, Provider<?, ?> provider, String payload) {
+        AutoProvider<?, ?> autoProvider = provider.unwrap(AutoProvider.class);
+        if (autoProvider == null) {
+            throw new IllegalArgumentException(
+                "Plugin '" + pluginId + "' doesn't accept webhook notifications");
+        }
+
+        DrainableProvider<?, ?> drainable = provider.unwrap(DrainableProvider.class);
+        if (drainable != null) {
+            drainable.acquire();
+        }
+        if (running && queue.offer(new Notification(pluginId, autoProvider, drainable, payload))) {
+            acceptedCounter.increment();
+            return true;
+        }
+
+        if (drainable != null) {
+            drainable.release();
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    /**
+     * Gets the number of notifications waiting to be processed.
+     * @return the number of notifications waiting to be processed
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting notifications and waits for the workers to process those already queued,
+     * up to the configured shutdown timeout.
+     */
+    @Override
+    public void close() {
+        running = false;
+
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Thread worker : workers) {
+            try {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !worker.join(Duration.ofNanos(remaining))) {
+                    worker.interrupt();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                workers.forEach(Thread::interrupt);
+                break;
+            }
+        }
+
+        List<Notification> dropped = new ArrayList<>();
+        queue.drainTo(dropped);
+        if (!dropped.isEmpty()) {
+            release(dropped);
+            logger.warn("Dropped {} unprocessed webhook notifications on shutdown", dropped.size());
+        }
+    }
+
+    /**
+     * Processes batches of notifications until the pipeline is closed and the queue is drained.
+     * </br></br>
+     * A batch that fails to apply is counted as failed and dropped, so one bad batch never stops
+     * its worker from draining the queue. Its notifications are counted only once the batch is
+     * applied, so each is counted exactly once whether or not the batch fails.
+     */
+    private void work() {
+        List<Notification> batch = new ArrayList<>(batchSize);
+
+        try {
+            while (running || !queue.isEmpty()) {
+                Notification first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                try {
+                    apply(batch);
+                } catch (Throwable e) {
+                    failedCounter.increment(batch.size());
+                    logger.warn("Failed to apply a batch of {} webhook notifications",
+                        batch.size(), e);
+                } finally {
+                    release(batch);
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Makes sense of a batch of notifications and applies their combined changes to the cache,
+     * counting each notification as processed or failed once they're applied.
+     * @param batch the notifications to apply
+     */
+    @SuppressWarnings("unchecked")
+    private void apply(List<Notification> batch) {
+        // Keyed by content key since content IDs compare equal by feed alone
+        Map<String, OneFeedContent> upserts = new LinkedHashMap<>();
+        Map<String, OneFeedContent> added = new LinkedHashMap<>();
+        Map<String, ContentIdentifier> removals = new LinkedHashMap<>();
+        Map<FeedIdentifier, OneFeedAuthor> authors = new HashMap<>();
+        int failed = 0;
+
+        for (Notification notification : batch) {
+            AutoProvider<PlatformContent, PlatformAuthor> provider =
+                (AutoProvider<PlatformContent, PlatformAuthor>) notification.provider();
+
+            try {
+                FeedUpdate<PlatformContent, PlatformAuthor> update =
+                    provider.handleWebhookNotif(notification.payload());
+                ContentNormalizer<PlatformContent, OneFeedContent> contentNormalizer =
+                    provider.getContentNormalizer();
+
+                String pluginId = notification.pluginId();
+                for (OneFeedContent normalized : normalizationStage.normalizeAll(
+                    update.getNewContent(), contentNormalizer, pluginId)
+                ) {
+                    String key = GuardedCacher.contentKey(normalized.getSource());
+                    removals.remove(key);
+                    upserts.put(key, normalized);
+                    added.put(key, normalized);
+                }
+
+                for (OneFeedContent normalized : normalizationStage.normalizeAll(
+                    update.getUpdatedContent(), contentNormalizer, pluginId)
+                ) {
+                    String key = GuardedCacher.contentKey(normalized.getSource());
+                    removals.remove(key);
+                    upserts.put(key, normalized);
+                    added.computeIfPresent(key, (k, previous) -> normalized);
+                }
+
+                for (PlatformContent content : update.getRemovedContent()) {
+                    String key = GuardedCacher.contentKey(content.getSource());
+                    upserts.remove(key);
+                    added.remove(key);
+                    removals.put(key, content.getSource());
+                }
+
+                if (update.getUpdatedAuthor() != null) {
+                    AuthorNormalizer<PlatformAuthor, OneFeedAuthor> authorNormalizer =
+                        provider.getAuthorNormalizer();
+                    OneFeedAuthor author = authorNormalizer.normalize(update.getUpdatedAuthor());
+                    authors.put(author.getFeedIdentifier(), author);
+                }
+            } catch (RuntimeException e) {
+                failed++;
+                logger.warn("Failed to handle webhook notification for plugin '{}': {}",
+                    notification.pluginId(), e.getMessage());
+            }
+        }
+
+        batchSizes.record(batch.size());
+        applyToCache(batch.size(), upserts, removals, authors);
+        publishLive(added.values());
+        processedCounter.increment(batch.size() - failed);
+        failedCounter.increment(failed);
+    }
+
+    /**
+     * Stops holding the providers of the given notifications in flight.
+     * @param notifications the notifications that are done with their providers
+     */
+    private static void release(List<Notification> notifications) {
+        for (Notification notification : notifications) {
+            if (notification.drainable() != null) {
+                notification.drainable().release();
+            }
+        }
+    }
+
+    /**
+     * Pushes a batch's new content to live subscribers, one piece at a time so a piece that
+     * can't be published doesn't hold back the rest.
+     * @param added the content that's new once the batch is applied
+     */
+    private void publishLive(Iterable<OneFeedContent> added) {
+        for (OneFeedContent content : added) {
+            try {
+                liveFeedHub.publish(content);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to publish content of feed '{}' to live subscribers: {}",
+                    content.getFeedIdentifier().toIdString(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Applies a batch's combined changes to the cache, if there is one.
+     *
+     * @param batchSize the number of notifications the changes came from
+     * @param upserts the content to cache, keyed by content key
+     * @param removals the IDs of the content to remove, keyed by content key
+     * @param authors the authors to cache, keyed by feed
+     */
+    @SuppressWarnings("unchecked")
+    private void applyToCache(int batchSize, Map<String, OneFeedContent> upserts,
+        Map<String, ContentIdentifier> removals, Map<FeedIdentifier, OneFeedAuthor> authors
+    ) {
+        Cacher cache = cacheSupplier.get();
+        if (cache == null) {
+            logger.debug("No cache to apply {} webhook notifications to", batchSize);
+            return;
+        }
+
+        try {
+            if (!upserts.isEmpty()) {
+                cache.cacheContent(new ArrayList<>(upserts.values()));
+            }
+            for (ContentIdentifier removed : removals.values()) {
+                cache.removeContent(removed, removed.getIdOnPlatform());
+            }
+            if (!authors.isEmpty()) {
+                cache.cacheAuthors(new ArrayList<>(authors.values()));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to apply {} webhook notifications to the cache: {}",
+                batchSize, e.getMessage());
+        }
+    }
+
+    private static Counter notificationCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("onefeed.webhook.notifications")
+            .description("Webhook notifications by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    /**
+     * A webhook notification waiting to be processed
+     *
+     * @param pluginId the ID of the provider plugin the notification was sent to
+     * @param provider the provider to make sense of the notification
+     * @param drainable the provider held in flight until the notification is processed, if any
+     * @param payload the body of the notification
+     */
+    private record Notification(String pluginId, AutoProvider<?, ?> provider,
+        @Nullable DrainableProvider<?, ?> drainable, String payload) {}
+}
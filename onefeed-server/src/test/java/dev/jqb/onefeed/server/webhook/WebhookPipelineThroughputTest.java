@@ -0,0 +1,244 @@
+package dev.jqb.onefeed.server.webhook;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.jqb.onefeed.core.author.AuthorNormalizer;
+import dev.jqb.onefeed.core.author.PlatformAuthor;
+import dev.jqb.onefeed.core.content.ContentNormalizer;
+import dev.jqb.onefeed.core.content.PlatformContent;
+import dev.jqb.onefeed.core.content.PlatformCursor;
+import dev.jqb.onefeed.core.feed.FeedUpdate;
+import dev.jqb.onefeed.core.impl.OneFeedAuthor;
+import dev.jqb.onefeed.core.impl.OneFeedContent;
+import dev.jqb.onefeed.core.provider.AutoProvider;
+import dev.jqb.onefeed.core.provider.Platform;
+import dev.jqb.onefeed.server.live.LiveFeedHub;
+import dev.jqb.onefeed.server.normalization.NormalizationStage;
+import dev.jqb.onefeed.server.tracing.Tracer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Drives a {@link WebhookPipeline} with a stub {@link AutoProvider} at thousands of notifications
+ * per second, checking that it drains them all and refuses notifications once its queue is full
+ * </br></br>
+ * How fast it drains depends on the machine, so that's only checked with the {@code benchmark}
+ * tests, run with the {@code benchmarks} profile.
+ */
+class WebhookPipelineThroughputTest {
+
+    /**
+     * The notifications submitted in the throughput test
+     */
+    private static final int NOTIFICATIONS = 50_000;
+
+    /**
+     * The slowest acceptable drain rate, well under what the pipeline manages so slow CI machines
+     * don't fail the test, but still thousands per second
+     */
+    private static final double MIN_NOTIFICATIONS_PER_SECOND = 5_000;
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void drainsEveryNotification() throws InterruptedException {
+        drain();
+        assertThat(count("processed")).isEqualTo(NOTIFICATIONS);
+        assertThat(count("failed")).isZero();
+    }
+
+    @Test
+    @Tag("benchmark")
+    void drainsThousandsOfNotificationsPerSecond() throws InterruptedException {
+        double seconds = drain().toNanos() / 1e9;
+        assertThat(NOTIFICATIONS / seconds).isGreaterThan(MIN_NOTIFICATIONS_PER_SECOND);
+    }
+
+    @Test
+    void refusesNotificationsWhileQueueIsFull() throws InterruptedException {
+        CountDownLatch handling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        StubProvider provider = new StubProvider(payload -> {
+            handling.countDown();
+            awaitQuietly(release);
+            return FeedUpdate.builder().build();
+        });
+
+        int capacity = 10;
+        try (WebhookPipeline pipeline = pipeline(capacity, 1, 1)) {
+            // The only worker takes the first notification and holds on to it
+            assertThat(pipeline.submit("stub", provider, "held")).isTrue();
+            handling.await();
+
+            for (int i = 0; i < capacity; i++) {
+                assertThat(pipeline.submit("stub", provider, "queued-" + i)).isTrue();
+            }
+            assertThat(pipeline.submit("stub", provider, "refused")).isFalse();
+            assertThat(pipeline.getQueueSize()).isEqualTo(capacity);
+            assertThat(count("rejected")).isEqualTo(1);
+
+            // Once the worker catches up, there's room again
+            release.countDown();
+            awaitOutcomes("processed", capacity + 1);
+            assertThat(pipeline.submit("stub", provider, "accepted")).isTrue();
+            awaitOutcomes("processed", capacity + 2);
+        }
+    }
+
+    @Test
+    void keepsDrainingAfterBatchFails() throws InterruptedException {
+        StubProvider provider = new StubProvider(payload -> {
+            if (payload.equals("fatal")) {
+                throw new NoClassDefFoundError("dev/jqb/example/Missing");
+            }
+            return FeedUpdate.builder().build();
+        });
+
+        try (WebhookPipeline pipeline = pipeline(100, 1, 1)) {
+            assertThat(pipeline.submit("stub", provider, "fatal")).isTrue();
+            awaitOutcomes("failed", 1);
+
+            for (int i = 0; i < 10; i++) {
+                assertThat(pipeline.submit("stub", provider, "after-" + i)).isTrue();
+            }
+            awaitOutcomes("processed", 10);
+        }
+    }
+
+    @Test
+    void countsFailedBatchOnlyAsFailed() throws InterruptedException {
+        CountDownLatch handling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        StubProvider provider = new StubProvider(payload -> {
+            if (payload.equals("held")) {
+                handling.countDown();
+                awaitQuietly(release);
+            } else if (payload.equals("fatal")) {
+                throw new NoClassDefFoundError("dev/jqb/example/Missing");
+            }
+            return FeedUpdate.builder().build();
+        });
+
+        try (WebhookPipeline pipeline = pipeline(100, 1, 10)) {
+            // Holding the only worker so the next two notifications are batched together
+            assertThat(pipeline.submit("stub", provider, "held")).isTrue();
+            handling.await();
+            assertThat(pipeline.submit("stub", provider, "handled")).isTrue();
+            assertThat(pipeline.submit("stub", provider, "fatal")).isTrue();
+            release.countDown();
+
+            awaitOutcomes("failed", 2);
+            assertThat(count("processed")).isEqualTo(1);
+        }
+    }
+
+    /**
+     * Submits {@link #NOTIFICATIONS} notifications to a new pipeline as fast as it accepts them and
+     * waits for them all to be processed.
+     * @return how long it took the pipeline to process them all
+     */
+    private Duration drain() throws InterruptedException {
+        StubProvider provider = new StubProvider(payload -> FeedUpdate.builder().build());
+
+        try (WebhookPipeline pipeline = pipeline(10_000, 2, 256)) {
+            long startedAt = System.nanoTime();
+            for (int i = 0; i < NOTIFICATIONS; i++) {
+                // Like a platform retrying refused deliveries, as fast as it can
+                while (!pipeline.submit("stub", provider, "notification-" + i)) {
+                    Thread.onSpinWait();
+                }
+            }
+            awaitOutcomes("processed", NOTIFICATIONS);
+            return Duration.ofNanos(System.nanoTime() - startedAt);
+        }
+    }
+
+    private WebhookPipeline pipeline(int queueCapacity, int workers, int batchSize) {
+        NormalizationStage normalizationStage = new NormalizationStage(false, 1, Duration.ZERO, 1,
+            meterRegistry, new Tracer(false, 0, 1, 1));
+        LiveFeedHub liveFeedHub = new LiveFeedHub(16, 16, Duration.ofMinutes(1), meterRegistry);
+        return new WebhookPipeline(queueCapacity, workers, batchSize, Duration.ofSeconds(5),
+            () -> null, liveFeedHub, normalizationStage, meterRegistry);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("onefeed.webhook.notifications").tag("outcome", outcome)
+            .counter().count();
+    }
+
+    private void awaitOutcomes(String outcome, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (count(outcome) < expected) {
+            assertThat(System.nanoTime()).as("%d notifications %s in time", expected, outcome)
+                .isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * An {@link AutoProvider} that makes sense of notifications with the given function and
+     * fetches nothing
+     */
+    private record StubProvider(
+        Function<String, FeedUpdate<PlatformContent, PlatformAuthor>> handler
+    ) implements AutoProvider<PlatformContent, PlatformAuthor> {
+
+        @Override
+        public FeedUpdate<PlatformContent, PlatformAuthor> handleWebhookNotif(String payload) {
+            return handler.apply(payload);
+        }
+
+        @Override
+        public Flux<PlatformContent> fetchRecentContent(String feedName, int amount) {
+            return Flux.empty();
+        }
+
+        @Override
+        public Flux<PlatformContent> fetchRecentContent(String feedName, int amount,
+            PlatformCursor cursor
+        ) {
+            return Flux.empty();
+        }
+
+        @Override
+        public ContentNormalizer<PlatformContent, OneFeedContent> getContentNormalizer() {
+            return content -> {
+                throw new UnsupportedOperationException("The stub provider has no content");
+            };
+        }
+
+        @Override
+        public AuthorNormalizer<PlatformAuthor, OneFeedAuthor> getAuthorNormalizer() {
+            return author -> {
+                throw new UnsupportedOperationException("The stub provider has no authors");
+            };
+        }
+
+        @Override
+        public Platform getPlatformInfo() {
+            throw new UnsupportedOperationException("The stub provider has no platform");
+        }
+
+        @Override
+        public Mono<PlatformAuthor> fetchAuthor(String feedName) {
+            return Mono.empty();
+        }
+    }
+}